@@ -11,16 +11,66 @@ export interface TweetResponse {
   eliminado: boolean;
   esRetweet: boolean;
   retweeteadoPor: string | null;
+  /** Cantidad de likes del tweet (del original, si es un retweet) */
+  likes: number;
 }
 
 export interface UsuarioResponse {
   id: number;
   nombreUsuario: string;
   avatarUrl: string | null;
+  seguidores: number;
+  seguidos: number;
+  tweets: number;
+}
+
+/** Página de seguidores o seguidos (el cursor llega en el header X-Next-Cursor) */
+export interface PaginaUsuarios {
+  usuarios: UsuarioResponse[];
+  /** Cursor opaco para pedir la página siguiente (null si no hay más) */
+  nextCursor: string | null;
+}
+
+/** Usuario sugerido para seguir ("a quién seguir") */
+export interface SugerenciaResponse {
+  usuario: UsuarioResponse;
+  /** Cuántos de los seguidos del usuario actual ya lo siguen */
+  seguidosQueLoSiguen: number;
+}
+
+/** Usuario con seguidores parecidos a los de otro ("similares a X") */
+export interface UsuarioSimilarResponse {
+  usuario: UsuarioResponse;
+  /** Similitud de Jaccard estimada entre ambos conjuntos de seguidores (0 a 1) */
+  similitud: number;
+}
+
+/** Encabezado del perfil, con los contadores del usuario */
+export interface ResumenPerfilResponse {
+  id: number;
+  nombreUsuario: string;
+  avatarUrl: string | null;
+  seguidores: number;
+  seguidos: number;
+  tweets: number;
+  likesRecibidos: number;
+  retweetsRecibidos: number;
 }
 
 export interface TimelineResponse {
   tweets: TweetResponse[];
+  /** Cursor opaco para pedir la página siguiente (null si no hay más) */
+  nextCursor: string | null;
+  /** Cursor opaco del item más nuevo, para pedir novedades (solo /timeline) */
+  newestCursor?: string | null;
+}
+
+export interface NovedadesResponse {
+  tweets: TweetResponse[];
+  /** Cantidad total de items nuevos (puede ser mayor que los devueltos) */
+  total: number;
+  /** Cursor opaco del item más nuevo devuelto, para la próxima consulta */
+  newestCursor: string;
 }
 
 export interface RespuestaTweetResponse {
@@ -6,7 +6,16 @@
  */
 
 import api from './api';
-import type { UsuarioResponse } from './types';
+import type { PaginaUsuarios, ResumenPerfilResponse, SugerenciaResponse, UsuarioResponse, UsuarioSimilarResponse } from './types';
+
+/** Tamaño máximo de página que acepta el backend en seguidores y seguidos */
+const LIMITE_PAGINA_SOCIAL = 100;
+
+/** Arma la página con el cuerpo y el header X-Next-Cursor de la respuesta */
+const paginaDeUsuarios = (data: UsuarioResponse[], siguiente: unknown): PaginaUsuarios => ({
+  usuarios: data,
+  nextCursor: typeof siguiente === 'string' && siguiente !== '' ? siguiente : null,
+});
 
 export const usuariosService = {
   /**
@@ -19,20 +28,58 @@ export const usuariosService = {
   },
 
   /**
-   * Obtiene la lista de usuarios seguidos por el usuario actual
+   * Obtiene el resumen del perfil de un usuario (datos básicos y contadores)
    */
-  getSeguidos: async (): Promise<UsuarioResponse[]> => {
-    const response = await api.get<UsuarioResponse[]>('/social/seguidos');
+  getResumenPerfil: async (idUsuario: number): Promise<ResumenPerfilResponse> => {
+    const response = await api.get<ResumenPerfilResponse>(`/usuarios/${idUsuario}/resumen`);
     return response.data;
   },
 
   /**
-   * Obtiene los seguidores de un usuario específico
+   * Obtiene la lista completa de usuarios seguidos por el usuario actual,
+   * recorriendo las páginas del backend (para saber a quién se sigue)
    */
-  getSeguidores: async (idUsuario: number): Promise<UsuarioResponse[]> => {
+  getSeguidos: async (): Promise<UsuarioResponse[]> => {
+    const seguidos: UsuarioResponse[] = [];
+    let cursor: string | null = null;
+    do {
+      const response = await api.get<UsuarioResponse[]>('/social/seguidos', {
+        params: { limite: LIMITE_PAGINA_SOCIAL, ...(cursor ? { cursor } : {}) },
+      });
+      const pagina = paginaDeUsuarios(response.data, response.headers['x-next-cursor']);
+      seguidos.push(...pagina.usuarios);
+      cursor = pagina.nextCursor;
+    } while (cursor);
+    return seguidos;
+  },
+
+  /**
+   * Obtiene una página de los seguidores de un usuario específico,
+   * los más recientes primero
+   */
+  getSeguidores: async (idUsuario: number, cursor?: string | null): Promise<PaginaUsuarios> => {
     const response = await api.get<UsuarioResponse[]>(
-      `/social/usuarios/${idUsuario}/seguidores`
+      `/social/usuarios/${idUsuario}/seguidores`,
+      { params: cursor ? { cursor } : {} }
     );
+    return paginaDeUsuarios(response.data, response.headers['x-next-cursor']);
+  },
+
+  /**
+   * Obtiene los usuarios sugeridos para seguir, los de más seguidos en común primero
+   */
+  getSugerencias: async (limite = 20): Promise<SugerenciaResponse[]> => {
+    const response = await api.get<SugerenciaResponse[]>('/social/sugerencias', { params: { limite } });
+    return response.data;
+  },
+
+  /**
+   * Obtiene los usuarios con seguidores parecidos a los de un usuario, los más parecidos primero
+   */
+  getSimilares: async (idUsuario: number, limite = 10): Promise<UsuarioSimilarResponse[]> => {
+    const response = await api.get<UsuarioSimilarResponse[]>(`/social/usuarios/${idUsuario}/similares`, {
+      params: { limite },
+    });
     return response.data;
   },
 
@@ -43,6 +90,15 @@ export const usuariosService = {
     await api.post(`/social/usuarios/${idSeguido}/seguir`);
   },
 
+  /**
+   * Seguir a varios usuarios en una sola request (p. ej. cuentas sugeridas)
+   * Devuelve los IDs que se empezaron a seguir
+   */
+  seguirEnLote: async (idsUsuarios: number[]): Promise<number[]> => {
+    const response = await api.post<{ seguidos: number[] }>('/social/seguir', { idsUsuarios });
+    return response.data.seguidos;
+  },
+
   /**
    * Dejar de seguir a un usuario
    */
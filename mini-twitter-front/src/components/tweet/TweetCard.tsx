@@ -33,7 +33,7 @@ export const TweetCard: React.FC<TweetCardProps> = ({
   showAuthorId = false,
 }) => {
   const { username } = useAuth();
-  const { likesCount, hasLiked, toggleLike } = useLikes(tweet.id, username);
+  const { likesCount, hasLiked, toggleLike } = useLikes(tweet.id, username, tweet.likes);
   const { respuestas, loadRespuestas, agregarRespuesta, eliminarRespuesta } = useRespuestas(tweet.id);
 
   const [showRespuestas, setShowRespuestas] = useState(false);
@@ -2,7 +2,9 @@
  * Hook useLikes
  * 
  * Responsabilidad: Gestionar likes de un tweet específico
- * Maneja estado local de likes + conteo
+ * Maneja estado local de likes + conteo. El conteo arranca con el que trae
+ * el TweetResponse y se ajusta al dar o quitar like; la lista solo se usa
+ * para saber si el usuario actual ya dio like
  */
 
 import { useState, useEffect, useCallback } from 'react';
@@ -17,8 +19,17 @@ interface UseLikesReturn {
   toggleLike: () => Promise<void>;
 }
 
-export const useLikes = (tweetId: number, currentUsername?: string): UseLikesReturn => {
+export const useLikes = (
+  tweetId: number,
+  currentUsername?: string,
+  likesIniciales = 0
+): UseLikesReturn => {
   const [likes, setLikes] = useState<LikeResponse[]>([]);
+  const [likesCount, setLikesCount] = useState(likesIniciales);
+
+  useEffect(() => {
+    setLikesCount(likesIniciales);
+  }, [likesIniciales]);
   const [loading, setLoading] = useState(false);
 
   const fetchLikes = useCallback(async () => {
@@ -48,8 +59,10 @@ export const useLikes = (tweetId: number, currentUsername?: string): UseLikesRet
         await tweetsService.quitarLike(tweetId);
         // Optimistic update
         setLikes((prev) => prev.filter((like) => like.autor !== currentUsername));
+        setLikesCount((prev) => Math.max(0, prev - 1));
       } else {
         await tweetsService.darLike(tweetId);
+        setLikesCount((prev) => prev + 1);
         // Refetch para obtener el like con ID correcto
         await fetchLikes();
       }
@@ -64,7 +77,7 @@ export const useLikes = (tweetId: number, currentUsername?: string): UseLikesRet
 
   return {
     likes,
-    likesCount: likes.length,
+    likesCount,
     hasLiked,
     loading,
     toggleLike,
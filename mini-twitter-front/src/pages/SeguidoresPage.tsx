@@ -19,7 +19,9 @@ export const SeguidoresPage = () => {
   const { isSiguiendo, seguir, dejarDeSeguir } = useSocial();
   
   const [seguidores, setSeguidores] = useState<UsuarioResponse[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
   useEffect(() => {
@@ -33,8 +35,9 @@ export const SeguidoresPage = () => {
       try {
         setLoading(true);
         setError(null);
-        const data = await usuariosService.getSeguidores(parseInt(idUsuario));
-        setSeguidores(data);
+        const pagina = await usuariosService.getSeguidores(parseInt(idUsuario));
+        setSeguidores(pagina.usuarios);
+        setNextCursor(pagina.nextCursor);
       } catch (err) {
         console.error('Error al cargar seguidores:', err);
         setError('No se pudieron cargar los seguidores');
@@ -46,6 +49,24 @@ export const SeguidoresPage = () => {
     fetchSeguidores();
   }, [idUsuario]);
 
+  // Página siguiente de seguidores, a continuación de los ya mostrados
+  const cargarMas = async () => {
+    if (!idUsuario || !nextCursor) {
+      return;
+    }
+    try {
+      setCargandoMas(true);
+      const pagina = await usuariosService.getSeguidores(parseInt(idUsuario), nextCursor);
+      setSeguidores((prev) => [...prev, ...pagina.usuarios]);
+      setNextCursor(pagina.nextCursor);
+    } catch (err) {
+      console.error('Error al cargar más seguidores:', err);
+      setError('No se pudieron cargar más seguidores');
+    } finally {
+      setCargandoMas(false);
+    }
+  };
+
   return (
     <div className={styles.page}>
       <Header />
@@ -77,6 +98,11 @@ export const SeguidoresPage = () => {
                   showFollowButton={true}
                 />
               ))}
+              {nextCursor && (
+                <button className={styles.cargarMas} onClick={cargarMas} disabled={cargandoMas}>
+                  {cargandoMas ? 'Cargando...' : 'Cargar más'}
+                </button>
+              )}
             </div>
           )}
         </div>
@@ -0,0 +1,135 @@
+/**
+ * Uso de hilos y conexiones con miles de lectores concurrentes del timeline
+ * (k6: https://k6.io): JSON paginado (/api/tweets/timeline, una request por
+ * página) contra NDJSON en stream (/api/stream/tweets/timeline, una sola
+ * respuesta).
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=virtuales \
+ *       -Dspring-boot.run.arguments=--app.lectura.streaming.habilitado=true
+ *   k6 run -e FORMATO=json carga/streaming.js
+ *   k6 run -e FORMATO=ndjson carga/streaming.js
+ *
+ * (sin el perfil "virtuales" se mide lo mismo con el pool de hilos de Tomcat)
+ *
+ * Mientras corren los lectores, otro escenario muestrea /actuator/metrics
+ * cada segundo: hilos vivos de la JVM, hilos ocupados de Tomcat y conexiones
+ * activas y en espera de Hikari (tomcat.threads.busy requiere
+ * server.tomcat.mbeanregistry.enabled=true). Cada corrida deja
+ * resumen-streaming-<FORMATO>.json.
+ *
+ * Variables: BASE_URL, KEYCLOAK_URL, USUARIOS (como en timeline.js),
+ * FORMATO (json), LECTORES (2000), DURACION (1m), TWEETS por lectura (300).
+ */
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const KEYCLOAK_URL = __ENV.KEYCLOAK_URL || 'http://localhost:9090';
+const FORMATO = __ENV.FORMATO || 'json';
+const TWEETS = Number(__ENV.TWEETS || 300);
+const PAGINA_JSON = 100;
+const DURACION = __ENV.DURACION || '1m';
+const USUARIOS = (__ENV.USUARIOS || 'carlos.gomez,maria.fernandez,juan.perez,ana.rodriguez,luis.sanchez')
+  .split(',');
+
+const lectura = new Trend('lectura_timeline', true);
+const hilosVivos = new Trend('jvm_hilos_vivos');
+const hilosTomcat = new Trend('tomcat_hilos_ocupados');
+const conexionesActivas = new Trend('hikari_conexiones_activas');
+const conexionesEnEspera = new Trend('hikari_conexiones_en_espera');
+
+export const options = {
+  scenarios: {
+    lectores: {
+      executor: 'constant-vus',
+      exec: 'leer',
+      vus: Number(__ENV.LECTORES || 2000),
+      duration: DURACION,
+    },
+    metricas: {
+      executor: 'constant-vus',
+      exec: 'muestrear',
+      vus: 1,
+      duration: DURACION,
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const tokens = USUARIOS.map((usuario) => {
+    const respuesta = http.post(`${KEYCLOAK_URL}/realms/minitwitter/protocol/openid-connect/token`, {
+      grant_type: 'password',
+      client_id: 'web',
+      username: usuario,
+      password: usuario,
+    });
+    check(respuesta, { 'token obtenido': (r) => r.status === 200 });
+    return respuesta.json('access_token');
+  });
+  return { tokens };
+}
+
+function params(datos) {
+  const token = datos.tokens[(__VU - 1) % datos.tokens.length];
+  return { headers: { Authorization: `Bearer ${token}` }, timeout: '120s' };
+}
+
+export function leer(datos) {
+  const inicio = Date.now();
+  if (FORMATO === 'ndjson') {
+    const respuesta = http.get(`${BASE_URL}/api/stream/tweets/timeline?limite=${TWEETS}`, params(datos));
+    check(respuesta, { 'stream 200': (r) => r.status === 200 });
+  } else {
+    let cursor = null;
+    let leidos = 0;
+    while (leidos < TWEETS) {
+      const query = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+      const respuesta = http.get(`${BASE_URL}/api/tweets/timeline?limite=${PAGINA_JSON}${query}`, params(datos));
+      if (!check(respuesta, { 'página 200': (r) => r.status === 200 })) {
+        break;
+      }
+      leidos += PAGINA_JSON;
+      cursor = respuesta.json('nextCursor');
+      if (!cursor) {
+        break;
+      }
+    }
+  }
+  lectura.add(Date.now() - inicio);
+}
+
+export function muestrear(datos) {
+  const valor = (metrica) => {
+    const respuesta = http.get(`${BASE_URL}/actuator/metrics/${metrica}`, params(datos));
+    return respuesta.status === 200 ? respuesta.json('measurements.0.value') : null;
+  };
+  const registrar = (tendencia, medida) => {
+    if (medida !== null) {
+      tendencia.add(medida);
+    }
+  };
+  registrar(hilosVivos, valor('jvm.threads.live'));
+  registrar(hilosTomcat, valor('tomcat.threads.busy'));
+  registrar(conexionesActivas, valor('hikaricp.connections.active'));
+  registrar(conexionesEnEspera, valor('hikaricp.connections.pending'));
+  sleep(1);
+}
+
+export function handleSummary(resumen) {
+  const stat = (metrica, nombre) => resumen.metrics[metrica] ? resumen.metrics[metrica].values[nombre] : null;
+  const comparables = {
+    formato: FORMATO,
+    lecturasPorSegundo: stat('iterations', 'rate'),
+    p99LecturaMs: stat('lectura_timeline', 'p(99)'),
+    maximoHilosVivos: stat('jvm_hilos_vivos', 'max'),
+    maximoHilosTomcat: stat('tomcat_hilos_ocupados', 'max'),
+    maximoConexionesActivas: stat('hikari_conexiones_activas', 'max'),
+    maximoConexionesEnEspera: stat('hikari_conexiones_en_espera', 'max'),
+  };
+  return {
+    stdout: `\n${JSON.stringify(comparables, null, 2)}\n`,
+    [`resumen-streaming-${FORMATO}.json`]: JSON.stringify(resumen, null, 2),
+  };
+}
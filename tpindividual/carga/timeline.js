@@ -0,0 +1,102 @@
+/**
+ * Prueba de carga de GET /api/tweets/timeline (k6: https://k6.io).
+ *
+ * Compara el modo por defecto (pool de hilos de Tomcat) con el perfil
+ * "virtuales" (hilos virtuales): se corre la misma prueba contra cada modo y
+ * se comparan las requests por segundo y el p99 de los dos resúmenes.
+ *
+ *   # 1) Modo por defecto
+ *   mvn spring-boot:run
+ *   k6 run -e MODO=plataforma carga/timeline.js
+ *
+ *   # 2) Hilos virtuales
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=virtuales
+ *   k6 run -e MODO=virtuales carga/timeline.js
+ *
+ * Cada corrida deja resumen-<MODO>.json. Requiere Keycloak levantado con el
+ * realm de keycloak/realm-export.json y app.load-test-data=true (usuarios y
+ * tweets de ejemplo).
+ *
+ * Cada iteración pide la primera página (servida casi siempre desde
+ * CacheDeTimelines) y la siguiente con el nextCursor, que sí arma el timeline:
+ * la segunda es la que mide el costo de las consultas bloqueantes.
+ *
+ * Variables: BASE_URL (http://localhost:8080), KEYCLOAK_URL
+ * (http://localhost:9090), USUARIOS (los de ejemplo, separados por coma), VUS
+ * (200), DURACION (1m) y LIMITE (20).
+ */
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const KEYCLOAK_URL = __ENV.KEYCLOAK_URL || 'http://localhost:9090';
+const MODO = __ENV.MODO || 'plataforma';
+const LIMITE = __ENV.LIMITE || '20';
+// Usuarios de keycloak/realm-export.json (la contraseña es el nombre de usuario)
+const USUARIOS = (__ENV.USUARIOS || 'carlos.gomez,maria.fernandez,juan.perez,ana.rodriguez,luis.sanchez')
+  .split(',');
+
+const primeraPagina = new Trend('timeline_primera_pagina', true);
+const paginaSiguiente = new Trend('timeline_pagina_siguiente', true);
+
+export const options = {
+  scenarios: {
+    timeline: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 200),
+      duration: __ENV.DURACION || '1m',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const tokens = USUARIOS.map((usuario) => {
+    const respuesta = http.post(`${KEYCLOAK_URL}/realms/minitwitter/protocol/openid-connect/token`, {
+      grant_type: 'password',
+      client_id: 'web',
+      username: usuario,
+      password: usuario,
+    });
+    check(respuesta, { 'token obtenido': (r) => r.status === 200 });
+    return respuesta.json('access_token');
+  });
+  return { tokens };
+}
+
+export default function (datos) {
+  const token = datos.tokens[(__VU - 1) % datos.tokens.length];
+  const params = { headers: { Authorization: `Bearer ${token}` } };
+
+  const primera = http.get(`${BASE_URL}/api/tweets/timeline?limite=${LIMITE}`, params);
+  check(primera, { 'primera página 200': (r) => r.status === 200 });
+  primeraPagina.add(primera.timings.duration);
+
+  const cursor = primera.status === 200 ? primera.json('nextCursor') : null;
+  if (cursor) {
+    const siguiente = http.get(
+      `${BASE_URL}/api/tweets/timeline?limite=${LIMITE}&cursor=${encodeURIComponent(cursor)}`, params);
+    check(siguiente, { 'página siguiente 200': (r) => r.status === 200 });
+    paginaSiguiente.add(siguiente.timings.duration);
+  }
+}
+
+export function handleSummary(resumen) {
+  const p99 = (metrica) => resumen.metrics[metrica] ? resumen.metrics[metrica].values['p(99)'] : null;
+  const comparables = {
+    modo: MODO,
+    requestsPorSegundo: resumen.metrics.http_reqs.values.rate,
+    p99Ms: p99('http_req_duration'),
+    p99PrimeraPaginaMs: p99('timeline_primera_pagina'),
+    p99PaginaSiguienteMs: p99('timeline_pagina_siguiente'),
+    errores: resumen.metrics.http_req_failed.values.rate,
+  };
+  return {
+    stdout: `\n${JSON.stringify(comparables, null, 2)}\n`,
+    [`resumen-${MODO}.json`]: JSON.stringify(resumen, null, 2),
+  };
+}
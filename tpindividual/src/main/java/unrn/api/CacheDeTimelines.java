@@ -0,0 +1,269 @@
+package unrn.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.api.dto.TimelineResponse;
+import unrn.service.PublicacionesModificadas;
+import unrn.service.SeguidosModificados;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache en memoria de la primera página del timeline de cada usuario, ya
+ * convertida a DTO. El frontend hace polling del timeline: mientras nada
+ * cambie, la respuesta sale de acá sin consultar la base de datos.
+ *
+ * - Sin un lock global: buscar es un get sobre un ConcurrentHashMap, y las
+ * invalidaciones y el índice por autor se bloquean solo por clave (compute
+ * del ConcurrentHashMap). Los sellos de invalidación son atómicos.
+ * - Acotada: al superar el máximo se descarta de una vez el 10% de entradas
+ * usadas hace más tiempo (LRU aproximado por un contador de usos), así el
+ * costo de recorrerlas se reparte entre muchos guardados.
+ * - Cada entrada vence a los ttl segundos aunque no haya invalidaciones.
+ * - Se invalida con los eventos de los servicios, después del commit: si un
+ * autor publica, retweetea o elimina se descartan los timelines que lo
+ * incluyen; si un usuario sigue o deja de seguir se descarta el suyo.
+ * - Cada entrada tiene un ETag: mientras siga guardada el contenido no
+ * cambió, y el controller puede responder 304 sin armar nada.
+ */
+@Component
+public class CacheDeTimelines {
+
+    // Sellos de invalidación por franja (hash del autor o del usuario). Una
+    // respuesta calculada antes de una invalidación que la afecta no se guarda.
+    private static final int FRANJAS = 4096;
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Entrada>> porAutor = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidaciones = new AtomicLongArray(FRANJAS);
+    private final AtomicLong generacion = new AtomicLong();
+    private final AtomicLong usos = new AtomicLong();
+    private final ReentrantLock desalojo = new ReentrantLock();
+
+    private final long ttlNanos;
+    private final int maximo;
+    private final LongSupplier reloj;
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    @Autowired
+    public CacheDeTimelines(@Value("${app.timeline.cache.ttl-segundos:30}") long ttlSegundos,
+            @Value("${app.timeline.cache.maximo-entradas:10000}") int maximo,
+            MeterRegistry registry) {
+        this(ttlSegundos, maximo, registry, System::nanoTime);
+    }
+
+    CacheDeTimelines(long ttlSegundos, int maximo, MeterRegistry registry, LongSupplier reloj) {
+        this.ttlNanos = ttlSegundos * 1_000_000_000L;
+        this.maximo = maximo;
+        this.reloj = reloj;
+        this.aciertos = Counter.builder("timeline.cache").tag("resultado", "acierto").register(registry);
+        this.fallos = Counter.builder("timeline.cache").tag("resultado", "fallo").register(registry);
+        Gauge.builder("timeline.cache.tamanio", this, CacheDeTimelines::tamanio).register(registry);
+    }
+
+    /**
+     * @return La respuesta guardada para el usuario y límite, o null si no hay
+     *         una vigente
+     */
+    public TimelineResponse buscar(String keycloakId, int limite) {
+        Guardada guardada = buscarConEtag(keycloakId, limite);
+        return guardada != null ? guardada.respuesta() : null;
+    }
+
+    /**
+     * Como buscar, pero junto con el ETag de la respuesta guardada.
+     */
+    public Guardada buscarConEtag(String keycloakId, int limite) {
+        Entrada entrada = entradas.get(keycloakId);
+        if (entrada != null && reloj.getAsLong() - entrada.creada > ttlNanos) {
+            quitar(entrada);
+            entrada = null;
+        }
+        if (entrada == null || entrada.limite != limite) {
+            fallos.increment();
+            return null;
+        }
+        entrada.ultimoUso = usos.incrementAndGet();
+        aciertos.increment();
+        return new Guardada(entrada.respuesta, entrada.etag);
+    }
+
+    /**
+     * Marca de tiempo lógica a tomar antes de calcular una respuesta, para
+     * pasarla luego a guardar.
+     */
+    public long generacion() {
+        return generacion.get();
+    }
+
+    /**
+     * Guarda la respuesta salvo que, desde la generación dada, haya habido una
+     * invalidación que pueda afectarla.
+     *
+     * @param autores Autores cuyo contenido forma el timeline (ver
+     *                ServicioSocial.autoresDelTimeline)
+     * @return El ETag de la respuesta guardada, o null si no se guardó
+     */
+    public String guardar(String keycloakId, int limite, Collection<Long> autores,
+            TimelineResponse respuesta, long generacionAlCalcular) {
+
+        if (invalidadaDesde(keycloakId, autores, generacionAlCalcular)) {
+            return null;
+        }
+
+        // Una respuesta guardada no cambia: alcanza con identificar al usuario y
+        // la generación con la que se calculó
+        String etag = "\"" + arranque + "-" + Integer.toHexString(keycloakId.hashCode()) + "-"
+                + generacionAlCalcular + "-" + limite + "\"";
+        Entrada entrada = new Entrada(keycloakId, respuesta, etag, limite, List.copyOf(autores),
+                reloj.getAsLong(), usos.incrementAndGet());
+        for (Long autor : entrada.autores) {
+            porAutor.compute(autor, (clave, guardadas) -> {
+                Set<Entrada> conAutor = guardadas != null ? guardadas : ConcurrentHashMap.newKeySet();
+                conAutor.add(entrada);
+                return conAutor;
+            });
+        }
+        Entrada anterior = entradas.put(keycloakId, entrada);
+        if (anterior != null) {
+            desindexar(anterior);
+        }
+
+        // Una invalidación que llegó mientras se guardaba: o ya ve la entrada en
+        // el índice y la quita, o la vemos acá por su sello
+        if (invalidadaDesde(keycloakId, autores, generacionAlCalcular)) {
+            quitar(entrada);
+            return null;
+        }
+
+        if (entradas.size() > maximo) {
+            desalojar();
+        }
+        return etag;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarPublicaciones(PublicacionesModificadas evento) {
+        long actual = generacion.incrementAndGet();
+        for (Long autor : evento.idsAutores()) {
+            invalidaciones.accumulateAndGet(franja(autor), actual, Math::max);
+            Set<Entrada> afectadas = porAutor.get(autor);
+            if (afectadas != null) {
+                for (Entrada entrada : new ArrayList<>(afectadas)) {
+                    quitar(entrada);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarSeguidos(SeguidosModificados evento) {
+        long actual = generacion.incrementAndGet();
+        invalidaciones.accumulateAndGet(franja(evento.keycloakIdSeguidor()), actual, Math::max);
+        Entrada entrada = entradas.get(evento.keycloakIdSeguidor());
+        if (entrada != null) {
+            quitar(entrada);
+        }
+    }
+
+    public int tamanio() {
+        return entradas.size();
+    }
+
+    private boolean invalidadaDesde(String keycloakId, Collection<Long> autores, long generacionAlCalcular) {
+        if (invalidaciones.get(franja(keycloakId)) > generacionAlCalcular) {
+            return true;
+        }
+        for (Long autor : autores) {
+            if (invalidaciones.get(franja(autor)) > generacionAlCalcular) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Descarta las entradas usadas hace más tiempo hasta quedar en el 90% del
+     * máximo. Si otro hilo ya está desalojando, no espera.
+     */
+    private void desalojar() {
+        if (!desalojo.tryLock()) {
+            return;
+        }
+        try {
+            int sobrantes = entradas.size() - (maximo - maximo / 10);
+            if (sobrantes <= 0) {
+                return;
+            }
+            List<Entrada> candidatas = new ArrayList<>(entradas.values());
+            candidatas.sort(Comparator.comparingLong(entrada -> entrada.ultimoUso));
+            for (int i = 0; i < sobrantes && i < candidatas.size(); i++) {
+                quitar(candidatas.get(i));
+            }
+        } finally {
+            desalojo.unlock();
+        }
+    }
+
+    // Solo quita esta entrada: si el usuario ya guardó otra, se mantiene
+    private void quitar(Entrada entrada) {
+        if (entradas.remove(entrada.clave, entrada)) {
+            desindexar(entrada);
+        }
+    }
+
+    private void desindexar(Entrada entrada) {
+        for (Long autor : entrada.autores) {
+            porAutor.computeIfPresent(autor,
+                    (clave, guardadas) -> guardadas.remove(entrada) && guardadas.isEmpty() ? null : guardadas);
+        }
+    }
+
+    private static int franja(Object clave) {
+        return (clave.hashCode() & 0x7fffffff) % FRANJAS;
+    }
+
+    public record Guardada(TimelineResponse respuesta, String etag) {
+    }
+
+    // Identidad por referencia: el índice por autor distingue dos entradas del
+    // mismo usuario
+    private static final class Entrada {
+
+        private final String clave;
+        private final TimelineResponse respuesta;
+        private final String etag;
+        private final int limite;
+        private final List<Long> autores;
+        private final long creada;
+        private volatile long ultimoUso;
+
+        Entrada(String clave, TimelineResponse respuesta, String etag, int limite, List<Long> autores, long creada,
+                long ultimoUso) {
+            this.clave = clave;
+            this.respuesta = respuesta;
+            this.etag = etag;
+            this.limite = limite;
+            this.autores = autores;
+            this.creada = creada;
+            this.ultimoUso = ultimoUso;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package unrn.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import unrn.api.dto.TweetResponse;
+import unrn.service.Cursor;
+import unrn.service.PaginaTimeline;
+import unrn.service.ServicioTweets;
+import unrn.service.ServicioUsuarios;
+
+
+/**
+ * Lectura en stream de los feeds de TweetsController y UsuariosController,
+ * bajo /api/stream con los mismos parámetros, en NDJSON
+ * (application/x-ndjson): cada tweet se envía como una línea JSON apenas se
+ * hidrata su página, sin armar la lista entera en memoria.
+ *
+ * - Contrapresión: la página siguiente se consulta recién cuando la anterior
+ * se terminó de escribir; si el cliente lee despacio, la escritura se bloquea
+ * y no se consulta más (el ritmo lo pone el cliente).
+ * - Cada página toma una conexión solo mientras dura su consulta, no durante
+ * toda la respuesta.
+ * - Se escribe en un hilo del executor asincrónico de MVC: con el perfil
+ * "virtuales" son hilos virtuales, y miles de lectores lentos no ocupan hilos
+ * de plataforma.
+ *
+ * Se habilita por despliegue con app.lectura.streaming.habilitado=true.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@ConditionalOnProperty(name = "app.lectura.streaming.habilitado", havingValue = "true")
+public class FeedsEnStreamController {
+
+    private static final byte FIN_DE_LINEA = '\n';
+
+    private final ServicioTweets servicioTweets;
+    private final ServicioUsuarios servicioUsuarios;
+    private final RespuestasDeTweets respuestasDeTweets;
+    private final ObjectMapper mapper;
+    private final int lote;
+    private final int maximo;
+
+    public FeedsEnStreamController(ServicioTweets servicioTweets,
+            ServicioUsuarios servicioUsuarios,
+            RespuestasDeTweets respuestasDeTweets,
+            ObjectMapper mapper,
+            @Value("${app.lectura.streaming.lote:50}") int lote,
+            @Value("${app.lectura.streaming.maximo:1000}") int maximo) {
+        this.servicioTweets = servicioTweets;
+        this.servicioUsuarios = servicioUsuarios;
+        this.respuestasDeTweets = respuestasDeTweets;
+        this.mapper = mapper;
+        this.lote = lote;
+        this.maximo = maximo;
+    }
+
+    @GetMapping(value = "/tweets/timeline", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> timeline(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limite) {
+
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        String keycloakId = jwt.getSubject();
+        return enStream(Cursor.decodificar(cursor), limite,
+                (desde, cantidad) -> servicioTweets.timeline(keycloakId, desde, cantidad));
+    }
+
+    @GetMapping(value = "/usuarios/{idUsuario}/tweets", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> tweetsDeUsuario(@AuthenticationPrincipal Jwt jwt,
+            @PathVariable Long idUsuario,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limite) {
+
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        return enStream(Cursor.decodificar(cursor), limite,
+                (desde, cantidad) -> servicioTweets.tweetsDeUsuario(idUsuario, desde, cantidad));
+    }
+
+    /**
+     * Recorre el feed página por página desde el cursor dado hasta enviar el
+     * límite (acotado a app.lectura.streaming.maximo) o llegar al final.
+     */
+    private ResponseEntity<StreamingResponseBody> enStream(Cursor desde, int limite, Paginas paginas) {
+        int total = Math.max(1, Math.min(limite, maximo));
+        StreamingResponseBody cuerpo = salida -> {
+            Cursor cursor = desde;
+            int pedidos = 0;
+            while (pedidos < total) {
+                int cantidad = Math.min(lote, total - pedidos);
+                PaginaTimeline pagina = paginas.desde(cursor, cantidad);
+                for (TweetResponse respuesta : respuestasDeTweets.deItems(pagina.items())) {
+                    salida.write(mapper.writeValueAsBytes(respuesta));
+                    salida.write(FIN_DE_LINEA);
+                }
+                salida.flush();
+
+                // Se cuenta lo pedido y no lo enviado: la hidratación descarta
+                // eliminados, y así el recorrido siempre termina
+                pedidos += cantidad;
+                if (pagina.siguiente() == null) {
+                    break;
+                }
+                cursor = pagina.siguiente();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
+    }
+
+    @FunctionalInterface
+    private interface Paginas {
+        PaginaTimeline desde(Cursor cursor, int cantidad);
+    }
+}
@@ -0,0 +1,30 @@
+package unrn.api;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * GET condicional de las listas: compara el If-None-Match del cliente con el
+ * ETag actual del recurso.
+ *
+ * Pone Cache-Control "private, no-cache" para reemplazar el "no-store" que
+ * agrega Spring Security por defecto: con no-store el navegador no guarda la
+ * respuesta y nunca manda If-None-Match.
+ */
+final class GetCondicional {
+
+    private static final String REVALIDAR = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private GetCondicional() {
+    }
+
+    /**
+     * @return true si el cliente ya tiene esa versión: se responde 304 y el
+     *         controller debe devolver null sin consultar nada
+     */
+    static boolean sinCambios(ServletWebRequest request, String etag) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDAR);
+        return request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,58 @@
+package unrn.api;
+
+import org.springframework.stereotype.Component;
+import unrn.api.dto.TweetResponse;
+import unrn.service.ContadorDeLikes;
+import unrn.service.TimelineItem;
+import unrn.service.VistaTweet;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arma los TweetResponse de los feeds (timeline, tweets de un usuario, todos
+ * los tweets, stream SSE y NDJSON) en un solo lugar, con los likes de toda la
+ * lista en una sola consulta.
+ */
+@Component
+class RespuestasDeTweets {
+
+    private final ContadorDeLikes contadorDeLikes;
+
+    RespuestasDeTweets(ContadorDeLikes contadorDeLikes) {
+        this.contadorDeLikes = contadorDeLikes;
+    }
+
+    List<TweetResponse> deItems(List<TimelineItem> items) {
+        Map<Long, Long> likes = contadorDeLikes.likesDe(
+                items.stream().map(item -> item.getTweetOriginal().id()).distinct().toList());
+        return items.stream()
+                .map(item -> deItem(item, likes.get(item.getTweetOriginal().id())))
+                .toList();
+    }
+
+    List<TweetResponse> deVistas(List<VistaTweet> vistas) {
+        Map<Long, Long> likes = contadorDeLikes.likesDe(vistas.stream().map(VistaTweet::id).toList());
+        return vistas.stream()
+                .map(vista -> deItem(TimelineItem.deTweet(vista), likes.get(vista.id())))
+                .toList();
+    }
+
+    /**
+     * Un TimelineItem (tweet o retweet) a TweetResponse. Si es retweet, marca
+     * esRetweet=true y retweeteadoPor con el autor del retweet.
+     */
+    TweetResponse deItem(TimelineItem item, long likes) {
+        VistaTweet tweetOriginal = item.getTweetOriginal();
+
+        return new TweetResponse(
+                tweetOriginal.id(),
+                tweetOriginal.autor(), // Autor del tweet original
+                tweetOriginal.contenido(),
+                tweetOriginal.fechaCreacion(),
+                tweetOriginal.eliminado(),
+                item.esRetweet(),
+                item.getRetweeteadoPor(), // quien hizo el retweet, null si es tweet original
+                likes);
+    }
+}
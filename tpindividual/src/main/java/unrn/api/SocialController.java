@@ -1,25 +1,49 @@
 package unrn.api;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import unrn.api.dto.SeguirUsuariosRequest;
+import unrn.api.dto.SeguirUsuariosResponse;
+import unrn.api.dto.SugerenciaResponse;
 import unrn.api.dto.UsuarioResponse;
+import unrn.api.dto.UsuarioSimilarResponse;
+import unrn.model.ContadoresUsuario;
 import unrn.model.Usuario;
+import unrn.service.CursorDeFollows;
+import unrn.service.PaginaUsuarios;
 import unrn.service.ServicioSocial;
 import unrn.service.ServicioUsuarios;
+import unrn.service.Sugerencia;
+import unrn.service.UsuarioSimilar;
+import unrn.service.VersionesDeRecursos;
+import unrn.service.VersionesDeRecursos.Recurso;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/social")
 public class SocialController {
 
+    /**
+     * Header con el cursor de la página siguiente de seguidores o seguidos
+     * (ausente si no hay más). El cuerpo sigue siendo la lista de usuarios.
+     */
+    static final String HEADER_SIGUIENTE = "X-Next-Cursor";
+
     private final ServicioSocial servicioSocial;
     private final ServicioUsuarios servicioUsuarios;
+    private final VersionesDeRecursos versiones;
 
-    public SocialController(ServicioSocial servicioSocial, ServicioUsuarios servicioUsuarios) {
+    public SocialController(ServicioSocial servicioSocial, ServicioUsuarios servicioUsuarios,
+            VersionesDeRecursos versiones) {
         this.servicioSocial = servicioSocial;
         this.servicioUsuarios = servicioUsuarios;
+        this.versiones = versiones;
     }
 
     @PostMapping("/usuarios/{idSeguido}/seguir")
@@ -31,6 +55,20 @@ public class SocialController {
         servicioSocial.seguir(keycloakIdSeguidor, idSeguido);
     }
 
+    /**
+     * Sigue a varios usuarios en una sola request (importar contactos, cuentas
+     * sugeridas del onboarding).
+     */
+    @PostMapping("/seguir")
+    public SeguirUsuariosResponse seguirEnLote(@AuthenticationPrincipal Jwt jwt,
+            @RequestBody SeguirUsuariosRequest request) {
+
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        String keycloakIdSeguidor = jwt.getSubject();
+        List<Long> idsUsuarios = request.idsUsuarios() == null ? List.of() : request.idsUsuarios();
+        return new SeguirUsuariosResponse(servicioSocial.seguirEnLote(keycloakIdSeguidor, idsUsuarios));
+    }
+
     @DeleteMapping("/usuarios/{idSeguido}/seguir")
     public void dejarDeSeguir(@AuthenticationPrincipal Jwt jwt,
             @PathVariable Long idSeguido) {
@@ -40,28 +78,106 @@ public class SocialController {
         servicioSocial.dejarDeSeguir(keycloakIdSeguidor, idSeguido);
     }
 
+    /**
+     * Página de los usuarios que sigue el usuario actual, los seguidos más
+     * recientemente primero. El cursor de la página siguiente viaja en el
+     * header X-Next-Cursor.
+     */
     @GetMapping("/seguidos")
-    public List<UsuarioResponse> seguidosDelActual(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<List<UsuarioResponse>> seguidosDelActual(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite) {
+
         servicioUsuarios.asegurarUsuarioExiste(jwt);
         String keycloakIdSeguidor = jwt.getSubject();
-        List<Usuario> seguidos = servicioSocial.seguidosDelActual(keycloakIdSeguidor);
-        return seguidos.stream()
-                .map(this::toUsuarioResponse)
-                .toList();
+        PaginaUsuarios pagina = servicioSocial.seguidosDelActual(keycloakIdSeguidor,
+                CursorDeFollows.decodificar(cursor), limite);
+        return toPaginaResponse(pagina);
     }
 
+    /**
+     * Página de los seguidores de un usuario, los más recientes primero, como
+     * seguidosDelActual. La primera página responde 304 si no cambió.
+     *
+     * El ETag cambia con la lista: los contadores de cada seguidor pueden
+     * quedar desactualizados hasta entonces (el resumen del perfil es exacto).
+     */
     @GetMapping("/usuarios/{idUsuario}/seguidores")
-    public List<UsuarioResponse> seguidores(@PathVariable Long idUsuario) {
-        List<Usuario> seguidores = servicioSocial.seguidoresDe(idUsuario);
-        return seguidores.stream()
-                .map(this::toUsuarioResponse)
+    public ResponseEntity<List<UsuarioResponse>> seguidores(@PathVariable Long idUsuario,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            ServletWebRequest request) {
+
+        boolean primeraPagina = cursor == null || cursor.isBlank();
+        if (primeraPagina
+                && GetCondicional.sinCambios(request, versiones.etagDeVariante(Recurso.SEGUIDORES, idUsuario, limite))) {
+            return null;
+        }
+        PaginaUsuarios pagina = servicioSocial.seguidoresDe(idUsuario, CursorDeFollows.decodificar(cursor), limite);
+        return toPaginaResponse(pagina);
+    }
+
+    /**
+     * Usuarios sugeridos para seguir, por cantidad de seguidos del usuario
+     * actual que ya los siguen.
+     */
+    @GetMapping("/sugerencias")
+    public List<SugerenciaResponse> sugerencias(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "20") int limite) {
+
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        List<Sugerencia> sugerencias = servicioSocial.sugerenciasPara(jwt.getSubject(), limite);
+        List<UsuarioResponse> usuarios = toUsuariosResponse(
+                sugerencias.stream().map(Sugerencia::usuario).toList());
+        List<SugerenciaResponse> respuesta = new ArrayList<>(sugerencias.size());
+        for (int i = 0; i < sugerencias.size(); i++) {
+            respuesta.add(new SugerenciaResponse(usuarios.get(i), sugerencias.get(i).seguidosQueLoSiguen()));
+        }
+        return respuesta;
+    }
+
+    /**
+     * Usuarios con seguidores parecidos a los del usuario dado ("similares a
+     * X"), más parecidos primero.
+     */
+    @GetMapping("/usuarios/{idUsuario}/similares")
+    public List<UsuarioSimilarResponse> similares(@PathVariable Long idUsuario,
+            @RequestParam(defaultValue = "10") int limite) {
+
+        List<UsuarioSimilar> similares = servicioSocial.similaresA(idUsuario, limite);
+        List<UsuarioResponse> usuarios = toUsuariosResponse(
+                similares.stream().map(UsuarioSimilar::usuario).toList());
+        List<UsuarioSimilarResponse> respuesta = new ArrayList<>(similares.size());
+        for (int i = 0; i < similares.size(); i++) {
+            respuesta.add(new UsuarioSimilarResponse(usuarios.get(i), similares.get(i).similitud()));
+        }
+        return respuesta;
+    }
+
+    private ResponseEntity<List<UsuarioResponse>> toPaginaResponse(PaginaUsuarios pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.siguiente() != null) {
+            respuesta.header(HEADER_SIGUIENTE, pagina.siguienteCursor());
+        }
+        return respuesta.body(toUsuariosResponse(pagina.usuarios()));
+    }
+
+    // Los contadores de todos los usuarios de la lista, en una sola consulta
+    private List<UsuarioResponse> toUsuariosResponse(List<Usuario> usuarios) {
+        Map<Long, ContadoresUsuario> contadores = servicioUsuarios.contadoresDe(
+                usuarios.stream().map(Usuario::id).toList());
+        return usuarios.stream()
+                .map(usuario -> toUsuarioResponse(usuario, contadores.get(usuario.id())))
                 .toList();
     }
 
-    private UsuarioResponse toUsuarioResponse(Usuario usuario) {
+    private UsuarioResponse toUsuarioResponse(Usuario usuario, ContadoresUsuario contadores) {
         return new UsuarioResponse(
                 usuario.id(),
                 usuario.nombreUsuario(),
-                usuario.avatarUrl());
+                usuario.avatarUrl(),
+                contadores.seguidores(),
+                contadores.seguidos(),
+                contadores.tweets());
     }
 }
@@ -0,0 +1,233 @@
+package unrn.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import unrn.api.dto.TweetResponse;
+import unrn.service.ContadorDeLikes;
+import unrn.service.ItemPublicado;
+import unrn.service.SeguidosModificados;
+import unrn.service.ServicioSocial;
+import unrn.service.VistaTweet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envía por Server-Sent Events los tweets y retweets nuevos a los seguidores
+ * conectados, para que el frontend no tenga que consultar el timeline
+ * periódicamente.
+ *
+ * - Cada conexión se indexa por los autores de su timeline; publicar no
+ * consulta la base de datos.
+ * - Cada conexión tiene una cola acotada. Si un cliente no lee y la cola se
+ * llena, se lo desconecta (vuelve a conectarse y a pedir el timeline).
+ * - Los envíos salen en un hilo virtual por conexión con pendientes, nunca en
+ * el hilo que publicó.
+ * - Al apagar se completan las conexiones abiertas y se espera a los envíos
+ * en curso (hasta app.timeline.stream.espera-cierre-ms); los clientes se
+ * reconectan contra otra instancia.
+ */
+@Component
+public class TransmisionTimeline implements DisposableBean {
+
+    private final ServicioSocial servicioSocial;
+    private final ContadorDeLikes contadorDeLikes;
+    private final RespuestasDeTweets respuestasDeTweets;
+    private final long timeoutMs;
+    private final int maximoPendientes;
+    private final long esperaCierreMs;
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter descartadas;
+
+    private final Map<Long, Set<Suscripcion>> porAutor = new ConcurrentHashMap<>();
+    private final Map<String, Set<Suscripcion>> porUsuario = new ConcurrentHashMap<>();
+
+    public TransmisionTimeline(ServicioSocial servicioSocial,
+            ContadorDeLikes contadorDeLikes,
+            RespuestasDeTweets respuestasDeTweets,
+            @Value("${app.timeline.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.timeline.stream.maximo-pendientes:64}") int maximoPendientes,
+            @Value("${app.timeline.stream.espera-cierre-ms:5000}") long esperaCierreMs,
+            MeterRegistry registry) {
+
+        this.servicioSocial = servicioSocial;
+        this.contadorDeLikes = contadorDeLikes;
+        this.respuestasDeTweets = respuestasDeTweets;
+        this.timeoutMs = timeoutMs;
+        this.maximoPendientes = maximoPendientes;
+        this.esperaCierreMs = esperaCierreMs;
+        this.descartadas = Counter.builder("timeline.stream.descartadas").register(registry);
+        Gauge.builder("timeline.stream.conexiones", this, TransmisionTimeline::conexiones).register(registry);
+    }
+
+    public SseEmitter suscribir(String keycloakId) {
+        SseEmitter emisor = new SseEmitter(timeoutMs);
+        Suscripcion suscripcion = new Suscripcion(keycloakId, emisor);
+        emisor.onCompletion(() -> quitar(suscripcion));
+        emisor.onTimeout(() -> quitar(suscripcion));
+        emisor.onError(error -> quitar(suscripcion));
+
+        porUsuario.computeIfAbsent(keycloakId, clave -> ConcurrentHashMap.newKeySet()).add(suscripcion);
+        indexar(suscripcion, servicioSocial.autoresDelTimeline(keycloakId));
+        return emisor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alPublicar(ItemPublicado evento) {
+        Set<Suscripcion> suscripciones = porAutor.get(evento.idAutor());
+        if (suscripciones == null) {
+            return;
+        }
+        // Un tweet nuevo no tiene likes; un retweet muestra los del original
+        VistaTweet original = evento.item().getTweetOriginal();
+        long likes = evento.item().esRetweet() ? contadorDeLikes.likesDe(original.id()) : 0;
+        TweetResponse respuesta = respuestasDeTweets.deItem(evento.item(), likes);
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.ofrecer(respuesta);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarSeguidos(SeguidosModificados evento) {
+        Set<Suscripcion> suscripciones = porUsuario.get(evento.keycloakIdSeguidor());
+        if (suscripciones == null || suscripciones.isEmpty()) {
+            return;
+        }
+        List<Long> autores = servicioSocial.autoresDelTimeline(evento.keycloakIdSeguidor());
+        for (Suscripcion suscripcion : suscripciones) {
+            indexar(suscripcion, autores);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (Set<Suscripcion> suscripciones : porUsuario.values()) {
+            for (Suscripcion suscripcion : List.copyOf(suscripciones)) {
+                suscripcion.cerrar();
+            }
+        }
+        envios.shutdown();
+        if (!envios.awaitTermination(esperaCierreMs, TimeUnit.MILLISECONDS)) {
+            // Un envío trabado en un cliente que no lee no demora el apagado
+            envios.shutdownNow();
+        }
+    }
+
+    public int conexiones() {
+        return porUsuario.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private synchronized void indexar(Suscripcion suscripcion, List<Long> autores) {
+        desindexar(suscripcion);
+        if (suscripcion.cerrada.get()) {
+            return;
+        }
+        suscripcion.autores = autores;
+        for (Long autor : autores) {
+            porAutor.computeIfAbsent(autor, clave -> ConcurrentHashMap.newKeySet()).add(suscripcion);
+        }
+    }
+
+    private synchronized void quitar(Suscripcion suscripcion) {
+        suscripcion.cerrada.set(true);
+        desindexar(suscripcion);
+        porUsuario.computeIfPresent(suscripcion.keycloakId,
+                (clave, suscripciones) -> suscripciones.remove(suscripcion) && suscripciones.isEmpty()
+                        ? null
+                        : suscripciones);
+    }
+
+    private void desindexar(Suscripcion suscripcion) {
+        for (Long autor : suscripcion.autores) {
+            porAutor.computeIfPresent(autor,
+                    (clave, suscripciones) -> suscripciones.remove(suscripcion) && suscripciones.isEmpty()
+                            ? null
+                            : suscripciones);
+        }
+        suscripcion.autores = List.of();
+    }
+
+    /**
+     * Una conexión abierta: su cola de pendientes y los autores que sigue.
+     */
+    private final class Suscripcion {
+
+        private final String keycloakId;
+        private final SseEmitter emisor;
+        private final BlockingQueue<TweetResponse> pendientes = new ArrayBlockingQueue<>(maximoPendientes);
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private volatile List<Long> autores = List.of();
+
+        Suscripcion(String keycloakId, SseEmitter emisor) {
+            this.keycloakId = keycloakId;
+            this.emisor = emisor;
+        }
+
+        void ofrecer(TweetResponse respuesta) {
+            if (!pendientes.offer(respuesta)) {
+                // Cliente lento: se lo desconecta en vez de acumular sin límite
+                descartadas.increment();
+                cerrar();
+                return;
+            }
+            programarEnvio();
+        }
+
+        private void programarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                try {
+                    envios.execute(this::vaciar);
+                } catch (RejectedExecutionException e) {
+                    // Se está apagando: la conexión se cierra sin enviar
+                    enviando.set(false);
+                    cerrar();
+                }
+            }
+        }
+
+        private void vaciar() {
+            try {
+                List<TweetResponse> lote = new ArrayList<>();
+                pendientes.drainTo(lote);
+                for (TweetResponse respuesta : lote) {
+                    emisor.send(SseEmitter.event().name("tweet").data(respuesta));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // La conexión se cerró del otro lado
+                quitar(this);
+                return;
+            } finally {
+                enviando.set(false);
+            }
+            // Lo que llegó mientras se enviaba el lote
+            if (!pendientes.isEmpty()) {
+                programarEnvio();
+            }
+        }
+
+        private void cerrar() {
+            if (cerrada.compareAndSet(false, true)) {
+                quitar(this);
+                emisor.complete();
+            }
+        }
+    }
+}
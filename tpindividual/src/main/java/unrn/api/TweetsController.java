@@ -1,15 +1,27 @@
 package unrn.api;
 
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import unrn.api.dto.*;
-import unrn.model.Like;
 import unrn.model.ReTweet;
 import unrn.model.RespuestaTweet;
 import unrn.model.Tweet;
+import unrn.persistence.ResumenLike;
+import unrn.persistence.ResumenRespuesta;
+import unrn.service.ContadorDeLikes;
+import unrn.service.Cursor;
+import unrn.service.NovedadesTimeline;
+import unrn.service.PaginaTimeline;
+import unrn.service.ServicioSocial;
 import unrn.service.ServicioTweets;
 import unrn.service.ServicioUsuarios;
+import unrn.service.VersionesDeRecursos;
+import unrn.service.VersionesDeRecursos.Recurso;
+import unrn.service.VistaTweet;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -20,11 +32,30 @@ public class TweetsController {
 
     private final ServicioTweets servicioTweets;
     private final ServicioUsuarios servicioUsuarios;
+    private final ServicioSocial servicioSocial;
+    private final CacheDeTimelines cacheDeTimelines;
+    private final TransmisionTimeline transmisionTimeline;
+    private final VersionesDeRecursos versiones;
+    private final ContadorDeLikes contadorDeLikes;
+    private final RespuestasDeTweets respuestasDeTweets;
     private final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
-    public TweetsController(ServicioTweets servicioTweets, ServicioUsuarios servicioUsuarios) {
+    public TweetsController(ServicioTweets servicioTweets,
+            ServicioUsuarios servicioUsuarios,
+            ServicioSocial servicioSocial,
+            CacheDeTimelines cacheDeTimelines,
+            TransmisionTimeline transmisionTimeline,
+            VersionesDeRecursos versiones,
+            ContadorDeLikes contadorDeLikes,
+            RespuestasDeTweets respuestasDeTweets) {
         this.servicioTweets = servicioTweets;
         this.servicioUsuarios = servicioUsuarios;
+        this.servicioSocial = servicioSocial;
+        this.cacheDeTimelines = cacheDeTimelines;
+        this.transmisionTimeline = transmisionTimeline;
+        this.versiones = versiones;
+        this.contadorDeLikes = contadorDeLikes;
+        this.respuestasDeTweets = respuestasDeTweets;
     }
 
     // ----------- Endpoints -----------
@@ -37,7 +68,7 @@ public class TweetsController {
         String keycloakId = jwt.getSubject();
 
         Tweet tweet = servicioTweets.publicarTweet(keycloakId, request.contenido());
-        return toTweetResponse(tweet);
+        return toTweetResponse(tweet, 0);
     }
 
     @PostMapping("/{idTweet}/retweets")
@@ -100,47 +131,113 @@ public class TweetsController {
     /**
      * Obtiene el timeline personalizado del usuario autenticado
      * (tweets de personas que sigue + retweets)
+     * Paginado por cursor: para la página siguiente enviar el nextCursor recibido
+     * La primera página se sirve desde CacheDeTimelines mientras no cambie, y
+     * con If-None-Match igual a su ETag se responde 304 sin cuerpo
      */
     @GetMapping("/timeline")
     public TimelineResponse timeline(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            ServletWebRequest request) {
+
+        String keycloakId = jwt.getSubject();
+        boolean primeraPagina = cursor == null || cursor.isBlank();
+        if (primeraPagina) {
+            CacheDeTimelines.Guardada cacheada = cacheDeTimelines.buscarConEtag(keycloakId, limite);
+            if (cacheada != null) {
+                return GetCondicional.sinCambios(request, cacheada.etag()) ? null : cacheada.respuesta();
+            }
+        }
+
+        long generacion = cacheDeTimelines.generacion();
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        PaginaTimeline pagina = servicioTweets.timeline(keycloakId, Cursor.decodificar(cursor), limite);
+
+        List<TweetResponse> tweets = respuestasDeTweets.deItems(pagina.items());
+        TimelineResponse respuesta = new TimelineResponse(tweets, pagina.siguienteCursor(),
+                pagina.masRecienteCursor());
+        if (primeraPagina) {
+            String etag = cacheDeTimelines.guardar(keycloakId, limite, servicioSocial.autoresDelTimeline(keycloakId),
+                    respuesta, generacion);
+            if (etag != null) {
+                // Solo agrega el header: la respuesta recién calculada no coincide con
+                // un If-None-Match anterior
+                GetCondicional.sinCambios(request, etag);
+            }
+        }
+        return respuesta;
+    }
+
+    /**
+     * Novedades del timeline ("pull to refresh"): solo los items posteriores
+     * al que ya tiene el cliente (newestCursor de /timeline o de la consulta
+     * anterior) y cuántos son en total. Si total supera lo devuelto, se vuelve
+     * a pedir con el newestCursor de la respuesta.
+     */
+    @GetMapping("/timeline/nuevos")
+    public NovedadesResponse novedadesDelTimeline(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam String desde,
             @RequestParam(defaultValue = "50") int limite) {
 
+        Cursor posicion = Cursor.decodificar(desde);
+        if (posicion == null) {
+            throw new RuntimeException(Cursor.ERROR_CURSOR_INVALIDO);
+        }
         servicioUsuarios.asegurarUsuarioExiste(jwt);
-        String keycloakId = jwt.getSubject();
-        List<unrn.service.TimelineItem> items = servicioTweets.timeline(keycloakId, limite);
+        NovedadesTimeline novedades = servicioTweets.novedadesDelTimeline(jwt.getSubject(), posicion, limite);
 
-        List<TweetResponse> respuesta = items.stream()
-                .map(this::timelineItemToTweetResponse)
-                .toList();
-        return new TimelineResponse(respuesta);
+        List<TweetResponse> tweets = respuestasDeTweets.deItems(novedades.items());
+        return new NovedadesResponse(tweets, novedades.total(), novedades.masReciente().codificar());
+    }
+
+    /**
+     * Stream (Server-Sent Events) de los tweets y retweets nuevos del timeline
+     * del usuario autenticado, a medida que se publican. Cada evento "tweet"
+     * trae un TweetResponse. Reemplaza el polling de /timeline: el cliente
+     * pide la primera página una vez y después solo escucha.
+     */
+    @GetMapping(value = "/timeline/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter timelineStream(@AuthenticationPrincipal Jwt jwt) {
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        return transmisionTimeline.suscribir(jwt.getSubject());
     }
 
     /**
      * Obtiene TODOS los tweets del sistema (sin filtrar por seguimiento)
      * Usado para la vista "Ver todos" en Home Page
      * Solo devuelve tweets originales, sin retweets
+     * Responde 304 si no hubo publicaciones ni eliminaciones desde el ETag
      */
     @GetMapping
-    public TimelineResponse todosTweets(@RequestParam(defaultValue = "100") int limite) {
-        List<Tweet> tweets = servicioTweets.obtenerTodosTweets(limite);
+    public TimelineResponse todosTweets(@RequestParam(defaultValue = "100") int limite,
+            ServletWebRequest request) {
 
-        List<TweetResponse> respuesta = tweets.stream()
-                .map(this::toTweetResponse)
-                .toList();
-        return new TimelineResponse(respuesta);
+        if (GetCondicional.sinCambios(request, versiones.etagDeVariante(Recurso.TODOS_LOS_TWEETS, limite))) {
+            return null;
+        }
+        List<VistaTweet> tweets = servicioTweets.obtenerTodosTweets(limite);
+
+        return new TimelineResponse(respuestasDeTweets.deVistas(tweets), null);
     }
 
     @GetMapping("/{idTweet}/respuestas")
-    public List<RespuestaTweetResponse> respuestas(@PathVariable Long idTweet) {
-        List<RespuestaTweet> respuestas = servicioTweets.respuestasDeTweet(idTweet);
+    public List<RespuestaTweetResponse> respuestas(@PathVariable Long idTweet, ServletWebRequest request) {
+        if (GetCondicional.sinCambios(request, versiones.etag(Recurso.TWEET, idTweet))) {
+            return null;
+        }
+        List<ResumenRespuesta> respuestas = servicioTweets.respuestasDeTweet(idTweet);
         return respuestas.stream()
                 .map(this::toRespuestaTweetResponse)
                 .toList();
     }
 
     @GetMapping("/{idTweet}/likes")
-    public List<LikeResponse> likes(@PathVariable Long idTweet) {
-        List<Like> likes = servicioTweets.likesDeTweet(idTweet);
+    public List<LikeResponse> likes(@PathVariable Long idTweet, ServletWebRequest request) {
+        if (GetCondicional.sinCambios(request, versiones.etag(Recurso.TWEET, idTweet))) {
+            return null;
+        }
+        List<ResumenLike> likes = servicioTweets.likesDeTweet(idTweet);
         return likes.stream()
                 .map(this::toLikeResponse)
                 .toList();
@@ -148,42 +245,7 @@ public class TweetsController {
 
     // ----------- Mapeo dominio -> DTO -----------
 
-    /**
-     * Convierte un TimelineItem (puede ser tweet o retweet) a TweetResponse.
-     * Si es retweet, marca esRetweet=true y retweeteadoPor con el autor del
-     * retweet.
-     */
-    private TweetResponse timelineItemToTweetResponse(unrn.service.TimelineItem item) {
-        Tweet tweetOriginal = item.getTweetOriginal();
-        String autor = tweetOriginal.autor().nombreUsuario();
-        String contenido = tweetOriginal.contenido();
-        String fecha = tweetOriginal.fechaCreacion().format(formatter);
-
-        if (item.esRetweet()) {
-            // Es un retweet
-            String retweeteadoPor = item.getRetweet().autor().nombreUsuario();
-            return new TweetResponse(
-                    tweetOriginal.id(),
-                    autor, // Autor del tweet original
-                    contenido,
-                    fecha,
-                    tweetOriginal.estaEliminado(),
-                    true, // esRetweet
-                    retweeteadoPor); // quien hizo el retweet
-        } else {
-            // Es un tweet original
-            return new TweetResponse(
-                    tweetOriginal.id(),
-                    autor,
-                    contenido,
-                    fecha,
-                    tweetOriginal.estaEliminado(),
-                    false, // no es retweet
-                    null);
-        }
-    }
-
-    private TweetResponse toTweetResponse(Tweet tweet) {
+    private TweetResponse toTweetResponse(Tweet tweet, long likes) {
         // Asumo que tu modelo expone estos métodos de lectura:
         String autor = tweet.autor().nombreUsuario();
         String contenido = tweet.contenido();
@@ -196,7 +258,8 @@ public class TweetsController {
                 fecha,
                 tweet.estaEliminado(),
                 false, // esRetweet: por defecto false (para tweets originales)
-                null); // retweeteadoPor: null para tweets originales
+                null, // retweeteadoPor: null para tweets originales
+                likes);
     }
 
     private RespuestaTweetResponse toRespuestaTweetResponse(RespuestaTweet respuesta) {
@@ -212,20 +275,31 @@ public class TweetsController {
                 respuesta.estaEliminado());
     }
 
-    private LikeResponse toLikeResponse(Like like) {
-        String autor = like.autor().nombreUsuario();
+    private RespuestaTweetResponse toRespuestaTweetResponse(ResumenRespuesta respuesta) {
+        String fecha = respuesta.fechaCreacion().format(formatter);
+
+        return new RespuestaTweetResponse(
+                respuesta.id(),
+                respuesta.autor(),
+                respuesta.contenido(),
+                fecha,
+                respuesta.eliminado());
+    }
+
+    private LikeResponse toLikeResponse(ResumenLike like) {
         String fecha = like.fechaCreacion().format(formatter);
 
         return new LikeResponse(
                 like.id(),
-                autor,
+                like.autor(),
                 fecha);
     }
 
     private RetweetResponse toRetweetResponse(unrn.model.ReTweet retweet) {
         String autorRetweet = retweet.autor().nombreUsuario();
         String fechaRetweet = retweet.fechaCreacion().format(formatter);
-        TweetResponse tweetOriginal = toTweetResponse(retweet.original());
+        TweetResponse tweetOriginal = toTweetResponse(retweet.original(),
+                contadorDeLikes.likesDe(retweet.original().id()));
 
         return new RetweetResponse(
                 retweet.id(),
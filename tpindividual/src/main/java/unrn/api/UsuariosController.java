@@ -7,18 +7,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import unrn.api.dto.ResumenPerfilResponse;
 import unrn.api.dto.TimelineResponse;
 import unrn.api.dto.TweetResponse;
 import unrn.api.dto.UsuarioResponse;
-import unrn.model.Tweet;
+import unrn.model.ContadoresUsuario;
 import unrn.model.Usuario;
 import unrn.persistence.RepositorioUsuarios;
+import unrn.service.Cursor;
+import unrn.service.PaginaTimeline;
 import unrn.service.ServicioTweets;
 import unrn.service.ServicioUsuarios;
-import unrn.service.TimelineItem;
+import unrn.service.VersionesDeRecursos;
+import unrn.service.VersionesDeRecursos.Recurso;
 
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller para operaciones generales de usuarios
@@ -33,14 +38,19 @@ public class UsuariosController {
     private final RepositorioUsuarios repositorioUsuarios;
     private final ServicioTweets servicioTweets;
     private final ServicioUsuarios servicioUsuarios;
-    private final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private final VersionesDeRecursos versiones;
+    private final RespuestasDeTweets respuestasDeTweets;
 
     public UsuariosController(RepositorioUsuarios repositorioUsuarios,
             ServicioTweets servicioTweets,
-            ServicioUsuarios servicioUsuarios) {
+            ServicioUsuarios servicioUsuarios,
+            VersionesDeRecursos versiones,
+            RespuestasDeTweets respuestasDeTweets) {
         this.repositorioUsuarios = repositorioUsuarios;
         this.servicioTweets = servicioTweets;
         this.servicioUsuarios = servicioUsuarios;
+        this.versiones = versiones;
+        this.respuestasDeTweets = respuestasDeTweets;
     }
 
     /**
@@ -60,79 +70,88 @@ public class UsuariosController {
 
         // Obtener todos los usuarios
         List<Usuario> usuarios = repositorioUsuarios.listarTodos();
+        Map<Long, ContadoresUsuario> contadores = servicioUsuarios.contadoresDe(
+                usuarios.stream().map(Usuario::id).toList());
 
         // Mapear a DTO
         return usuarios.stream()
-                .map(this::toUsuarioResponse)
+                .map(usuario -> toUsuarioResponse(usuario, contadores.get(usuario.id())))
                 .toList();
     }
 
+    /**
+     * Obtiene el encabezado del perfil de un usuario: datos básicos y
+     * contadores (seguidores, seguidos, tweets, likes y retweets recibidos).
+     * 
+     * Los contadores se leen de una sola fila, sin contar follows ni tweets.
+     * 
+     * @param jwt       Token JWT del usuario autenticado
+     * @param idUsuario ID del usuario
+     * @return Resumen del perfil
+     */
+    @GetMapping("/{idUsuario}/resumen")
+    public ResumenPerfilResponse resumenDePerfil(@AuthenticationPrincipal Jwt jwt,
+            @PathVariable Long idUsuario) {
+
+        servicioUsuarios.asegurarUsuarioExiste(jwt);
+        Usuario usuario = repositorioUsuarios.buscarPorId(idUsuario);
+        ContadoresUsuario contadores = servicioUsuarios.contadoresDe(idUsuario);
+
+        return new ResumenPerfilResponse(
+                usuario.id(),
+                usuario.nombreUsuario(),
+                usuario.avatarUrl(),
+                contadores.seguidores(),
+                contadores.seguidos(),
+                contadores.tweets(),
+                contadores.likesRecibidos(),
+                contadores.retweetsRecibidos());
+    }
+
     /**
      * Obtiene todos los tweets y retweets de un usuario específico.
      * 
      * @param jwt       Token JWT del usuario autenticado
      * @param idUsuario ID del usuario cuyos tweets se quieren obtener
+     * @param cursor    Cursor de la página anterior (nextCursor), vacío para la
+     *                  primera página
      * @param limite    Cantidad máxima de tweets a retornar (default: 50)
-     * @return Timeline con tweets y retweets del usuario
+     * @return Timeline con tweets y retweets del usuario, o 304 si la primera
+     *         página no cambió desde el ETag enviado en If-None-Match
      */
     @GetMapping("/{idUsuario}/tweets")
     public TimelineResponse tweetsDeUsuario(
             @AuthenticationPrincipal Jwt jwt,
             @PathVariable Long idUsuario,
-            @RequestParam(defaultValue = "50") int limite) {
-
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            ServletWebRequest request) {
+
+        boolean primeraPagina = cursor == null || cursor.isBlank();
+        if (primeraPagina) {
+            String etag = versiones.etagDeVariante(Recurso.TWEETS_DE_AUTOR, idUsuario, limite);
+            if (GetCondicional.sinCambios(request, etag)) {
+                return null;
+            }
+        }
         servicioUsuarios.asegurarUsuarioExiste(jwt);
 
         // Obtener tweets y retweets del usuario
-        List<TimelineItem> items = servicioTweets.tweetsDeUsuario(idUsuario, limite);
-
-        // Mapear a TweetResponse
-        List<TweetResponse> respuesta = items.stream()
-                .map(this::timelineItemToTweetResponse)
-                .toList();
+        PaginaTimeline pagina = servicioTweets.tweetsDeUsuario(idUsuario, Cursor.decodificar(cursor), limite);
 
-        return new TimelineResponse(respuesta);
+        // Mapear a TweetResponse, con los likes de todos en una sola consulta
+        return new TimelineResponse(respuestasDeTweets.deItems(pagina.items()), pagina.siguienteCursor());
     }
 
     // ----------- Mapeo dominio -> DTO -----------
 
-    /**
-     * Convierte un TimelineItem (puede ser tweet o retweet) a TweetResponse.
-     */
-    private TweetResponse timelineItemToTweetResponse(TimelineItem item) {
-        Tweet tweetOriginal = item.getTweetOriginal();
-        String autor = tweetOriginal.autor().nombreUsuario();
-        String contenido = tweetOriginal.contenido();
-        String fecha = tweetOriginal.fechaCreacion().format(formatter);
-
-        if (item.esRetweet()) {
-            // Es un retweet
-            String retweeteadoPor = item.getRetweet().autor().nombreUsuario();
-            return new TweetResponse(
-                    tweetOriginal.id(),
-                    autor, // Autor del tweet original
-                    contenido,
-                    fecha,
-                    tweetOriginal.estaEliminado(),
-                    true, // esRetweet
-                    retweeteadoPor); // quien hizo el retweet
-        } else {
-            // Es un tweet original
-            return new TweetResponse(
-                    tweetOriginal.id(),
-                    autor,
-                    contenido,
-                    fecha,
-                    tweetOriginal.estaEliminado(),
-                    false, // no es retweet
-                    null);
-        }
-    }
-
-    private UsuarioResponse toUsuarioResponse(Usuario usuario) {
+    private UsuarioResponse toUsuarioResponse(Usuario usuario, ContadoresUsuario contadores) {
         return new UsuarioResponse(
                 usuario.id(),
                 usuario.nombreUsuario(),
-                usuario.avatarUrl());
+                usuario.avatarUrl(),
+                contadores.seguidores(),
+                contadores.seguidos(),
+                contadores.tweets());
     }
 }
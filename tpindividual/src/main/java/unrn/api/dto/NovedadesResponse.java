@@ -0,0 +1,16 @@
+package unrn.api.dto;
+
+import java.util.List;
+
+/**
+ * @param tweets       Items nuevos, más recientes primero
+ * @param total        Cantidad total de items nuevos (puede ser mayor que los
+ *                     devueltos)
+ * @param newestCursor Cursor opaco del item más nuevo devuelto, para la
+ *                     próxima consulta
+ */
+public record NovedadesResponse(
+        List<TweetResponse> tweets,
+        long total,
+        String newestCursor) {
+}
@@ -0,0 +1,15 @@
+package unrn.api.dto;
+
+/**
+ * Encabezado del perfil de un usuario, con sus contadores desnormalizados.
+ */
+public record ResumenPerfilResponse(
+        Long id,
+        String nombreUsuario,
+        String avatarUrl,
+        long seguidores,
+        long seguidos,
+        long tweets,
+        long likesRecibidos,
+        long retweetsRecibidos) {
+}
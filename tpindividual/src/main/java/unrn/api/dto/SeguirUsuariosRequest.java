@@ -0,0 +1,6 @@
+package unrn.api.dto;
+
+import java.util.List;
+
+public record SeguirUsuariosRequest(List<Long> idsUsuarios) {
+}
@@ -0,0 +1,10 @@
+package unrn.api.dto;
+
+import java.util.List;
+
+/**
+ * @param seguidos IDs de los usuarios que se empezaron a seguir (sin los que
+ *                 ya se seguían ni los ignorados)
+ */
+public record SeguirUsuariosResponse(List<Long> seguidos) {
+}
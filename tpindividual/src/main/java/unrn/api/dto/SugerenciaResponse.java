@@ -0,0 +1,8 @@
+package unrn.api.dto;
+
+/**
+ * @param seguidosQueLoSiguen Cuántos de los seguidos del usuario actual ya
+ *                            siguen al sugerido
+ */
+public record SugerenciaResponse(UsuarioResponse usuario, int seguidosQueLoSiguen) {
+}
@@ -2,6 +2,19 @@ package unrn.api.dto;
 
 import java.util.List;
 
+/**
+ * @param tweets       Items de la página
+ * @param nextCursor   Cursor opaco para pedir la página siguiente (null si no
+ *                     hay más o si el endpoint no pagina)
+ * @param newestCursor Cursor opaco del item más nuevo, para pedir novedades a
+ *                     /timeline/nuevos (null si el endpoint no lo soporta)
+ */
 public record TimelineResponse(
-        List<TweetResponse> tweets) {
+        List<TweetResponse> tweets,
+        String nextCursor,
+        String newestCursor) {
+
+    public TimelineResponse(List<TweetResponse> tweets, String nextCursor) {
+        this(tweets, nextCursor, null);
+    }
 }
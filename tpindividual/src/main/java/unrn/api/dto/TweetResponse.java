@@ -7,5 +7,6 @@ public record TweetResponse(
                 String fechaCreacion,
                 boolean eliminado,
                 boolean esRetweet,
-                String retweeteadoPor) {
+                String retweeteadoPor,
+                long likes) {
 }
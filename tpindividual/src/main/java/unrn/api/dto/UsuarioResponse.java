@@ -3,5 +3,8 @@ package unrn.api.dto;
 public record UsuarioResponse(
         Long id,
         String nombreUsuario,
-        String avatarUrl) {
+        String avatarUrl,
+        long seguidores,
+        long seguidos,
+        long tweets) {
 }
@@ -0,0 +1,8 @@
+package unrn.api.dto;
+
+/**
+ * @param similitud Similitud de Jaccard estimada entre los seguidores de
+ *                  ambos usuarios, entre 0 y 1
+ */
+public record UsuarioSimilarResponse(UsuarioResponse usuario, double similitud) {
+}
@@ -27,6 +27,8 @@ public class SecurityConfig {
                 ));
                 configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
                 configuration.setAllowedHeaders(Arrays.asList("*"));
+                // Cursor de la página siguiente en las listas de seguidores y seguidos
+                configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor"));
                 configuration.setAllowCredentials(true);
                 configuration.setMaxAge(3600L);
 
@@ -0,0 +1,97 @@
+package unrn.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contadores desnormalizados del perfil de un usuario: se actualizan en la
+ * misma transacción que cada follow, tweet, like o retweet, para que el perfil
+ * los muestre sin contar filas.
+ */
+@Entity
+@Table(name = "contadores_usuario")
+public class ContadoresUsuario {
+
+    static final String ERROR_USUARIO_CONTADORES_OBLIGATORIO = "El usuario de los contadores no puede ser nulo";
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(nullable = false)
+    private long seguidores;
+
+    @Column(nullable = false)
+    private long seguidos;
+
+    @Column(nullable = false)
+    private long tweets;
+
+    @Column(name = "likes_recibidos", nullable = false)
+    private long likesRecibidos;
+
+    @Column(name = "retweets_recibidos", nullable = false)
+    private long retweetsRecibidos;
+
+    protected ContadoresUsuario() {
+        // JPA
+    }
+
+    public ContadoresUsuario(Long idUsuario) {
+        this(idUsuario, 0, 0, 0, 0, 0);
+    }
+
+    public ContadoresUsuario(Long idUsuario,
+            long seguidores,
+            long seguidos,
+            long tweets,
+            long likesRecibidos,
+            long retweetsRecibidos) {
+
+        assertUsuarioValido(idUsuario);
+
+        this.idUsuario = idUsuario;
+        this.seguidores = seguidores;
+        this.seguidos = seguidos;
+        this.tweets = tweets;
+        this.likesRecibidos = likesRecibidos;
+        this.retweetsRecibidos = retweetsRecibidos;
+    }
+
+    public boolean coincideCon(ContadoresUsuario otros) {
+        return seguidores == otros.seguidores
+                && seguidos == otros.seguidos
+                && tweets == otros.tweets
+                && likesRecibidos == otros.likesRecibidos
+                && retweetsRecibidos == otros.retweetsRecibidos;
+    }
+
+    public Long idUsuario() {
+        return idUsuario;
+    }
+
+    public long seguidores() {
+        return seguidores;
+    }
+
+    public long seguidos() {
+        return seguidos;
+    }
+
+    public long tweets() {
+        return tweets;
+    }
+
+    public long likesRecibidos() {
+        return likesRecibidos;
+    }
+
+    public long retweetsRecibidos() {
+        return retweetsRecibidos;
+    }
+
+    private void assertUsuarioValido(Long idUsuario) {
+        if (idUsuario == null) {
+            throw new RuntimeException(ERROR_USUARIO_CONTADORES_OBLIGATORIO);
+        }
+    }
+}
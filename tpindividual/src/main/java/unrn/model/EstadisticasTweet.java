@@ -0,0 +1,51 @@
+package unrn.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contadores desnormalizados de un tweet. Los likes no se suman en cada
+ * like: se acumulan en memoria (ContadorDeLikes) y se vuelcan de a lotes,
+ * así un tweet viral no es una fila bloqueada por cada like.
+ */
+@Entity
+@Table(name = "tweet_stats")
+public class EstadisticasTweet {
+
+    static final String ERROR_TWEET_ESTADISTICAS_OBLIGATORIO = "El tweet de las estadísticas no puede ser nulo";
+
+    @Id
+    @Column(name = "id_tweet")
+    private Long idTweet;
+
+    @Column(nullable = false)
+    private long likes;
+
+    protected EstadisticasTweet() {
+        // JPA
+    }
+
+    public EstadisticasTweet(Long idTweet) {
+        this(idTweet, 0);
+    }
+
+    public EstadisticasTweet(Long idTweet, long likes) {
+        assertTweetValido(idTweet);
+
+        this.idTweet = idTweet;
+        this.likes = likes;
+    }
+
+    public Long idTweet() {
+        return idTweet;
+    }
+
+    public long likes() {
+        return likes;
+    }
+
+    private void assertTweetValido(Long idTweet) {
+        if (idTweet == null) {
+            throw new RuntimeException(ERROR_TWEET_ESTADISTICAS_OBLIGATORIO);
+        }
+    }
+}
@@ -5,7 +5,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "follows", uniqueConstraints = @UniqueConstraint(name = "uk_seguidor_seguido", columnNames = {
-        "seguidor_id", "seguido_id" }))
+        "seguidor_id", "seguido_id" }), indexes = {
+                // Páginas de seguidores y de seguidos (keyset por ID de follow)
+                @Index(name = "idx_follows_seguido_id", columnList = "seguido_id, id"),
+                @Index(name = "idx_follows_seguidor_id", columnList = "seguidor_id, id") })
 public class Follow {
 
     static final String ERROR_SEGUIDOR_OBLIGATORIO = "El seguidor no puede ser nulo";
@@ -65,6 +68,10 @@ public class Follow {
         return this.seguido;
     }
 
+    public LocalDateTime fechaCreacion() {
+        return this.fechaCreacion;
+    }
+
     private void assertUsuariosValidos(Usuario seguidor, Usuario seguido) {
         if (seguidor == null) {
             throw new RuntimeException(ERROR_SEGUIDOR_OBLIGATORIO);
@@ -63,6 +63,10 @@ public class Like {
         return this.autor;
     }
 
+    public Tweet tweet() {
+        return this.tweet;
+    }
+
     public LocalDateTime fechaCreacion() {
         return this.fechaCreacion;
     }
@@ -80,6 +80,10 @@ public class RespuestaTweet {
         return this.autor;
     }
 
+    public Tweet tweetRespondido() {
+        return this.tweetRespondido;
+    }
+
     public String contenido() {
         return this.contenido;
     }
@@ -0,0 +1,10 @@
+package unrn.persistence;
+
+/**
+ * Proyección de un conteo agrupado por usuario, para reconciliar los
+ * contadores del perfil sin cargar entidades.
+ */
+public record ConteoPorUsuario(
+        Long idUsuario,
+        Long cantidad) {
+}
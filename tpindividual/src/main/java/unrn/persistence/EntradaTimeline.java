@@ -0,0 +1,40 @@
+package unrn.persistence;
+
+import unrn.model.ReTweet;
+import unrn.model.Tweet;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Referencia liviana a un item de un timeline materializado.
+ *
+ * Solo guarda lo que identifica y ordena al item:
+ * - id: ID del tweet, o del retweet si esRetweet (el retweet ya referencia al
+ * tweet original)
+ * - esRetweet: si el item llegó al timeline por un retweet
+ * - fecha: fecha de publicación del tweet o del retweet
+ */
+public record EntradaTimeline(
+        Long id,
+        boolean esRetweet,
+        LocalDateTime fecha) {
+
+    /**
+     * Orden del timeline: más reciente primero, desempatando por tipo y por
+     * ID (los IDs de tweets y de retweets salen de secuencias distintas).
+     */
+    public static final Comparator<EntradaTimeline> MAS_RECIENTE_PRIMERO = Comparator
+            .comparing(EntradaTimeline::fecha)
+            .thenComparing(EntradaTimeline::esRetweet)
+            .thenComparing(EntradaTimeline::id)
+            .reversed();
+
+    public static EntradaTimeline deTweet(Tweet tweet) {
+        return new EntradaTimeline(tweet.id(), false, tweet.fechaCreacion());
+    }
+
+    public static EntradaTimeline deRetweet(ReTweet retweet) {
+        return new EntradaTimeline(retweet.id(), true, retweet.fechaCreacion());
+    }
+}
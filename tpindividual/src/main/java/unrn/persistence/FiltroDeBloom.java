@@ -0,0 +1,92 @@
+package unrn.persistence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de pares de IDs (p. ej. usuario y tweet): responde "seguro
+ * que no está" o "puede estar", en memoria y sin locks.
+ *
+ * - Dimensionado para una capacidad y una tasa de falsos positivos: con más
+ * elementos que la capacidad la tasa real sube.
+ * - No admite quitar: un par quitado sigue dando "puede estar" (un falso
+ * positivo más, nunca un falso negativo).
+ * - Cada par se ubica con k posiciones derivadas de dos hashes de 64 bits
+ * (Kirsch-Mitzenmacher).
+ */
+public class FiltroDeBloom {
+
+    static final String ERROR_CAPACIDAD_INVALIDA = "La capacidad del filtro debe ser positiva";
+    static final String ERROR_TASA_INVALIDA = "La tasa de falsos positivos debe estar entre 0 y 1";
+
+    private final AtomicLongArray bits;
+    private final long cantidadDeBits;
+    private final int cantidadDeFunciones;
+
+    public FiltroDeBloom(long capacidad, double tasaDeFalsosPositivos) {
+        if (capacidad <= 0) {
+            throw new RuntimeException(ERROR_CAPACIDAD_INVALIDA);
+        }
+        if (tasaDeFalsosPositivos <= 0 || tasaDeFalsosPositivos >= 1) {
+            throw new RuntimeException(ERROR_TASA_INVALIDA);
+        }
+        double ln2 = Math.log(2);
+        long palabras = (long) Math.ceil(-capacidad * Math.log(tasaDeFalsosPositivos) / (ln2 * ln2) / Long.SIZE);
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, palabras)));
+        this.cantidadDeBits = (long) bits.length() * Long.SIZE;
+        this.cantidadDeFunciones = Math.max(1, (int) Math.round((double) cantidadDeBits / capacidad * ln2));
+    }
+
+    public void agregar(long primero, long segundo) {
+        long h1 = mezclar(primero ^ mezclar(segundo));
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < cantidadDeFunciones; i++) {
+            long posicion = Math.floorMod(h1 + i * h2, cantidadDeBits);
+            long mascara = 1L << posicion;
+            bits.accumulateAndGet((int) (posicion >>> 6), mascara, (actual, bit) -> actual | bit);
+        }
+    }
+
+    /**
+     * @return false si el par seguro no se agregó; true si puede haberse
+     *         agregado
+     */
+    public boolean puedeContener(long primero, long segundo) {
+        long h1 = mezclar(primero ^ mezclar(segundo));
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < cantidadDeFunciones; i++) {
+            long posicion = Math.floorMod(h1 + i * h2, cantidadDeBits);
+            if ((bits.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada con la ocupación actual: la fracción
+     * de bits en uno elevada a la cantidad de funciones.
+     */
+    public double tasaEstimadaDeFalsosPositivos() {
+        long enUno = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            enUno += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) enUno / cantidadDeBits, cantidadDeFunciones);
+    }
+
+    public long cantidadDeBits() {
+        return cantidadDeBits;
+    }
+
+    public int cantidadDeFunciones() {
+        return cantidadDeFunciones;
+    }
+
+    // Finalizador de SplitMix64: dispersa bien IDs consecutivos
+    private static long mezclar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
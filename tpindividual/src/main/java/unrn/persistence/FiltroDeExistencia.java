@@ -0,0 +1,79 @@
+package unrn.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Camino rápido para los chequeos de existencia de un repositorio (¿ya dio
+ * like?, ¿ya retweeteó?): un FiltroDeBloom responde "seguro que no" sin ir a
+ * la base de datos, y solo los "puede ser" se confirman con la consulta.
+ *
+ * - Mientras no terminó la carga inicial todas las consultas van a la base.
+ * - Las escrituras se registran desde antes de la carga, así no se pierde
+ * ninguna que ocurra mientras se carga.
+ *
+ * Métricas, con tag filtro:
+ * - filtro.existencia.consultas, por resultado: "descartada" (no fue a la
+ * base), "confirmada" o "falso-positivo" (fue a la base y no existía).
+ * - filtro.existencia.falsos-positivos.estimados: tasa esperada según la
+ * ocupación del filtro.
+ */
+public class FiltroDeExistencia {
+
+    private final FiltroDeBloom filtro;
+    private final Counter descartadas;
+    private final Counter confirmadas;
+    private final Counter falsosPositivos;
+    private volatile boolean cargado;
+
+    public FiltroDeExistencia(String nombre, long capacidad, double tasaDeFalsosPositivos, MeterRegistry registry) {
+        this.filtro = new FiltroDeBloom(capacidad, tasaDeFalsosPositivos);
+        this.descartadas = consultas(nombre, "descartada", registry);
+        this.confirmadas = consultas(nombre, "confirmada", registry);
+        this.falsosPositivos = consultas(nombre, "falso-positivo", registry);
+        Gauge.builder("filtro.existencia.falsos-positivos.estimados", filtro,
+                FiltroDeBloom::tasaEstimadaDeFalsosPositivos)
+                .tag("filtro", nombre)
+                .register(registry);
+    }
+
+    /**
+     * Agrega todos los pares existentes y habilita el camino rápido.
+     */
+    public void cargar(Stream<ParDeIds> existentes) {
+        existentes.forEach(par -> filtro.agregar(par.primero(), par.segundo()));
+        cargado = true;
+    }
+
+    public void registrar(Long primero, Long segundo) {
+        filtro.agregar(primero, segundo);
+    }
+
+    /**
+     * @param consulta Chequeo contra la base de datos, solo si el filtro no
+     *                 descarta el par
+     */
+    public boolean existe(Long primero, Long segundo, BooleanSupplier consulta) {
+        if (!cargado || primero == null || segundo == null) {
+            return consulta.getAsBoolean();
+        }
+        if (!filtro.puedeContener(primero, segundo)) {
+            descartadas.increment();
+            return false;
+        }
+        boolean existe = consulta.getAsBoolean();
+        (existe ? confirmadas : falsosPositivos).increment();
+        return existe;
+    }
+
+    private static Counter consultas(String nombre, String resultado, MeterRegistry registry) {
+        return Counter.builder("filtro.existencia.consultas")
+                .tag("filtro", nombre)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+}
@@ -0,0 +1,10 @@
+package unrn.persistence;
+
+/**
+ * Proyección de un follow dentro de una lista de seguidores o de seguidos: el
+ * ID del follow (posición para paginar) y el del otro usuario.
+ */
+public record FollowEnLista(
+        Long idFollow,
+        Long idUsuario) {
+}
@@ -0,0 +1,126 @@
+package unrn.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de los follows: por usuario, los IDs de sus seguidos y de
+ * sus seguidores en arreglos long[] ordenados (8 bytes por arista y
+ * dirección, sin objetos).
+ *
+ * - Lecturas sin locks: cada arreglo es inmutable y se reemplaza entero al
+ * agregar o quitar un follow (copy-on-write por usuario).
+ * - agregar y quitar son idempotentes: aplicar dos veces el mismo cambio, o un
+ * cambio que ya estaba en la carga inicial, no altera el índice.
+ */
+public class GrafoSocial {
+
+    private static final long[] VACIO = new long[0];
+
+    private final Map<Long, long[]> seguidos = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> seguidores = new ConcurrentHashMap<>();
+
+    /**
+     * Construye el índice a partir de todos los follows de la base de datos.
+     */
+    public static GrafoSocial de(Collection<ParDeFollow> follows) {
+        Map<Long, List<Long>> seguidosPorUsuario = new HashMap<>();
+        Map<Long, List<Long>> seguidoresPorUsuario = new HashMap<>();
+        for (ParDeFollow follow : follows) {
+            seguidosPorUsuario.computeIfAbsent(follow.idSeguidor(), id -> new ArrayList<>()).add(follow.idSeguido());
+            seguidoresPorUsuario.computeIfAbsent(follow.idSeguido(), id -> new ArrayList<>()).add(follow.idSeguidor());
+        }
+
+        GrafoSocial grafo = new GrafoSocial();
+        seguidosPorUsuario.forEach((id, ids) -> grafo.seguidos.put(id, ordenados(ids)));
+        seguidoresPorUsuario.forEach((id, ids) -> grafo.seguidores.put(id, ordenados(ids)));
+        return grafo;
+    }
+
+    public boolean sigue(Long idSeguidor, Long idSeguido) {
+        return Arrays.binarySearch(seguidosDe(idSeguidor), idSeguido) >= 0;
+    }
+
+    /**
+     * @return Los IDs que sigue el usuario, ordenados. No modificar.
+     */
+    public long[] seguidosDe(Long idSeguidor) {
+        return seguidos.getOrDefault(idSeguidor, VACIO);
+    }
+
+    /**
+     * @return Los IDs de los seguidores del usuario, ordenados. No modificar.
+     */
+    public long[] seguidoresDe(Long idSeguido) {
+        return seguidores.getOrDefault(idSeguido, VACIO);
+    }
+
+    public int cantidadDeSeguidoresDe(Long idSeguido) {
+        return seguidoresDe(idSeguido).length;
+    }
+
+    public List<Long> conAlMenosSeguidores(long minimo) {
+        List<Long> ids = new ArrayList<>();
+        seguidores.forEach((id, deUsuario) -> {
+            if (deUsuario.length >= minimo) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    public void agregar(Long idSeguidor, Long idSeguido) {
+        seguidos.compute(idSeguidor, (id, actuales) -> conId(actuales, idSeguido));
+        seguidores.compute(idSeguido, (id, actuales) -> conId(actuales, idSeguidor));
+    }
+
+    public void quitar(Long idSeguidor, Long idSeguido) {
+        seguidos.computeIfPresent(idSeguidor, (id, actuales) -> sinId(actuales, idSeguido));
+        seguidores.computeIfPresent(idSeguido, (id, actuales) -> sinId(actuales, idSeguidor));
+    }
+
+    private static long[] conId(long[] actuales, long id) {
+        if (actuales == null) {
+            return new long[] { id };
+        }
+        int posicion = Arrays.binarySearch(actuales, id);
+        if (posicion >= 0) {
+            return actuales;
+        }
+        int insercion = -posicion - 1;
+        long[] nuevos = new long[actuales.length + 1];
+        System.arraycopy(actuales, 0, nuevos, 0, insercion);
+        nuevos[insercion] = id;
+        System.arraycopy(actuales, insercion, nuevos, insercion + 1, actuales.length - insercion);
+        return nuevos;
+    }
+
+    // Devolver null quita la clave del mapa: un usuario sin aristas no ocupa lugar
+    private static long[] sinId(long[] actuales, long id) {
+        int posicion = Arrays.binarySearch(actuales, id);
+        if (posicion < 0) {
+            return actuales;
+        }
+        if (actuales.length == 1) {
+            return null;
+        }
+        long[] nuevos = new long[actuales.length - 1];
+        System.arraycopy(actuales, 0, nuevos, 0, posicion);
+        System.arraycopy(actuales, posicion + 1, nuevos, posicion, actuales.length - posicion - 1);
+        return nuevos;
+    }
+
+    private static long[] ordenados(List<Long> ids) {
+        long[] arreglo = new long[ids.size()];
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = ids.get(i);
+        }
+        Arrays.sort(arreglo);
+        return arreglo;
+    }
+}
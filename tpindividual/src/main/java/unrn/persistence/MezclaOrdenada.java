@@ -0,0 +1,69 @@
+package unrn.persistence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Mezcla de k fuentes ya ordenadas (k-way merge) que se detiene al llegar al
+ * límite.
+ *
+ * Cada fuente debe venir ordenada según el mismo comparador. Solo se avanza
+ * lo necesario en cada iterador, así que el costo es proporcional al límite y
+ * no al total de elementos de las fuentes. Los elementos repetidos entre
+ * fuentes (mismo equals) aparecen una sola vez.
+ */
+public final class MezclaOrdenada {
+
+    private MezclaOrdenada() {
+    }
+
+    public static <T> List<T> mezclar(List<? extends Iterator<? extends T>> fuentes,
+            Comparator<? super T> orden,
+            int limite) {
+
+        PriorityQueue<Cabeza<T>> cabezas = new PriorityQueue<>(Math.max(1, fuentes.size()),
+                (a, b) -> orden.compare(a.elemento(), b.elemento()));
+        for (Iterator<? extends T> fuente : fuentes) {
+            avanzar(cabezas, fuente);
+        }
+
+        List<T> resultado = new ArrayList<>(Math.min(limite, 64));
+        // Elementos ya emitidos que empatan con el último: los repetidos
+        // siempre caen dentro de este grupo
+        List<T> empatados = new ArrayList<>();
+        while (resultado.size() < limite && !cabezas.isEmpty()) {
+            Cabeza<T> cabeza = cabezas.poll();
+            T elemento = cabeza.elemento();
+            avanzar(cabezas, cabeza.fuente());
+
+            if (!empatados.isEmpty() && orden.compare(empatados.get(0), elemento) != 0) {
+                empatados.clear();
+            }
+            if (empatados.contains(elemento)) {
+                continue;
+            }
+            empatados.add(elemento);
+            resultado.add(elemento);
+        }
+        return resultado;
+    }
+
+    public static <T> List<T> mezclar(List<? extends T> primera,
+            List<? extends T> segunda,
+            Comparator<? super T> orden,
+            int limite) {
+        return mezclar(List.of(primera.iterator(), segunda.iterator()), orden, limite);
+    }
+
+    private static <T> void avanzar(PriorityQueue<Cabeza<T>> cabezas, Iterator<? extends T> fuente) {
+        if (fuente.hasNext()) {
+            cabezas.add(new Cabeza<>(fuente.next(), fuente));
+        }
+    }
+
+    private record Cabeza<T>(T elemento, Iterator<? extends T> fuente) {
+    }
+}
@@ -0,0 +1,10 @@
+package unrn.persistence;
+
+/**
+ * Proyección de un follow como par de IDs, para construir el GrafoSocial sin
+ * cargar entidades.
+ */
+public record ParDeFollow(
+        Long idSeguidor,
+        Long idSeguido) {
+}
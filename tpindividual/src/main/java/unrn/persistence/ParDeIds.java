@@ -0,0 +1,10 @@
+package unrn.persistence;
+
+/**
+ * Proyección de una relación como par de IDs (p. ej. autor y tweet de un
+ * like), para cargar un FiltroDeExistencia sin cargar entidades.
+ */
+public record ParDeIds(
+        Long primero,
+        Long segundo) {
+}
@@ -0,0 +1,54 @@
+package unrn.persistence;
+
+import unrn.model.ContadoresUsuario;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Contadores del perfil de cada usuario (ver ContadoresUsuario). Las sumas se
+ * aplican con un UPDATE atómico en la transacción del llamador; un delta
+ * negativo resta.
+ */
+public interface RepositorioContadores {
+
+    void sumarSeguidores(Long idUsuario, long delta);
+
+    /**
+     * Suma el mismo delta a los seguidores de varios usuarios, en un solo
+     * UPDATE.
+     */
+    void sumarSeguidores(Collection<Long> idsUsuarios, long delta);
+
+    void sumarSeguidos(Long idUsuario, long delta);
+
+    void sumarTweets(Long idUsuario, long delta);
+
+    void sumarLikesRecibidos(Long idUsuario, long delta);
+
+    void sumarRetweetsRecibidos(Long idUsuario, long delta);
+
+    /**
+     * Pone en cero los tweets, likes y retweets recibidos (usuario desactivado).
+     */
+    void anularPublicaciones(Long idUsuario);
+
+    /**
+     * @return Los contadores del usuario, en cero si todavía no tiene
+     */
+    ContadoresUsuario de(Long idUsuario);
+
+    /**
+     * Contadores de varios usuarios en una sola consulta. Los usuarios sin
+     * contadores aparecen en cero.
+     */
+    Map<Long, ContadoresUsuario> dePorIds(Collection<Long> idsUsuarios);
+
+    /**
+     * Recalcula todos los contadores contando filas y corrige los que no
+     * coinciden (o faltan).
+     *
+     * @return Cantidad de usuarios corregidos
+     */
+    int reconciliar();
+}
@@ -0,0 +1,113 @@
+package unrn.persistence;
+
+import org.springframework.stereotype.Repository;
+import unrn.model.ContadoresUsuario;
+import unrn.persistence.jpa.JpaContadoresSpringData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Si un usuario no tiene fila de contadores (creado antes de que existiera la
+ * tabla), las sumas no tienen efecto y la reconciliación crea la fila con los
+ * valores reales.
+ */
+@Repository
+public class RepositorioContadoresJpa implements RepositorioContadores {
+
+    private final JpaContadoresSpringData jpa;
+
+    public RepositorioContadoresJpa(JpaContadoresSpringData jpa) {
+        this.jpa = jpa;
+    }
+
+    @Override
+    public void sumarSeguidores(Long idUsuario, long delta) {
+        jpa.sumar(idUsuario, delta, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void sumarSeguidores(Collection<Long> idsUsuarios, long delta) {
+        if (!idsUsuarios.isEmpty()) {
+            jpa.sumarSeguidores(idsUsuarios, delta);
+        }
+    }
+
+    @Override
+    public void sumarSeguidos(Long idUsuario, long delta) {
+        jpa.sumar(idUsuario, 0, delta, 0, 0, 0);
+    }
+
+    @Override
+    public void sumarTweets(Long idUsuario, long delta) {
+        jpa.sumar(idUsuario, 0, 0, delta, 0, 0);
+    }
+
+    @Override
+    public void sumarLikesRecibidos(Long idUsuario, long delta) {
+        jpa.sumar(idUsuario, 0, 0, 0, delta, 0);
+    }
+
+    @Override
+    public void sumarRetweetsRecibidos(Long idUsuario, long delta) {
+        jpa.sumar(idUsuario, 0, 0, 0, 0, delta);
+    }
+
+    @Override
+    public void anularPublicaciones(Long idUsuario) {
+        jpa.anularPublicaciones(idUsuario);
+    }
+
+    @Override
+    public ContadoresUsuario de(Long idUsuario) {
+        return jpa.findById(idUsuario).orElseGet(() -> new ContadoresUsuario(idUsuario));
+    }
+
+    @Override
+    public Map<Long, ContadoresUsuario> dePorIds(Collection<Long> idsUsuarios) {
+        Map<Long, ContadoresUsuario> porId = jpa.findAllById(idsUsuarios).stream()
+                .collect(Collectors.toMap(ContadoresUsuario::idUsuario, Function.identity()));
+        Map<Long, ContadoresUsuario> contadores = new HashMap<>();
+        for (Long idUsuario : idsUsuarios) {
+            contadores.put(idUsuario, porId.getOrDefault(idUsuario, new ContadoresUsuario(idUsuario)));
+        }
+        return contadores;
+    }
+
+    @Override
+    public int reconciliar() {
+        Map<Long, Long> seguidores = porUsuario(jpa.contarSeguidores());
+        Map<Long, Long> seguidos = porUsuario(jpa.contarSeguidos());
+        Map<Long, Long> tweets = porUsuario(jpa.contarTweets());
+        Map<Long, Long> likes = porUsuario(jpa.contarLikesRecibidos());
+        Map<Long, Long> retweets = porUsuario(jpa.contarRetweetsRecibidos());
+        Map<Long, ContadoresUsuario> actuales = jpa.findAll().stream()
+                .collect(Collectors.toMap(ContadoresUsuario::idUsuario, Function.identity()));
+
+        List<ContadoresUsuario> corregidos = new ArrayList<>();
+        for (Long idUsuario : jpa.findIdsDeUsuarios()) {
+            ContadoresUsuario reales = new ContadoresUsuario(idUsuario,
+                    seguidores.getOrDefault(idUsuario, 0L),
+                    seguidos.getOrDefault(idUsuario, 0L),
+                    tweets.getOrDefault(idUsuario, 0L),
+                    likes.getOrDefault(idUsuario, 0L),
+                    retweets.getOrDefault(idUsuario, 0L));
+            ContadoresUsuario actual = actuales.get(idUsuario);
+            if (actual == null || !actual.coincideCon(reales)) {
+                corregidos.add(reales);
+            }
+        }
+        jpa.saveAll(corregidos);
+        return corregidos.size();
+    }
+
+    private static Map<Long, Long> porUsuario(List<ConteoPorUsuario> conteos) {
+        return conteos.stream()
+                .collect(Collectors.toMap(ConteoPorUsuario::idUsuario, ConteoPorUsuario::cantidad));
+    }
+}
@@ -0,0 +1,36 @@
+package unrn.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estadísticas de cada tweet (ver EstadisticasTweet).
+ */
+public interface RepositorioEstadisticasTweets {
+
+    /**
+     * Suma los deltas de likes de varios tweets en un solo lote de UPDATEs
+     * atómicos (likes = likes + delta).
+     */
+    void sumarLikes(Map<Long, Long> deltasPorTweet);
+
+    /**
+     * @return Likes guardados de cada tweet; 0 si todavía no tiene fila
+     */
+    Map<Long, Long> likesDe(Collection<Long> idsTweets);
+
+    /**
+     * @return IDs de los autores de los tweets y de quienes los retweetearon:
+     *         los perfiles y timelines en los que aparecen
+     */
+    Set<Long> autoresDe(Collection<Long> idsTweets);
+
+    /**
+     * Recalcula los likes de cada tweet contando la tabla likes y corrige las
+     * filas que no coinciden (o que faltan).
+     *
+     * @return Cantidad de tweets corregidos
+     */
+    int reconciliar();
+}
@@ -0,0 +1,93 @@
+package unrn.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import unrn.model.EstadisticasTweet;
+import unrn.persistence.jpa.JpaEstadisticasTweetsSpringData;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Si un tweet no tiene fila de estadísticas (publicado antes de que existiera
+ * la tabla), las sumas no tienen efecto y la reconciliación crea la fila con
+ * los valores reales.
+ *
+ * La reconciliación es un UPDATE ... FROM y un INSERT ... SELECT sobre el
+ * conteo agrupado de likes: la base de datos compara y corrige, sin traer
+ * tweets ni estadísticas a memoria.
+ */
+@Repository
+public class RepositorioEstadisticasTweetsJpa implements RepositorioEstadisticasTweets {
+
+    private static final String SUMAR_LIKES = "UPDATE tweet_stats SET likes = likes + ? WHERE id_tweet = ?";
+
+    // Likes reales de cada tweet, con 0 para los que no tienen ninguno
+    private static final String CONTEO = """
+            SELECT t.id AS id_tweet, COUNT(l.id) AS cantidad
+            FROM tweets t LEFT JOIN likes l ON l.tweet_id = t.id
+            GROUP BY t.id
+            """;
+
+    private static final String CORREGIR_LIKES = """
+            UPDATE tweet_stats s SET likes = c.cantidad
+            FROM (%s) c
+            WHERE s.id_tweet = c.id_tweet AND s.likes <> c.cantidad
+            """.formatted(CONTEO);
+
+    private static final String CREAR_FALTANTES = """
+            INSERT INTO tweet_stats (id_tweet, likes)
+            SELECT c.id_tweet, c.cantidad
+            FROM (%s) c
+            WHERE NOT EXISTS (SELECT 1 FROM tweet_stats s WHERE s.id_tweet = c.id_tweet)
+            """.formatted(CONTEO);
+
+    private final JpaEstadisticasTweetsSpringData jpa;
+    private final JdbcTemplate jdbc;
+
+    public RepositorioEstadisticasTweetsJpa(JpaEstadisticasTweetsSpringData jpa, JdbcTemplate jdbc) {
+        this.jpa = jpa;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void sumarLikes(Map<Long, Long> deltasPorTweet) {
+        if (deltasPorTweet.isEmpty()) {
+            return;
+        }
+        List<Object[]> filas = deltasPorTweet.entrySet().stream()
+                .map(delta -> new Object[] { delta.getValue(), delta.getKey() })
+                .toList();
+        jdbc.batchUpdate(SUMAR_LIKES, filas);
+    }
+
+    @Override
+    public Map<Long, Long> likesDe(Collection<Long> idsTweets) {
+        Map<Long, Long> likes = new HashMap<>();
+        for (Long idTweet : idsTweets) {
+            likes.put(idTweet, 0L);
+        }
+        if (!idsTweets.isEmpty()) {
+            for (EstadisticasTweet estadisticas : jpa.findAllById(idsTweets)) {
+                likes.put(estadisticas.idTweet(), estadisticas.likes());
+            }
+        }
+        return likes;
+    }
+
+    @Override
+    public Set<Long> autoresDe(Collection<Long> idsTweets) {
+        if (idsTweets.isEmpty()) {
+            return Set.of();
+        }
+        return Set.copyOf(jpa.findAutoresDeTweetsYRetweets(idsTweets));
+    }
+
+    @Override
+    public int reconciliar() {
+        return jdbc.update(CORREGIR_LIKES) + jdbc.update(CREAR_FALTANTES);
+    }
+}
@@ -0,0 +1,53 @@
+package unrn.persistence;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Feed unificado de tweets y retweets.
+ *
+ * La base de datos mezcla ambas tablas y resuelve el top-K en una sola
+ * consulta: el servicio recibe las entradas ya ordenadas y cortadas.
+ */
+public interface RepositorioFeed {
+
+    /**
+     * Tweets (no eliminados) y retweets publicados por los autores, ordenados
+     * por fecha descendente y desempatados por tipo (retweets primero) y por
+     * ID. El tipo desempata porque los IDs de tweets y de retweets salen de
+     * secuencias distintas.
+     *
+     * @param idsAutores IDs de los autores del feed
+     * @param limite     Máximo número de entradas a retornar
+     */
+    List<EntradaTimeline> entradasDeAutores(Collection<Long> idsAutores, int limite);
+
+    /**
+     * Página siguiente de entradasDeAutores: entradas estrictamente anteriores a
+     * (fecha, esRetweet, idOrden).
+     */
+    List<EntradaTimeline> entradasDeAutoresAnterioresA(Collection<Long> idsAutores,
+            LocalDateTime fecha,
+            boolean esRetweet,
+            Long idOrden,
+            int limite);
+
+    /**
+     * Entradas estrictamente posteriores a (fecha, esRetweet, idOrden), de la
+     * más vieja a la más nueva: las primeras "limite" novedades desde esa
+     * posición.
+     */
+    List<EntradaTimeline> entradasDeAutoresPosterioresA(Collection<Long> idsAutores,
+            LocalDateTime fecha,
+            boolean esRetweet,
+            Long idOrden,
+            int limite);
+
+    /**
+     * Cantidad de entradas estrictamente posteriores a (fecha, esRetweet,
+     * idOrden).
+     */
+    long contarEntradasDeAutoresPosterioresA(Collection<Long> idsAutores, LocalDateTime fecha, boolean esRetweet,
+            Long idOrden);
+}
@@ -0,0 +1,178 @@
+package unrn.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementación del feed con una única consulta nativa UNION ALL sobre las
+ * tablas tweets y retweets. El ORDER BY ... LIMIT sobre la unión deja que la
+ * base de datos haga el top-K en lugar de traer 2 x limite filas y ordenarlas
+ * en memoria.
+ *
+ * El orden es (fecha, tipo, id): los IDs de tweets y de retweets salen de
+ * secuencias distintas, así que un tweet y un retweet con la misma fecha y el
+ * mismo ID se desempatan por tipo (el retweet va después). El seek de cada
+ * rama sigue siendo sobre (fecha, id), que es lo que cubre su índice: el tipo
+ * del cursor se traduce en la cota de ID de cada rama (ver cotaDeId).
+ */
+@Repository
+public class RepositorioFeedJpa implements RepositorioFeed {
+
+    private static final String FEED = """
+            SELECT f.id_orden, f.es_retweet, f.sort_date
+            FROM (
+                SELECT t.id AS id_orden, 0 AS es_retweet, t.fecha_creacion AS sort_date
+                FROM tweets t
+                WHERE t.autor_id IN (:autores) AND t.eliminado = false %1$s
+                UNION ALL
+                SELECT r.id, 1, r.fecha_creacion
+                FROM retweets r
+                WHERE r.autor_id IN (:autores) %2$s
+            ) f
+            ORDER BY f.sort_date DESC, f.es_retweet DESC, f.id_orden DESC
+            LIMIT :limite
+            """;
+
+    private static final String PRIMERA_PAGINA = FEED.formatted("", "");
+
+    // Seek por keyset dentro de cada rama, así cada tabla usa su índice
+    private static final String PAGINA_SIGUIENTE = FEED.formatted(
+            "AND (t.fecha_creacion, t.id) < (:fecha, :idTweet)",
+            "AND (r.fecha_creacion, r.id) < (:fecha, :idRetweet)");
+
+    // Novedades: seek hacia adelante, de la más vieja a la más nueva
+    private static final String POSTERIORES = """
+            SELECT f.id_orden, f.es_retweet, f.sort_date
+            FROM (
+                SELECT t.id AS id_orden, 0 AS es_retweet, t.fecha_creacion AS sort_date
+                FROM tweets t
+                WHERE t.autor_id IN (:autores) AND t.eliminado = false
+                  AND (t.fecha_creacion, t.id) > (:fecha, :idTweet)
+                UNION ALL
+                SELECT r.id, 1, r.fecha_creacion
+                FROM retweets r
+                WHERE r.autor_id IN (:autores) AND (r.fecha_creacion, r.id) > (:fecha, :idRetweet)
+            ) f
+            ORDER BY f.sort_date ASC, f.es_retweet ASC, f.id_orden ASC
+            LIMIT :limite
+            """;
+
+    private static final String CANTIDAD_POSTERIORES = """
+            SELECT (SELECT COUNT(*) FROM tweets t
+                    WHERE t.autor_id IN (:autores) AND t.eliminado = false
+                      AND (t.fecha_creacion, t.id) > (:fecha, :idTweet))
+                 + (SELECT COUNT(*) FROM retweets r
+                    WHERE r.autor_id IN (:autores) AND (r.fecha_creacion, r.id) > (:fecha, :idRetweet))
+            """;
+
+    private final EntityManager entityManager;
+
+    public RepositorioFeedJpa(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<EntradaTimeline> entradasDeAutores(Collection<Long> idsAutores, int limite) {
+        if (idsAutores == null || idsAutores.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = entityManager.createNativeQuery(PRIMERA_PAGINA)
+                .setParameter("autores", idsAutores)
+                .setParameter("limite", limite);
+        return aEntradas(query.getResultList());
+    }
+
+    @Override
+    public List<EntradaTimeline> entradasDeAutoresAnterioresA(Collection<Long> idsAutores,
+            LocalDateTime fecha,
+            boolean esRetweet,
+            Long idOrden,
+            int limite) {
+        if (idsAutores == null || idsAutores.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = entityManager.createNativeQuery(PAGINA_SIGUIENTE)
+                .setParameter("autores", idsAutores)
+                .setParameter("fecha", fecha)
+                .setParameter("idTweet", cotaDeId(false, esRetweet, idOrden))
+                .setParameter("idRetweet", cotaDeId(true, esRetweet, idOrden))
+                .setParameter("limite", limite);
+        return aEntradas(query.getResultList());
+    }
+
+    @Override
+    public List<EntradaTimeline> entradasDeAutoresPosterioresA(Collection<Long> idsAutores,
+            LocalDateTime fecha,
+            boolean esRetweet,
+            Long idOrden,
+            int limite) {
+        if (idsAutores == null || idsAutores.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = entityManager.createNativeQuery(POSTERIORES)
+                .setParameter("autores", idsAutores)
+                .setParameter("fecha", fecha)
+                .setParameter("idTweet", cotaDeId(false, esRetweet, idOrden))
+                .setParameter("idRetweet", cotaDeId(true, esRetweet, idOrden))
+                .setParameter("limite", limite);
+        return aEntradas(query.getResultList());
+    }
+
+    @Override
+    public long contarEntradasDeAutoresPosterioresA(Collection<Long> idsAutores, LocalDateTime fecha, boolean esRetweet,
+            Long idOrden) {
+        if (idsAutores == null || idsAutores.isEmpty()) {
+            return 0;
+        }
+        Query query = entityManager.createNativeQuery(CANTIDAD_POSTERIORES)
+                .setParameter("autores", idsAutores)
+                .setParameter("fecha", fecha)
+                .setParameter("idTweet", cotaDeId(false, esRetweet, idOrden))
+                .setParameter("idRetweet", cotaDeId(true, esRetweet, idOrden));
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    /**
+     * Cota de ID para el seek (fecha, id) de una rama, equivalente a comparar
+     * por (fecha, tipo, id) contra el cursor:
+     * - Misma tabla que el cursor: su ID.
+     * - Rama de tweets con cursor en un retweet: a igual fecha todos los
+     * tweets van antes que el cursor (cota máxima).
+     * - Rama de retweets con cursor en un tweet: a igual fecha todos los
+     * retweets van después que el cursor (cota mínima).
+     * Vale igual para "anteriores a" y para "posteriores a".
+     */
+    private static long cotaDeId(boolean ramaDeRetweets, boolean cursorEnRetweet, Long idOrden) {
+        if (ramaDeRetweets == cursorEnRetweet) {
+            return idOrden;
+        }
+        return ramaDeRetweets ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+    private List<EntradaTimeline> aEntradas(List<?> filas) {
+        List<EntradaTimeline> entradas = new ArrayList<>(filas.size());
+        for (Object fila : filas) {
+            Object[] columnas = (Object[]) fila;
+            entradas.add(new EntradaTimeline(
+                    ((Number) columnas[0]).longValue(),
+                    ((Number) columnas[1]).intValue() == 1,
+                    aFecha(columnas[2])));
+        }
+        return entradas;
+    }
+
+    private static LocalDateTime aFecha(Object valor) {
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) valor;
+    }
+}
@@ -9,13 +9,69 @@ public interface RepositorioFollows {
 
     Follow guardar(Follow follow);
 
+    /**
+     * Guarda varios follows en un solo lote de inserts. Los que ya existen en
+     * la base de datos (p. ej. creados en paralelo) se saltean sin error.
+     *
+     * @return Los follows que se insertaron
+     */
+    List<Follow> guardarEnLote(List<Follow> follows);
+
     void eliminar(Follow follow);
 
     boolean existeFollowEntre(Usuario seguidor, Usuario seguido);
 
     List<Usuario> seguidosDe(Usuario seguidor);
 
+    /**
+     * IDs de los usuarios que sigue un usuario, sin cargar las entidades.
+     * Usado para armar la lista de autores de su timeline.
+     */
+    List<Long> idsDeSeguidosDe(Usuario seguidor);
+
+    /**
+     * IDs que sigue un usuario, ordenados y sin copiar: para recorrer el grafo
+     * de a muchos usuarios (sugerencias). No modificar el arreglo.
+     */
+    long[] idsOrdenadosDeSeguidosDe(long idSeguidor);
+
     List<Usuario> seguidoresDe(Usuario seguido);
 
+    /**
+     * IDs de los seguidores de un usuario, sin cargar las entidades.
+     * Usado para el fan-out de tweets a los timelines materializados.
+     */
+    List<Long> idsDeSeguidoresDe(Usuario seguido);
+
+    /**
+     * IDs de los seguidores de un usuario, ordenados y sin copiar: para
+     * comparar conjuntos de seguidores (usuarios similares). No modificar el
+     * arreglo.
+     */
+    long[] idsOrdenadosDeSeguidoresDe(long idSeguido);
+
+    /**
+     * Página de seguidores, más recientes primero, sin cargar entidades.
+     *
+     * @param antesDeIdFollow ID de follow de la página anterior, null para la
+     *                        primera
+     */
+    List<FollowEnLista> seguidoresDe(Usuario seguido, Long antesDeIdFollow, int limite);
+
+    /**
+     * Página de seguidos, más recientes primero, sin cargar entidades.
+     *
+     * @param antesDeIdFollow ID de follow de la página anterior, null para la
+     *                        primera
+     */
+    List<FollowEnLista> seguidosDe(Usuario seguidor, Long antesDeIdFollow, int limite);
+
+    long cantidadDeSeguidoresDe(Usuario seguido);
+
+    /**
+     * IDs de los usuarios que tienen al menos "minimo" seguidores.
+     */
+    List<Long> idsConAlMenosSeguidores(long minimo);
+
     void eliminarFollowEntre(Usuario seguidor, Usuario seguido);
 }
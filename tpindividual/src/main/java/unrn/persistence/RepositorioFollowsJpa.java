@@ -1,54 +1,229 @@
 package unrn.persistence;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import unrn.model.Follow;
 import unrn.model.Usuario;
 import unrn.persistence.jpa.JpaFollowsSpringData;
+import unrn.persistence.jpa.JpaUsuariosSpringData;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Las escrituras van a la tabla follows; las consultas (quién sigue a quién,
+ * cuántos seguidores) se responden desde un GrafoSocial en memoria. Las
+ * páginas de seguidores y seguidos se consultan a la tabla, porque se ordenan
+ * por ID de follow.
+ * - Los follows en lote se insertan por JDBC en un batch: con IDs IDENTITY
+ * Hibernate no agrupa inserts.
+ *
+ * - El grafo se construye con una consulta al arrancar (o en el primer uso, si
+ * algo lo necesita antes) y se actualiza en cada guardar o eliminar.
+ * - Dentro de una transacción el cambio se aplica enseguida, para que la
+ * misma transacción lo vea, y se deshace si la transacción se revierte.
+ */
 @Repository
 public class RepositorioFollowsJpa implements RepositorioFollows {
 
+    // Un follow que ya existe no es error (la unique uk_seguidor_seguido lo detecta)
+    private static final String INSERTAR_FOLLOW = """
+            INSERT INTO follows (seguidor_id, seguido_id, fecha_creacion) VALUES (?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
     private final JpaFollowsSpringData jpa;
+    private final JpaUsuariosSpringData jpaUsuarios;
+    private final JdbcTemplate jdbc;
+    private final ReentrantLock carga = new ReentrantLock();
+    private volatile GrafoSocial grafo;
 
-    public RepositorioFollowsJpa(JpaFollowsSpringData jpa) {
+    public RepositorioFollowsJpa(JpaFollowsSpringData jpa, JpaUsuariosSpringData jpaUsuarios, JdbcTemplate jdbc) {
         this.jpa = jpa;
+        this.jpaUsuarios = jpaUsuarios;
+        this.jdbc = jdbc;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarGrafo() {
+        grafo();
     }
 
     @Override
     public Follow guardar(Follow follow) {
-        return jpa.save(follow);
+        Follow guardado = jpa.save(follow);
+        Long idSeguidor = follow.seguidor().id();
+        Long idSeguido = follow.seguido().id();
+        grafo().agregar(idSeguidor, idSeguido);
+        alRevertir(() -> grafo().quitar(idSeguidor, idSeguido));
+        return guardado;
+    }
+
+    @Override
+    public List<Follow> guardarEnLote(List<Follow> follows) {
+        if (follows.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> filas = follows.stream()
+                .map(follow -> new Object[] { follow.seguidor().id(), follow.seguido().id(), follow.fechaCreacion() })
+                .toList();
+        int[] insertadas = jdbc.batchUpdate(INSERTAR_FOLLOW, filas);
+
+        // 0 = ya existía; con inserts reescritos el driver puede informar
+        // SUCCESS_NO_INFO (-2), que cuenta como insertado
+        List<Follow> nuevos = new ArrayList<>();
+        for (int i = 0; i < insertadas.length; i++) {
+            if (insertadas[i] != 0) {
+                nuevos.add(follows.get(i));
+            }
+        }
+        GrafoSocial actual = grafo();
+        for (Follow follow : nuevos) {
+            Long idSeguidor = follow.seguidor().id();
+            Long idSeguido = follow.seguido().id();
+            actual.agregar(idSeguidor, idSeguido);
+            alRevertir(() -> grafo().quitar(idSeguidor, idSeguido));
+        }
+        return nuevos;
     }
 
     @Override
     public void eliminar(Follow follow) {
         jpa.delete(follow);
+        quitarDelGrafo(follow.seguidor().id(), follow.seguido().id());
     }
 
     @Override
     public boolean existeFollowEntre(Usuario seguidor, Usuario seguido) {
-        return jpa.existsBySeguidorAndSeguido(seguidor, seguido);
+        return grafo().sigue(seguidor.id(), seguido.id());
     }
 
     @Override
     public List<Usuario> seguidosDe(Usuario seguidor) {
-        return jpa.findBySeguidor(seguidor).stream()
-                .map(f -> f.seguido())
-                .collect(Collectors.toList());
+        return usuarios(grafo().seguidosDe(seguidor.id()));
+    }
+
+    @Override
+    public long[] idsOrdenadosDeSeguidosDe(long idSeguidor) {
+        return grafo().seguidosDe(idSeguidor);
     }
 
     @Override
     public List<Usuario> seguidoresDe(Usuario seguido) {
-        return jpa.findBySeguido(seguido).stream()
-                .map(f -> f.seguidor())
-                .collect(Collectors.toList());
+        return usuarios(grafo().seguidoresDe(seguido.id()));
+    }
+
+    @Override
+    public List<Long> idsDeSeguidosDe(Usuario seguidor) {
+        return ids(grafo().seguidosDe(seguidor.id()));
+    }
+
+    @Override
+    public List<Long> idsDeSeguidoresDe(Usuario seguido) {
+        return ids(grafo().seguidoresDe(seguido.id()));
+    }
+
+    @Override
+    public long[] idsOrdenadosDeSeguidoresDe(long idSeguido) {
+        return grafo().seguidoresDe(idSeguido);
+    }
+
+    @Override
+    public List<FollowEnLista> seguidoresDe(Usuario seguido, Long antesDeIdFollow, int limite) {
+        return jpa.findSeguidoresAnterioresA(seguido.id(), desde(antesDeIdFollow), PageRequest.of(0, limite));
+    }
+
+    @Override
+    public List<FollowEnLista> seguidosDe(Usuario seguidor, Long antesDeIdFollow, int limite) {
+        return jpa.findSeguidosAnterioresA(seguidor.id(), desde(antesDeIdFollow), PageRequest.of(0, limite));
+    }
+
+    @Override
+    public long cantidadDeSeguidoresDe(Usuario seguido) {
+        return grafo().cantidadDeSeguidoresDe(seguido.id());
+    }
+
+    @Override
+    public List<Long> idsConAlMenosSeguidores(long minimo) {
+        return grafo().conAlMenosSeguidores(minimo);
     }
 
     @Override
     public void eliminarFollowEntre(Usuario seguidor, Usuario seguido) {
         jpa.deleteBySeguidorAndSeguido(seguidor, seguido);
+        quitarDelGrafo(seguidor.id(), seguido.id());
     }
 
+    private void quitarDelGrafo(Long idSeguidor, Long idSeguido) {
+        grafo().quitar(idSeguidor, idSeguido);
+        alRevertir(() -> grafo().agregar(idSeguidor, idSeguido));
+    }
+
+    private GrafoSocial grafo() {
+        GrafoSocial actual = grafo;
+        if (actual == null) {
+            carga.lock();
+            try {
+                if (grafo == null) {
+                    grafo = GrafoSocial.de(jpa.findParesDeFollow());
+                }
+                actual = grafo;
+            } finally {
+                carga.unlock();
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Usuarios con esos IDs en una sola consulta, en el mismo orden.
+     */
+    private List<Usuario> usuarios(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, Usuario> porId = jpaUsuarios.findAllById(ids(ids)).stream()
+                .collect(Collectors.toMap(Usuario::id, Function.identity()));
+        List<Usuario> usuarios = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Usuario usuario = porId.get(id);
+            if (usuario != null) {
+                usuarios.add(usuario);
+            }
+        }
+        return usuarios;
+    }
+
+    // Sin posición se empieza por el follow más reciente
+    private static Long desde(Long antesDeIdFollow) {
+        return antesDeIdFollow == null ? Long.MAX_VALUE : antesDeIdFollow;
+    }
+
+    private static List<Long> ids(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private static void alRevertir(Runnable deshacer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                if (estado == STATUS_ROLLED_BACK) {
+                    deshacer.run();
+                }
+            }
+        });
+    }
 }
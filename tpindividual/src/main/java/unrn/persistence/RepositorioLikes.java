@@ -14,5 +14,12 @@ public interface RepositorioLikes {
 
     List<Like> likesDeTweet(Tweet tweet);
 
+    /**
+     * Proyección de solo lectura de los likes de un tweet, para mostrarlos.
+     */
+    List<ResumenLike> resumenesDeTweet(Tweet tweet);
+
     boolean existeLikeDeUsuarioSobreTweet(Usuario usuario, Tweet tweet);
+
+    long cantidadDeLikesDe(Tweet tweet);
 }
@@ -1,25 +1,50 @@
 package unrn.persistence;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import unrn.model.Like;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
 import unrn.persistence.jpa.JpaLikesSpringData;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * ¿Ya dio like? se responde primero con un FiltroDeExistencia en memoria: la
+ * mayoría de las veces la respuesta es no, y entonces no se consulta la base.
+ */
 @Repository
 public class RepositorioLikesJpa implements RepositorioLikes {
 
     private final JpaLikesSpringData jpa;
+    private final FiltroDeExistencia filtro;
 
-    public RepositorioLikesJpa(JpaLikesSpringData jpa) {
+    public RepositorioLikesJpa(JpaLikesSpringData jpa,
+            @Value("${app.filtros.likes.capacidad:1000000}") long capacidad,
+            @Value("${app.filtros.tasa-falsos-positivos:0.01}") double tasaDeFalsosPositivos,
+            MeterRegistry registry) {
         this.jpa = jpa;
+        this.filtro = new FiltroDeExistencia("likes", capacidad, tasaDeFalsosPositivos, registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarFiltro() {
+        try (Stream<ParDeIds> pares = jpa.streamParesAutorTweet()) {
+            filtro.cargar(pares);
+        }
     }
 
     @Override
     public Like guardar(Like like) {
-        return jpa.save(like);
+        Like guardado = jpa.save(like);
+        filtro.registrar(like.autor().id(), like.tweet().id());
+        return guardado;
     }
 
     @Override
@@ -32,8 +57,18 @@ public class RepositorioLikesJpa implements RepositorioLikes {
         return jpa.findByTweet(tweet);
     }
 
+    @Override
+    public List<ResumenLike> resumenesDeTweet(Tweet tweet) {
+        return jpa.resumenesDeTweet(tweet);
+    }
+
     @Override
     public boolean existeLikeDeUsuarioSobreTweet(Usuario usuario, Tweet tweet) {
-        return jpa.existsByAutorAndTweet(usuario, tweet);
+        return filtro.existe(usuario.id(), tweet.id(), () -> jpa.existsByAutorAndTweet(usuario, tweet));
+    }
+
+    @Override
+    public long cantidadDeLikesDe(Tweet tweet) {
+        return jpa.countByTweet(tweet);
     }
 }
@@ -1,28 +1,54 @@
 package unrn.persistence;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import unrn.model.ReTweet;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
 import unrn.persistence.jpa.JpaReTweetsSpringData;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * ¿Ya lo retweeteó? se responde primero con un FiltroDeExistencia en memoria,
+ * como en RepositorioLikesJpa.
+ */
 @Repository
 public class RepositorioReTweetsJpa implements RepositorioRetweets {
 
     private final JpaReTweetsSpringData jpa;
+    private final FiltroDeExistencia filtro;
 
-    public RepositorioReTweetsJpa(JpaReTweetsSpringData jpa) {
+    public RepositorioReTweetsJpa(JpaReTweetsSpringData jpa,
+            @Value("${app.filtros.retweets.capacidad:1000000}") long capacidad,
+            @Value("${app.filtros.tasa-falsos-positivos:0.01}") double tasaDeFalsosPositivos,
+            MeterRegistry registry) {
         this.jpa = jpa;
+        this.filtro = new FiltroDeExistencia("retweets", capacidad, tasaDeFalsosPositivos, registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarFiltro() {
+        try (Stream<ParDeIds> pares = jpa.streamParesAutorTweet()) {
+            filtro.cargar(pares);
+        }
     }
 
     @Override
     public ReTweet guardar(ReTweet retweet) {
-        return jpa.save(retweet);
+        ReTweet guardado = jpa.save(retweet);
+        filtro.registrar(retweet.autor().id(), retweet.original().id());
+        return guardado;
     }
 
     @Override
@@ -41,9 +67,17 @@ public class RepositorioReTweetsJpa implements RepositorioRetweets {
                 .orElseThrow(() -> new RuntimeException("Retweet no encontrado: " + idRetweet));
     }
 
+    @Override
+    public List<ResumenRetweet> resumenesPorIds(Collection<Long> idsRetweets) {
+        if (idsRetweets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jpa.resumenesPorIds(idsRetweets);
+    }
+
     @Override
     public boolean existeRetweetDeUsuarioSobreTweet(Usuario autor, Tweet original) {
-        return jpa.existsByAutorAndOriginal(autor, original);
+        return filtro.existe(autor.id(), original.id(), () -> jpa.existsByAutorAndOriginal(autor, original));
     }
 
     @Override
@@ -13,5 +13,9 @@ public interface RepositorioRespuestas {
 
     void eliminar(Long idRespuesta);
 
-    List<RespuestaTweet> respuestasDeTweet(Tweet tweet);
+    /**
+     * Proyección de solo lectura de las respuestas a un tweet, más viejas
+     * primero.
+     */
+    List<ResumenRespuesta> respuestasDeTweet(Tweet tweet);
 }
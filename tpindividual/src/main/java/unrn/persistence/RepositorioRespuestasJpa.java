@@ -33,7 +33,7 @@ public class RepositorioRespuestasJpa implements RepositorioRespuestas {
     }
 
     @Override
-    public List<RespuestaTweet> respuestasDeTweet(Tweet tweet) {
+    public List<ResumenRespuesta> respuestasDeTweet(Tweet tweet) {
         return jpa.findByTweetRespondidoOrderByFechaCreacionAsc(tweet);
     }
 }
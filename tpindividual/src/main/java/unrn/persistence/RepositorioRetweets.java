@@ -4,6 +4,7 @@ import unrn.model.ReTweet;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RepositorioRetweets {
@@ -16,6 +17,12 @@ public interface RepositorioRetweets {
 
     ReTweet buscarPorId(Long idRetweet);
 
+    /**
+     * Proyección de solo lectura de varios retweets por ID, en una sola consulta.
+     * Los IDs inexistentes se ignoran y el orden del resultado no está garantizado.
+     */
+    List<ResumenRetweet> resumenesPorIds(Collection<Long> idsRetweets);
+
     /**
      * Verifica si ya existe un retweet de un usuario sobre un tweet específico.
      * Usado para evitar retweets duplicados.
@@ -0,0 +1,77 @@
+package unrn.persistence;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Timelines materializados por usuario (fan-out on write).
+ *
+ * Cada usuario tiene una lista acotada de entradas ordenadas de la más
+ * reciente a la más vieja. Las escrituras (publicar, retweetear) empujan la
+ * entrada a los timelines de los seguidores; la lectura es un solo corte
+ * ordenado.
+ */
+public interface RepositorioTimelines {
+
+    boolean estaMaterializado(Long idUsuario);
+
+    /**
+     * @return true si el timeline materializado contiene todas las entradas del
+     *         usuario, es decir que nunca se descartaron entradas por capacidad
+     */
+    boolean estaCompleto(Long idUsuario);
+
+    /**
+     * Reemplaza el timeline del usuario por las entradas dadas. Para
+     * construirlo desde la base de datos sin perder escrituras concurrentes,
+     * usar materializarSiFalta.
+     */
+    void materializar(Long idUsuario, List<EntradaTimeline> entradas);
+
+    /**
+     * Materializa el timeline del usuario con las entradas que devuelve cargar,
+     * si todavía no lo está. Con lecturas concurrentes se carga una sola vez:
+     * las demás esperan esa carga. Lo que se agregue, incorpore o quite
+     * mientras se carga se combina con lo cargado en vez de perderse.
+     */
+    void materializarSiFalta(Long idUsuario, Supplier<List<EntradaTimeline>> cargar);
+
+    /**
+     * Olvida el timeline del usuario: se vuelve a materializar en la próxima
+     * lectura.
+     */
+    void descartar(Long idUsuario);
+
+    /**
+     * Agrega una entrada al timeline del usuario.
+     * Si el timeline todavía no está materializado no hace nada:
+     * se construirá completo en la próxima lectura.
+     */
+    void agregar(Long idUsuario, EntradaTimeline entrada);
+
+    /**
+     * Mezcla un conjunto de entradas en el timeline del usuario (backfill al
+     * empezar a seguir a alguien). No hace nada si no está materializado.
+     */
+    void incorporar(Long idUsuario, List<EntradaTimeline> entradas);
+
+    /**
+     * Quita del timeline del usuario estas entradas (trim al dejar de seguir a
+     * su autor). Las que no estén se ignoran.
+     */
+    void quitar(Long idUsuario, Collection<EntradaTimeline> entradas);
+
+    /**
+     * @return Las primeras entradas del timeline, más recientes primero
+     */
+    List<EntradaTimeline> leer(Long idUsuario, int limite);
+
+    /**
+     * Página siguiente de leer: entradas estrictamente anteriores a
+     * (fecha, esRetweet, idOrden) en el orden del timeline.
+     */
+    List<EntradaTimeline> leerAnterioresA(Long idUsuario, LocalDateTime fecha, boolean esRetweet, Long idOrden,
+            int limite);
+}
@@ -0,0 +1,442 @@
+package unrn.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Timelines materializados en memoria del proceso.
+ *
+ * Cada timeline guarda como máximo "capacidad" entradas; las más viejas se
+ * descartan. Si el proceso se reinicia, los timelines se reconstruyen desde la
+ * base de datos en la primera lectura de cada usuario.
+ *
+ * Para que entren muchos usuarios, cada timeline es un buffer circular de
+ * longs primitivos (16 bytes por entrada, sin objetos):
+ * - fechas: la fecha en nanosegundos desde la época, en UTC.
+ * - ids: el ID del tweet o retweet en los bits 0 a 61, la marca de retweet en
+ * el bit 62 (MARCA_RETWEET) y el bit 63 en cero, así el long queda positivo.
+ * El ID no se desplaza.
+ * Con la marca en un bit alto, comparar los IDs empaquetados ordena por
+ * (tipo, id), igual que EntradaTimeline.MAS_RECIENTE_PRIMERO.
+ * Los arreglos crecen de a poco hasta la capacidad, así un usuario con pocas
+ * entradas ocupa unos cientos de bytes.
+ *
+ * La fecha no se empaqueta junto con el ID en un solo long: no entraría con
+ * más precisión que el segundo, y el cursor tiene que ordenar igual que la
+ * consulta a la base de datos con la que se completan las páginas (fecha
+ * completa, tipo e ID).
+ *
+ * La primera lectura registra el timeline vacío antes de consultar la base de
+ * datos: lo que se difunde mientras tanto queda en él, y al terminar la carga
+ * se mezcla con lo consultado (sin repetidas). Las lecturas concurrentes
+ * esperan esa misma carga en un CompletableFuture, sin bloquear un monitor.
+ */
+@Repository
+public class RepositorioTimelinesEnMemoria implements RepositorioTimelines {
+
+    private static final int CAPACIDAD_INICIAL = 8;
+    // Disposición de las entradas: ver el comentario de la clase
+    private static final long MARCA_RETWEET = 1L << 62;
+
+    private final Map<Long, TimelineDeUsuario> timelines = new ConcurrentHashMap<>();
+    private final int capacidad;
+
+    public RepositorioTimelinesEnMemoria(@Value("${app.timeline.capacidad:800}") int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    @Override
+    public boolean estaMaterializado(Long idUsuario) {
+        return timelines.containsKey(idUsuario);
+    }
+
+    @Override
+    public boolean estaCompleto(Long idUsuario) {
+        TimelineDeUsuario timeline = timelines.get(idUsuario);
+        return timeline != null && timeline.estaCompleto();
+    }
+
+    @Override
+    public void materializar(Long idUsuario, List<EntradaTimeline> entradas) {
+        TimelineDeUsuario timeline = new TimelineDeUsuario();
+        timeline.completarCarga(entradas);
+        timelines.put(idUsuario, timeline);
+    }
+
+    @Override
+    public void materializarSiFalta(Long idUsuario, Supplier<List<EntradaTimeline>> cargar) {
+        while (true) {
+            TimelineDeUsuario existente = timelines.get(idUsuario);
+            if (existente != null) {
+                if (existente.esperarCarga()) {
+                    return;
+                }
+                // La carga falló y el timeline se retiró: se vuelve a intentar
+                continue;
+            }
+            TimelineDeUsuario nuevo = new TimelineDeUsuario();
+            if (timelines.putIfAbsent(idUsuario, nuevo) != null) {
+                continue;
+            }
+            try {
+                nuevo.completarCarga(cargar.get());
+            } catch (RuntimeException e) {
+                timelines.remove(idUsuario, nuevo);
+                nuevo.fallarCarga(e);
+                throw e;
+            }
+            return;
+        }
+    }
+
+    @Override
+    public void descartar(Long idUsuario) {
+        timelines.remove(idUsuario);
+    }
+
+    @Override
+    public void agregar(Long idUsuario, EntradaTimeline entrada) {
+        TimelineDeUsuario timeline = timelines.get(idUsuario);
+        if (timeline != null) {
+            timeline.agregar(entrada);
+        }
+    }
+
+    @Override
+    public void incorporar(Long idUsuario, List<EntradaTimeline> entradas) {
+        TimelineDeUsuario timeline = timelines.get(idUsuario);
+        if (timeline != null) {
+            timeline.incorporar(entradas);
+        }
+    }
+
+    @Override
+    public void quitar(Long idUsuario, Collection<EntradaTimeline> entradas) {
+        TimelineDeUsuario timeline = timelines.get(idUsuario);
+        if (timeline != null) {
+            timeline.quitar(entradas);
+        }
+    }
+
+    @Override
+    public List<EntradaTimeline> leer(Long idUsuario, int limite) {
+        TimelineDeUsuario timeline = timelines.get(idUsuario);
+        if (timeline == null) {
+            return Collections.emptyList();
+        }
+        return timeline.leer(limite);
+    }
+
+    @Override
+    public List<EntradaTimeline> leerAnterioresA(Long idUsuario, LocalDateTime fecha, boolean esRetweet,
+            Long idOrden, int limite) {
+        TimelineDeUsuario timeline = timelines.get(idUsuario);
+        if (timeline == null) {
+            return Collections.emptyList();
+        }
+        return timeline.leerAnterioresA(nanos(fecha), empaquetar(esRetweet, idOrden), limite);
+    }
+
+    // ----------- Empaquetado de entradas -----------
+
+    static long nanos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + fecha.getNano();
+    }
+
+    static LocalDateTime fecha(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    static long empaquetar(EntradaTimeline entrada) {
+        return empaquetar(entrada.esRetweet(), entrada.id());
+    }
+
+    static long empaquetar(boolean esRetweet, long id) {
+        return esRetweet ? id | MARCA_RETWEET : id;
+    }
+
+    static EntradaTimeline desempaquetar(long nanos, long id) {
+        return new EntradaTimeline(id & ~MARCA_RETWEET, (id & MARCA_RETWEET) != 0, fecha(nanos));
+    }
+
+    /**
+     * Buffer circular ordenado de la entrada más vieja (posición lógica 0) a
+     * la más reciente, acotado a la capacidad.
+     */
+    private class TimelineDeUsuario {
+
+        private long[] fechas = new long[Math.min(CAPACIDAD_INICIAL, capacidad)];
+        private long[] ids = new long[fechas.length];
+        private int inicio;
+        private int tamanio;
+        private boolean completo = true;
+
+        // Hasta que termina la carga inicial: las entradas quitadas, para no
+        // volver a agregarlas desde lo cargado
+        private final CompletableFuture<Void> carga = new CompletableFuture<>();
+        private List<EntradaTimeline> quitadasDuranteLaCarga = new ArrayList<>();
+
+        synchronized void completarCarga(List<EntradaTimeline> cargadas) {
+            List<EntradaTimeline> vigentes = cargadas;
+            if (!quitadasDuranteLaCarga.isEmpty()) {
+                vigentes = new ArrayList<>(cargadas);
+                vigentes.removeAll(quitadasDuranteLaCarga);
+            }
+            incorporar(vigentes);
+            quitadasDuranteLaCarga = null;
+            carga.complete(null);
+        }
+
+        void fallarCarga(RuntimeException causa) {
+            carga.completeExceptionally(causa);
+        }
+
+        /**
+         * @return false si la carga falló
+         */
+        boolean esperarCarga() {
+            try {
+                carga.join();
+                return true;
+            } catch (CompletionException | CancellationException e) {
+                return false;
+            }
+        }
+
+        synchronized void agregar(EntradaTimeline entrada) {
+            long fecha = nanos(entrada.fecha());
+            long id = empaquetar(entrada);
+            int posicion = posicionDesde(fecha, id);
+            if (buscar(posicion, fecha, id) >= 0) {
+                // Ya llegó por la construcción inicial desde la base de datos
+                return;
+            }
+
+            if (tamanio == capacidad) {
+                completo = false;
+                if (posicion == 0) {
+                    // Más vieja que todo lo guardado: no entra
+                    return;
+                }
+                // Descartar la más vieja
+                inicio = (inicio + 1) % fechas.length;
+                tamanio--;
+                posicion--;
+            }
+            if (tamanio == fechas.length) {
+                crecer();
+            }
+
+            // Lo habitual es agregar al final (la más reciente): no hay corrimiento
+            for (int i = tamanio; i > posicion; i--) {
+                fechas[fisica(i)] = fechas[fisica(i - 1)];
+                ids[fisica(i)] = ids[fisica(i - 1)];
+            }
+            fechas[fisica(posicion)] = fecha;
+            ids[fisica(posicion)] = id;
+            tamanio++;
+        }
+
+        synchronized void incorporar(List<EntradaTimeline> nuevas) {
+            if (nuevas.size() >= capacidad) {
+                // Lo que viene de la base de datos ya fue cortado a la capacidad
+                completo = false;
+            }
+
+            // Mezcla de las dos secuencias desde la más reciente, sin repetidas
+            List<EntradaTimeline> ordenadas = ordenadas(nuevas);
+            long[] nuevasFechas = new long[Math.min(capacidad, tamanio + ordenadas.size())];
+            long[] nuevosIds = new long[nuevasFechas.length];
+            int propia = tamanio - 1;
+            int otra = 0;
+            int escritas = 0;
+            while (propia >= 0 || otra < ordenadas.size()) {
+                EntradaTimeline candidata = otra < ordenadas.size() ? ordenadas.get(otra) : null;
+                long fecha;
+                long id;
+                if (candidata == null || (propia >= 0 && compara(fechas[fisica(propia)], ids[fisica(propia)],
+                        nanos(candidata.fecha()), empaquetar(candidata)) >= 0)) {
+                    fecha = fechas[fisica(propia)];
+                    id = ids[fisica(propia)];
+                    propia--;
+                } else {
+                    fecha = nanos(candidata.fecha());
+                    id = empaquetar(candidata);
+                    otra++;
+                }
+                if (yaEscrita(nuevasFechas, nuevosIds, escritas, fecha, id)) {
+                    continue;
+                }
+                if (escritas == nuevasFechas.length) {
+                    completo = false;
+                    break;
+                }
+                nuevasFechas[escritas] = fecha;
+                nuevosIds[escritas] = id;
+                escritas++;
+            }
+
+            // Se guardan de la más vieja a la más reciente
+            fechas = new long[Math.max(escritas, Math.min(CAPACIDAD_INICIAL, capacidad))];
+            ids = new long[fechas.length];
+            for (int i = 0; i < escritas; i++) {
+                fechas[i] = nuevasFechas[escritas - 1 - i];
+                ids[i] = nuevosIds[escritas - 1 - i];
+            }
+            inicio = 0;
+            tamanio = escritas;
+        }
+
+        /**
+         * Quita las entradas en el lugar, sin reconstruir el timeline: se
+         * marcan con búsqueda binaria y se compacta el buffer una sola vez.
+         */
+        synchronized void quitar(Collection<EntradaTimeline> entradas) {
+            if (quitadasDuranteLaCarga != null) {
+                quitadasDuranteLaCarga.addAll(entradas);
+            }
+            boolean[] quitadas = new boolean[tamanio];
+            int cantidad = 0;
+            for (EntradaTimeline entrada : entradas) {
+                long fecha = nanos(entrada.fecha());
+                long id = empaquetar(entrada);
+                int posicion = buscar(posicionDesde(fecha, id), fecha, id);
+                if (posicion >= 0 && !quitadas[posicion]) {
+                    quitadas[posicion] = true;
+                    cantidad++;
+                }
+            }
+            if (cantidad == 0) {
+                return;
+            }
+
+            // Cada entrada se corre a una posición lógica menor o igual
+            int escritas = 0;
+            for (int i = 0; i < tamanio; i++) {
+                if (!quitadas[i]) {
+                    fechas[fisica(escritas)] = fechas[fisica(i)];
+                    ids[fisica(escritas)] = ids[fisica(i)];
+                    escritas++;
+                }
+            }
+            tamanio = escritas;
+        }
+
+        synchronized boolean estaCompleto() {
+            return completo;
+        }
+
+        synchronized List<EntradaTimeline> leer(int limite) {
+            return leerDesde(tamanio, limite);
+        }
+
+        synchronized List<EntradaTimeline> leerAnterioresA(long fecha, long id, int limite) {
+            return leerDesde(posicionDesde(fecha, id), limite);
+        }
+
+        /**
+         * Entradas anteriores a la posición lógica dada, de la más reciente a
+         * la más vieja.
+         */
+        private List<EntradaTimeline> leerDesde(int hasta, int limite) {
+            int cantidad = Math.min(limite, hasta);
+            List<EntradaTimeline> resultado = new ArrayList<>(cantidad);
+            for (int i = hasta - 1; i >= hasta - cantidad; i--) {
+                resultado.add(desempaquetar(fechas[fisica(i)], ids[fisica(i)]));
+            }
+            return resultado;
+        }
+
+        /**
+         * Primera posición lógica cuya entrada no es anterior a (fecha, id
+         * empaquetado). Búsqueda binaria sobre el buffer circular.
+         */
+        private int posicionDesde(long fecha, long id) {
+            int desde = 0;
+            int hasta = tamanio;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (compara(fechas[fisica(medio)], ids[fisica(medio)], fecha, id) < 0) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return desde;
+        }
+
+        /**
+         * @return Posición lógica de la entrada, o -1 si no está
+         */
+        private int buscar(int posicion, long fecha, long id) {
+            // Las repetidas quedan juntas a partir de la posición de búsqueda
+            for (int i = posicion; i < tamanio && fechas[fisica(i)] == fecha; i++) {
+                if (ids[fisica(i)] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean yaEscrita(long[] fechasEscritas, long[] idsEscritos, int escritas, long fecha, long id) {
+            for (int i = escritas - 1; i >= 0 && fechasEscritas[i] == fecha; i--) {
+                if (idsEscritos[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int fisica(int logica) {
+            return (inicio + logica) % fechas.length;
+        }
+
+        private void crecer() {
+            int largo = Math.min(capacidad, fechas.length * 2);
+            long[] nuevasFechas = new long[largo];
+            long[] nuevosIds = new long[largo];
+            for (int i = 0; i < tamanio; i++) {
+                nuevasFechas[i] = fechas[fisica(i)];
+                nuevosIds[i] = ids[fisica(i)];
+            }
+            fechas = nuevasFechas;
+            ids = nuevosIds;
+            inicio = 0;
+        }
+
+        private List<EntradaTimeline> ordenadas(List<EntradaTimeline> nuevas) {
+            for (int i = 1; i < nuevas.size(); i++) {
+                if (EntradaTimeline.MAS_RECIENTE_PRIMERO.compare(nuevas.get(i - 1), nuevas.get(i)) > 0) {
+                    List<EntradaTimeline> copia = new ArrayList<>(nuevas);
+                    copia.sort(EntradaTimeline.MAS_RECIENTE_PRIMERO);
+                    return copia;
+                }
+            }
+            // Lo habitual: ya vienen ordenadas desde la base de datos
+            return nuevas;
+        }
+    }
+
+    /**
+     * Compara por (fecha, tipo, id) ascendente, como EntradaTimeline pero
+     * sobre valores primitivos.
+     */
+    private static int compara(long fecha, long id, long otraFecha, long otroId) {
+        int porFecha = Long.compare(fecha, otraFecha);
+        return porFecha != 0 ? porFecha : Long.compare(id, otroId);
+    }
+}
@@ -1,5 +1,6 @@
 package unrn.persistence;
 
+import java.util.Collection;
 import java.util.List;
 
 import unrn.model.Tweet;
@@ -8,6 +9,12 @@ import unrn.model.Usuario;
 public interface RepositorioTweets {
     Tweet buscarPorId(Long idTweet);
 
+    /**
+     * Proyección de solo lectura de varios tweets por ID, en una sola consulta.
+     * Los IDs inexistentes se ignoran y el orden del resultado no está garantizado.
+     */
+    List<ResumenTweet> resumenesPorIds(Collection<Long> idsTweets);
+
     Tweet guardar(Tweet tweet);
 
     void eliminar(Long idTweet);
@@ -31,9 +38,10 @@ public interface RepositorioTweets {
      * Ordenados por fecha de creación descendente (más reciente primero).
      * 
      * @param limite Máximo número de tweets a retornar
-     * @return Lista de tweets ordenados por fecha descendente
+     * @return Proyección de solo lectura de los tweets, ordenados por fecha
+     *         descendente
      */
-    List<Tweet> buscarTodosTweets(int limite);
+    List<ResumenTweet> buscarTodosTweets(int limite);
 
     /**
      * Marca como eliminados todos los tweets de un usuario.
@@ -3,10 +3,13 @@ package unrn.persistence;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import unrn.model.EstadisticasTweet;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
+import unrn.persistence.jpa.JpaEstadisticasTweetsSpringData;
 import unrn.persistence.jpa.JpaTweetsSpringData;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -14,20 +17,36 @@ import java.util.List;
 public class RepositorioTweetsJpa implements RepositorioTweets {
 
     private final JpaTweetsSpringData jpa;
+    private final JpaEstadisticasTweetsSpringData jpaEstadisticas;
 
-    public RepositorioTweetsJpa(JpaTweetsSpringData jpa) {
+    public RepositorioTweetsJpa(JpaTweetsSpringData jpa, JpaEstadisticasTweetsSpringData jpaEstadisticas) {
         this.jpa = jpa;
+        this.jpaEstadisticas = jpaEstadisticas;
     }
 
     @Override
     public Tweet buscarPorId(Long idTweet) {
-        return jpa.findById(idTweet)
+        return jpa.buscarConAutor(idTweet)
                 .orElseThrow(() -> new RuntimeException("Tweet no encontrado: " + idTweet));
     }
 
+    @Override
+    public List<ResumenTweet> resumenesPorIds(Collection<Long> idsTweets) {
+        if (idsTweets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jpa.resumenesPorIds(idsTweets);
+    }
+
     @Override
     public Tweet guardar(Tweet tweet) {
-        return jpa.save(tweet);
+        boolean nuevo = tweet.id() == null;
+        Tweet guardado = jpa.save(tweet);
+        if (nuevo) {
+            // Un tweet nuevo arranca con sus estadísticas en cero
+            jpaEstadisticas.save(new EstadisticasTweet(guardado.id()));
+        }
+        return guardado;
     }
 
     @Override
@@ -59,7 +78,7 @@ public class RepositorioTweetsJpa implements RepositorioTweets {
     }
 
     @Override
-    public List<Tweet> buscarTodosTweets(int limite) {
+    public List<ResumenTweet> buscarTodosTweets(int limite) {
         // Buscar TODOS los tweets del sistema sin filtrar por autor
         // Ordenados por fecha descendente, limitados
         Pageable pageable = PageRequest.of(0, limite);
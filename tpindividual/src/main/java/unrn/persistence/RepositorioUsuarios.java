@@ -2,12 +2,19 @@ package unrn.persistence;
 
 import unrn.model.Usuario;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RepositorioUsuarios {
 
     Usuario buscarPorId(Long idUsuario);
 
+    /**
+     * Usuarios con esos IDs en una sola consulta, en el mismo orden. Los IDs
+     * inexistentes se ignoran.
+     */
+    List<Usuario> buscarPorIds(Collection<Long> idsUsuarios);
+
     Usuario guardar(Usuario usuario);
 
     boolean existePorNombreUsuario(String nombreUsuario);
@@ -2,18 +2,27 @@ package unrn.persistence;
 
 import org.springframework.stereotype.Repository;
 import unrn.api.exception.UsuarioNoEncontradoException;
+import unrn.model.ContadoresUsuario;
 import unrn.model.Usuario;
+import unrn.persistence.jpa.JpaContadoresSpringData;
 import unrn.persistence.jpa.JpaUsuariosSpringData;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public class RepositorioUsuariosJpa implements RepositorioUsuarios {
 
     private final JpaUsuariosSpringData jpa;
+    private final JpaContadoresSpringData jpaContadores;
 
-    public RepositorioUsuariosJpa(JpaUsuariosSpringData jpa) {
+    public RepositorioUsuariosJpa(JpaUsuariosSpringData jpa, JpaContadoresSpringData jpaContadores) {
         this.jpa = jpa;
+        this.jpaContadores = jpaContadores;
     }
 
     @Override
@@ -22,9 +31,32 @@ public class RepositorioUsuariosJpa implements RepositorioUsuarios {
                 .orElseThrow(() -> new UsuarioNoEncontradoException("Usuario no encontrado: " + idUsuario));
     }
 
+    @Override
+    public List<Usuario> buscarPorIds(Collection<Long> idsUsuarios) {
+        if (idsUsuarios.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Usuario> porId = jpa.findAllById(idsUsuarios).stream()
+                .collect(Collectors.toMap(Usuario::id, Function.identity()));
+        List<Usuario> usuarios = new ArrayList<>(idsUsuarios.size());
+        for (Long idUsuario : idsUsuarios) {
+            Usuario usuario = porId.get(idUsuario);
+            if (usuario != null) {
+                usuarios.add(usuario);
+            }
+        }
+        return usuarios;
+    }
+
     @Override
     public Usuario guardar(Usuario usuario) {
-        return jpa.save(usuario);
+        boolean nuevo = usuario.id() == null;
+        Usuario guardado = jpa.save(usuario);
+        if (nuevo) {
+            // Un usuario nuevo arranca con sus contadores en cero
+            jpaContadores.save(new ContadoresUsuario(guardado.id()));
+        }
+        return guardado;
     }
 
     @Override
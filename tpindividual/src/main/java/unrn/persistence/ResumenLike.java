@@ -0,0 +1,12 @@
+package unrn.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un like con el nombre de su autor.
+ */
+public record ResumenLike(
+        Long id,
+        String autor,
+        LocalDateTime fechaCreacion) {
+}
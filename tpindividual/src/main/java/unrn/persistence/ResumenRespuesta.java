@@ -0,0 +1,14 @@
+package unrn.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de una respuesta con el nombre de su autor.
+ */
+public record ResumenRespuesta(
+        Long id,
+        String autor,
+        String contenido,
+        LocalDateTime fechaCreacion,
+        boolean eliminado) {
+}
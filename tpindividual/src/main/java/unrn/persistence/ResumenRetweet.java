@@ -0,0 +1,11 @@
+package unrn.persistence;
+
+/**
+ * Proyección de solo lectura de un retweet: el tweet original se referencia
+ * por ID y se hidrata aparte.
+ */
+public record ResumenRetweet(
+        Long id,
+        Long idTweetOriginal,
+        String autor) {
+}
@@ -0,0 +1,16 @@
+package unrn.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un tweet con el nombre de su autor, armada
+ * directamente por la consulta (sin cargar entidades ni proxies).
+ */
+public record ResumenTweet(
+        Long id,
+        Long idAutor,
+        String autor,
+        String contenido,
+        LocalDateTime fechaCreacion,
+        boolean eliminado) {
+}
@@ -0,0 +1,84 @@
+package unrn.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import unrn.model.ContadoresUsuario;
+import unrn.persistence.ConteoPorUsuario;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface JpaContadoresSpringData extends JpaRepository<ContadoresUsuario, Long> {
+
+    /**
+     * Suma los deltas en la base de datos (UPDATE ... SET x = x + delta), sin
+     * leer la fila: dos transacciones concurrentes no se pisan.
+     *
+     * @return Filas actualizadas (0 si el usuario todavía no tiene contadores)
+     */
+    @Modifying
+    @Query("""
+            UPDATE ContadoresUsuario c SET
+                c.seguidores = c.seguidores + :seguidores,
+                c.seguidos = c.seguidos + :seguidos,
+                c.tweets = c.tweets + :tweets,
+                c.likesRecibidos = c.likesRecibidos + :likesRecibidos,
+                c.retweetsRecibidos = c.retweetsRecibidos + :retweetsRecibidos
+            WHERE c.idUsuario = :idUsuario
+            """)
+    int sumar(@Param("idUsuario") Long idUsuario,
+            @Param("seguidores") long seguidores,
+            @Param("seguidos") long seguidos,
+            @Param("tweets") long tweets,
+            @Param("likesRecibidos") long likesRecibidos,
+            @Param("retweetsRecibidos") long retweetsRecibidos);
+
+    @Modifying
+    @Query("UPDATE ContadoresUsuario c SET c.seguidores = c.seguidores + :delta WHERE c.idUsuario IN :idsUsuarios")
+    int sumarSeguidores(@Param("idsUsuarios") Collection<Long> idsUsuarios, @Param("delta") long delta);
+
+    // Un usuario desactivado no tiene tweets visibles, ni likes o retweets sobre ellos
+    @Modifying
+    @Query("""
+            UPDATE ContadoresUsuario c SET c.tweets = 0, c.likesRecibidos = 0, c.retweetsRecibidos = 0
+            WHERE c.idUsuario = :idUsuario
+            """)
+    int anularPublicaciones(@Param("idUsuario") Long idUsuario);
+
+    // ----------- Conteos reales, para la reconciliación -----------
+
+    @Query("SELECT u.id FROM Usuario u")
+    List<Long> findIdsDeUsuarios();
+
+    @Query("""
+            SELECT new unrn.persistence.ConteoPorUsuario(f.seguido.id, COUNT(f))
+            FROM Follow f GROUP BY f.seguido.id
+            """)
+    List<ConteoPorUsuario> contarSeguidores();
+
+    @Query("""
+            SELECT new unrn.persistence.ConteoPorUsuario(f.seguidor.id, COUNT(f))
+            FROM Follow f GROUP BY f.seguidor.id
+            """)
+    List<ConteoPorUsuario> contarSeguidos();
+
+    @Query("""
+            SELECT new unrn.persistence.ConteoPorUsuario(t.autor.id, COUNT(t))
+            FROM Tweet t WHERE t.eliminado = false GROUP BY t.autor.id
+            """)
+    List<ConteoPorUsuario> contarTweets();
+
+    @Query("""
+            SELECT new unrn.persistence.ConteoPorUsuario(t.autor.id, COUNT(l))
+            FROM Like l JOIN l.tweet t WHERE t.eliminado = false GROUP BY t.autor.id
+            """)
+    List<ConteoPorUsuario> contarLikesRecibidos();
+
+    @Query("""
+            SELECT new unrn.persistence.ConteoPorUsuario(t.autor.id, COUNT(r))
+            FROM ReTweet r JOIN r.original t WHERE t.eliminado = false GROUP BY t.autor.id
+            """)
+    List<ConteoPorUsuario> contarRetweetsRecibidos();
+}
@@ -0,0 +1,21 @@
+package unrn.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import unrn.model.EstadisticasTweet;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface JpaEstadisticasTweetsSpringData extends JpaRepository<EstadisticasTweet, Long> {
+
+    // Quienes muestran estos tweets en su perfil: sus autores y quienes los
+    // retweetearon
+    @Query(value = """
+            SELECT autor_id FROM tweets WHERE id IN (:ids)
+            UNION
+            SELECT autor_id FROM retweets WHERE tweet_original_id IN (:ids)
+            """, nativeQuery = true)
+    List<Long> findAutoresDeTweetsYRetweets(@Param("ids") Collection<Long> ids);
+}
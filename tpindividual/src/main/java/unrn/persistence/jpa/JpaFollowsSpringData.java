@@ -1,20 +1,54 @@
 package unrn.persistence.jpa;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import unrn.model.Follow;
 import unrn.model.Usuario;
+import unrn.persistence.FollowEnLista;
+import unrn.persistence.ParDeFollow;
 
 import java.util.List;
 
+/**
+ * Escrituras, la carga del GrafoSocial y las páginas de seguidores y
+ * seguidos: el resto de las consultas de follows se responden desde memoria
+ * (ver RepositorioFollowsJpa).
+ */
 public interface JpaFollowsSpringData extends JpaRepository<Follow, Long> {
 
-    boolean existsBySeguidorAndSeguido(Usuario seguidor, Usuario seguido);
-
     void deleteBySeguidorAndSeguido(Usuario seguidor, Usuario seguido);
 
-    // Usuarios que sigue X (sus "seguidos")
-    List<Follow> findBySeguidor(Usuario seguidor);
+    // Todos los follows como pares de IDs, para construir el GrafoSocial
+    @Query("SELECT new unrn.persistence.ParDeFollow(f.seguidor.id, f.seguido.id) FROM Follow f")
+    List<ParDeFollow> findParesDeFollow();
+
+    /**
+     * Página de seguidores por keyset: follows con ID menor a "antesDe", más
+     * recientes primero. Solo IDs; usa el índice (seguido_id, id).
+     */
+    @Query("""
+            SELECT new unrn.persistence.FollowEnLista(f.id, f.seguidor.id)
+            FROM Follow f
+            WHERE f.seguido.id = :idSeguido AND f.id < :antesDe
+            ORDER BY f.id DESC
+            """)
+    List<FollowEnLista> findSeguidoresAnterioresA(@Param("idSeguido") Long idSeguido,
+            @Param("antesDe") Long antesDe,
+            Pageable pageable);
 
-    // Usuarios que siguen a X (sus "seguidores")
-    List<Follow> findBySeguido(Usuario seguido);
+    /**
+     * Página de seguidos por keyset, como findSeguidoresAnterioresA. Usa el
+     * índice (seguidor_id, id).
+     */
+    @Query("""
+            SELECT new unrn.persistence.FollowEnLista(f.id, f.seguido.id)
+            FROM Follow f
+            WHERE f.seguidor.id = :idSeguidor AND f.id < :antesDe
+            ORDER BY f.id DESC
+            """)
+    List<FollowEnLista> findSeguidosAnterioresA(@Param("idSeguidor") Long idSeguidor,
+            @Param("antesDe") Long antesDe,
+            Pageable pageable);
 }
@@ -1,17 +1,48 @@
 package unrn.persistence.jpa;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import unrn.model.Like;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
+import unrn.persistence.ParDeIds;
+import unrn.persistence.ResumenLike;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface JpaLikesSpringData extends JpaRepository<Like, Long> {
 
+    // Con el autor de cada like cargado en la misma consulta
+    @EntityGraph(attributePaths = "autor")
     List<Like> findByTweet(Tweet tweet);
 
+    /**
+     * Proyección de solo lectura de los likes de un tweet, con el nombre del
+     * autor resuelto en la misma consulta.
+     */
+    @Query("""
+            SELECT new unrn.persistence.ResumenLike(l.id, a.nombreUsuario, l.fechaCreacion)
+            FROM Like l JOIN l.autor a
+            WHERE l.tweet = :tweet
+            """)
+    List<ResumenLike> resumenesDeTweet(@Param("tweet") Tweet tweet);
+
     boolean existsByAutorAndTweet(Usuario autor, Tweet tweet);
 
     void deleteByAutorAndTweet(Usuario autor, Tweet tweet);
+
+    long countByTweet(Tweet tweet);
+
+    /**
+     * Todos los pares (autor, tweet) en stream, para cargar el filtro de
+     * existencia. Requiere una transacción abierta mientras se recorre.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new unrn.persistence.ParDeIds(l.autor.id, l.tweet.id) FROM Like l")
+    Stream<ParDeIds> streamParesAutorTweet();
 }
@@ -1,19 +1,28 @@
 package unrn.persistence.jpa;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import unrn.model.ReTweet;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
+import unrn.persistence.ParDeIds;
+import unrn.persistence.ResumenRetweet;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface JpaReTweetsSpringData extends JpaRepository<ReTweet, Long> {
 
+    @EntityGraph(attributePaths = "original")
     List<ReTweet> findByAutorOrderByFechaCreacionDesc(Usuario autor);
 
+    @EntityGraph(attributePaths = "autor")
     List<ReTweet> findByOriginal(Tweet original);
 
     /**
@@ -26,6 +35,26 @@ public interface JpaReTweetsSpringData extends JpaRepository<ReTweet, Long> {
      * descendente.
      * Similar a buscarTweetsDeAutores pero para retweets.
      */
-    @Query("SELECT r FROM ReTweet r WHERE r.autor IN :autores ORDER BY r.fechaCreacion DESC")
+    @EntityGraph(attributePaths = { "autor", "original", "original.autor" })
+    @Query("SELECT r FROM ReTweet r WHERE r.autor IN :autores ORDER BY r.fechaCreacion DESC, r.id DESC")
     List<ReTweet> findByAutorInOrderByFechaCreacionDesc(@Param("autores") List<Usuario> autores, Pageable pageable);
+
+    /**
+     * Proyección de solo lectura de los retweets con esos IDs, con el nombre
+     * de quien retweeteó resuelto en la misma consulta.
+     */
+    @Query("""
+            SELECT new unrn.persistence.ResumenRetweet(r.id, r.original.id, a.nombreUsuario)
+            FROM ReTweet r JOIN r.autor a
+            WHERE r.id IN :ids
+            """)
+    List<ResumenRetweet> resumenesPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Todos los pares (autor, tweet) en stream, para cargar el filtro de
+     * existencia. Requiere una transacción abierta mientras se recorre.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new unrn.persistence.ParDeIds(r.autor.id, r.original.id) FROM ReTweet r")
+    Stream<ParDeIds> streamParesAutorTweet();
 }
@@ -1,13 +1,23 @@
 package unrn.persistence.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import unrn.model.RespuestaTweet;
 import unrn.model.Tweet;
+import unrn.persistence.ResumenRespuesta;
 
 import java.util.List;
 
 public interface JpaRespuestasSpringData extends JpaRepository<RespuestaTweet, Long> {
 
-    // Todas las respuestas a un tweet, más nuevas primero
-    List<RespuestaTweet> findByTweetRespondidoOrderByFechaCreacionAsc(Tweet tweetRespondido);
+    // Todas las respuestas a un tweet, más viejas primero (proyección de solo lectura)
+    @Query("""
+            SELECT new unrn.persistence.ResumenRespuesta(r.id, a.nombreUsuario, r.contenido, r.fechaCreacion, r.eliminado)
+            FROM RespuestaTweet r JOIN r.autor a
+            WHERE r.tweetRespondido = :tweetRespondido
+            ORDER BY r.fechaCreacion ASC, r.id ASC
+            """)
+    List<ResumenRespuesta> findByTweetRespondidoOrderByFechaCreacionAsc(
+            @Param("tweetRespondido") Tweet tweetRespondido);
 }
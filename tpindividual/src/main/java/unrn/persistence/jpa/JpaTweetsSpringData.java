@@ -7,17 +7,27 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
+import unrn.persistence.ResumenTweet;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface JpaTweetsSpringData extends JpaRepository<Tweet, Long> {
 
+    /**
+     * Un tweet con su autor cargado: sin open-in-view, los controllers arman la
+     * respuesta fuera de la transacción.
+     */
+    @Query("SELECT t FROM Tweet t JOIN FETCH t.autor WHERE t.id = :id")
+    Optional<Tweet> buscarConAutor(@Param("id") Long id);
+
     /**
      * Busca tweets de un usuario que NO estén eliminados, ordenados por fecha
      * descendente.
      * Mantiene invariante: solo mostrar tweets activos.
      */
-    @Query("SELECT t FROM Tweet t WHERE t.autor = :autor AND t.eliminado = false ORDER BY t.fechaCreacion DESC")
+    @Query("SELECT t FROM Tweet t JOIN FETCH t.autor WHERE t.autor = :autor AND t.eliminado = false ORDER BY t.fechaCreacion DESC")
     List<Tweet> findByAutorOrderByFechaCreacionDesc(@Param("autor") Usuario autor);
 
     /**
@@ -26,7 +36,7 @@ public interface JpaTweetsSpringData extends JpaRepository<Tweet, Long> {
      * Usa Pageable para limitar resultados.
      * Mantiene invariante: solo mostrar tweets activos.
      */
-    @Query("SELECT t FROM Tweet t WHERE t.autor IN :autores AND t.eliminado = false ORDER BY t.fechaCreacion DESC")
+    @Query("SELECT t FROM Tweet t JOIN FETCH t.autor WHERE t.autor IN :autores AND t.eliminado = false ORDER BY t.fechaCreacion DESC, t.id DESC")
     List<Tweet> findByAutorInOrderByFechaCreacionDesc(@Param("autores") List<Usuario> autores, Pageable pageable);
 
     /**
@@ -34,9 +44,27 @@ public interface JpaTweetsSpringData extends JpaRepository<Tweet, Long> {
      * fecha descendente.
      * Usa Pageable para limitar resultados.
      * Usado para la vista "Ver todos" en Home Page.
+     * Proyección de solo lectura: no carga entidades en el contexto de
+     * persistencia.
+     */
+    @Query("""
+            SELECT new unrn.persistence.ResumenTweet(t.id, a.id, a.nombreUsuario, t.contenido, t.fechaCreacion, t.eliminado)
+            FROM Tweet t JOIN t.autor a
+            WHERE t.eliminado = false
+            ORDER BY t.fechaCreacion DESC, t.id DESC
+            """)
+    List<ResumenTweet> findAllByOrderByFechaCreacionDesc(Pageable pageable);
+
+    /**
+     * Proyección de solo lectura de los tweets con esos IDs (incluidos los
+     * eliminados), con el nombre del autor resuelto en la misma consulta.
      */
-    @Query("SELECT t FROM Tweet t WHERE t.eliminado = false ORDER BY t.fechaCreacion DESC")
-    List<Tweet> findAllByOrderByFechaCreacionDesc(Pageable pageable);
+    @Query("""
+            SELECT new unrn.persistence.ResumenTweet(t.id, a.id, a.nombreUsuario, t.contenido, t.fechaCreacion, t.eliminado)
+            FROM Tweet t JOIN t.autor a
+            WHERE t.id IN :ids
+            """)
+    List<ResumenTweet> resumenesPorIds(@Param("ids") Collection<Long> ids);
 
     /**
      * Marca como eliminados todos los tweets de un usuario.
@@ -0,0 +1,172 @@
+package unrn.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Candidatos a seguir de un usuario: los seguidos de sus seguidos, ordenados
+ * por cantidad de caminos de 2 saltos (cuántos de sus seguidos siguen a cada
+ * uno). Se excluyen él mismo y los que ya sigue.
+ *
+ * Trabaja sobre los arreglos ordenados del GrafoSocial, sin objetos por
+ * arista:
+ * - Cada tarea junta los IDs alcanzados desde un rango de seguidos, los
+ * ordena y los cuenta por tramos iguales.
+ * - Si el rango tiene más aristas que el umbral se divide en dos mitades con
+ * la misma cantidad de aristas (ForkJoin) y los conteos, ya ordenados por ID,
+ * se mezclan al juntarse.
+ */
+public class AmigosDeAmigos {
+
+    /**
+     * @param caminos Cantidad de seguidos del usuario que siguen al candidato
+     */
+    public record Candidato(long idUsuario, int caminos) {
+    }
+
+    private static final Comparator<Candidato> MEJOR_PRIMERO = Comparator
+            .comparingInt(Candidato::caminos).reversed()
+            .thenComparingLong(Candidato::idUsuario);
+
+    private final ForkJoinPool pool;
+    private final int umbralDeAristas;
+
+    public AmigosDeAmigos(ForkJoinPool pool, int umbralDeAristas) {
+        this.pool = pool;
+        this.umbralDeAristas = umbralDeAristas;
+    }
+
+    /**
+     * @param seguidosDe IDs ordenados que sigue cada usuario
+     * @param limite     Cantidad máxima de candidatos
+     * @return Los mejores candidatos, más caminos primero (empate: menor ID)
+     */
+    public List<Candidato> candidatosPara(long idUsuario, LongFunction<long[]> seguidosDe, int limite) {
+        long[] seguidos = seguidosDe.apply(idUsuario);
+        if (seguidos.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        long[][] vecindarios = new long[seguidos.length][];
+        long[] aristasAcumuladas = new long[seguidos.length + 1];
+        for (int i = 0; i < seguidos.length; i++) {
+            vecindarios[i] = seguidosDe.apply(seguidos[i]);
+            aristasAcumuladas[i + 1] = aristasAcumuladas[i] + vecindarios[i].length;
+        }
+
+        Conteo conteo = pool.invoke(new Contar(idUsuario, seguidos, vecindarios, aristasAcumuladas, 0,
+                seguidos.length));
+        return mejores(conteo, limite);
+    }
+
+    private static List<Candidato> mejores(Conteo conteo, int limite) {
+        // Montículo de mínimos con los "limite" mejores vistos hasta ahora
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite + 1, MEJOR_PRIMERO.reversed());
+        for (int i = 0; i < conteo.tamanio; i++) {
+            mejores.add(new Candidato(conteo.ids[i], conteo.caminos[i]));
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+        }
+        List<Candidato> ordenados = new ArrayList<>(mejores);
+        ordenados.sort(MEJOR_PRIMERO);
+        return ordenados;
+    }
+
+    /**
+     * Caminos por candidato, ordenados por ID.
+     */
+    private record Conteo(long[] ids, int[] caminos, int tamanio) {
+
+        static Conteo mezclar(Conteo a, Conteo b) {
+            long[] ids = new long[a.tamanio + b.tamanio];
+            int[] caminos = new int[ids.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.tamanio || j < b.tamanio) {
+                if (j == b.tamanio || (i < a.tamanio && a.ids[i] < b.ids[j])) {
+                    ids[n] = a.ids[i];
+                    caminos[n++] = a.caminos[i++];
+                } else if (i == a.tamanio || b.ids[j] < a.ids[i]) {
+                    ids[n] = b.ids[j];
+                    caminos[n++] = b.caminos[j++];
+                } else {
+                    ids[n] = a.ids[i];
+                    caminos[n++] = a.caminos[i++] + b.caminos[j++];
+                }
+            }
+            return new Conteo(ids, caminos, n);
+        }
+    }
+
+    private class Contar extends RecursiveTask<Conteo> {
+
+        private final long idUsuario;
+        private final long[] seguidos;
+        private final long[][] vecindarios;
+        private final long[] aristasAcumuladas;
+        private final int desde;
+        private final int hasta;
+
+        Contar(long idUsuario, long[] seguidos, long[][] vecindarios, long[] aristasAcumuladas, int desde,
+                int hasta) {
+            this.idUsuario = idUsuario;
+            this.seguidos = seguidos;
+            this.vecindarios = vecindarios;
+            this.aristasAcumuladas = aristasAcumuladas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Conteo compute() {
+            long aristas = aristasAcumuladas[hasta] - aristasAcumuladas[desde];
+            if (hasta - desde == 1 || aristas <= umbralDeAristas) {
+                return contarDirecto(aristas);
+            }
+
+            // Partir donde se llega a la mitad de las aristas del rango
+            long mitad = aristasAcumuladas[desde] + aristas / 2;
+            int corte = Arrays.binarySearch(aristasAcumuladas, desde + 1, hasta, mitad);
+            corte = Math.max(desde + 1, Math.min(hasta - 1, corte >= 0 ? corte : -corte - 1));
+
+            Contar izquierda = new Contar(idUsuario, seguidos, vecindarios, aristasAcumuladas, desde, corte);
+            Contar derecha = new Contar(idUsuario, seguidos, vecindarios, aristasAcumuladas, corte, hasta);
+            izquierda.fork();
+            Conteo deLaDerecha = derecha.compute();
+            return Conteo.mezclar(izquierda.join(), deLaDerecha);
+        }
+
+        private Conteo contarDirecto(long aristas) {
+            long[] alcanzados = new long[Math.toIntExact(aristas)];
+            int n = 0;
+            for (int i = desde; i < hasta; i++) {
+                for (long candidato : vecindarios[i]) {
+                    if (candidato != idUsuario && Arrays.binarySearch(seguidos, candidato) < 0) {
+                        alcanzados[n++] = candidato;
+                    }
+                }
+            }
+            Arrays.sort(alcanzados, 0, n);
+
+            long[] ids = new long[n];
+            int[] caminos = new int[n];
+            int tamanio = 0;
+            for (int i = 0; i < n; i++) {
+                if (tamanio > 0 && ids[tamanio - 1] == alcanzados[i]) {
+                    caminos[tamanio - 1]++;
+                } else {
+                    ids[tamanio] = alcanzados[i];
+                    caminos[tamanio++] = 1;
+                }
+            }
+            return new Conteo(ids, caminos, tamanio);
+        }
+    }
+}
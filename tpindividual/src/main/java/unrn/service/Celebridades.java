@@ -0,0 +1,89 @@
+package unrn.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import unrn.model.Usuario;
+import unrn.persistence.RepositorioFollows;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Usuarios con tantos seguidores que no conviene hacer fan-out de lo que
+ * publican: sus tweets se mezclan en el timeline de cada seguidor al leerlo.
+ *
+ * El conjunto se carga de la base de datos la primera vez que se consulta y
+ * se actualiza cada vez que cambia la cantidad de seguidores de alguien.
+ * La carga usa un ReentrantLock y no synchronized: es una consulta, y con
+ * hilos virtuales synchronized fijaría el hilo a su carrier mientras espera.
+ */
+@Component
+public class Celebridades {
+
+    private final RepositorioFollows repositorioFollows;
+    private final long umbral;
+    private final ReentrantLock carga = new ReentrantLock();
+    private volatile Set<Long> ids;
+
+    public Celebridades(RepositorioFollows repositorioFollows,
+            @Value("${app.timeline.umbral-celebridad:10000}") long umbral) {
+
+        this.repositorioFollows = repositorioFollows;
+        this.umbral = umbral;
+    }
+
+    public boolean esCelebridad(Long idUsuario) {
+        return ids().contains(idUsuario);
+    }
+
+    /**
+     * @return Los IDs dados que corresponden a celebridades
+     */
+    public List<Long> entre(Collection<Long> idsUsuarios) {
+        Set<Long> celebridades = ids();
+        List<Long> resultado = new ArrayList<>();
+        for (Long id : idsUsuarios) {
+            if (celebridades.contains(id)) {
+                resultado.add(id);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Recalcula si el usuario supera el umbral después de ganar o perder un
+     * seguidor.
+     *
+     * @return true si el usuario dejó de ser celebridad con este cambio
+     */
+    public boolean actualizar(Usuario usuario) {
+        boolean supera = repositorioFollows.cantidadDeSeguidoresDe(usuario) >= umbral;
+        if (supera) {
+            ids().add(usuario.id());
+            return false;
+        }
+        return ids().remove(usuario.id());
+    }
+
+    private Set<Long> ids() {
+        Set<Long> actuales = ids;
+        if (actuales == null) {
+            carga.lock();
+            try {
+                if (ids == null) {
+                    Set<Long> cargados = ConcurrentHashMap.newKeySet();
+                    cargados.addAll(repositorioFollows.idsConAlMenosSeguidores(umbral));
+                    ids = cargados;
+                }
+                actuales = ids;
+            } finally {
+                carga.unlock();
+            }
+        }
+        return actuales;
+    }
+}
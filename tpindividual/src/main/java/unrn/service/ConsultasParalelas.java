@@ -0,0 +1,177 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta a la vez, en hilos virtuales, las consultas independientes de una
+ * fase del armado del timeline: la fase tarda lo que la consulta más lenta y
+ * no la suma de todas.
+ *
+ * - Cada consulta corre en su hilo, fuera de la transacción del llamador. Si
+ * hay una transacción activa se ejecutan en serie en el mismo hilo: otro hilo
+ * no vería sus cambios sin confirmar.
+ * - Tampoco se reparten si el llamador tiene recursos ligados al hilo (un
+ * EntityManager abierto, por ejemplo con open-in-view): retendría su conexión
+ * mientras sus consultas piden otras, y con el pool agotado los requests se
+ * esperarían entre sí.
+ * - Una fase usa a lo sumo app.timeline.consultas.maximo-hilos hilos (y
+ * conexiones); si tiene más consultas, cada hilo ejecuta varias en serie. El
+ * pool de conexiones se dimensiona con ese tope.
+ * - Todas las consultas de la fase tienen el mismo plazo, contado desde que
+ * se lanzan: si alguna no termina se cancelan las demás.
+ * - Métricas: timeline.consulta (duración de cada consulta), timeline.fase
+ * (duración de la fase) y timeline.fase.paralelismo (suma de las consultas
+ * sobre la duración de la fase: 1 es en serie, cerca de N es solapamiento
+ * total).
+ */
+@Component
+public class ConsultasParalelas {
+
+    static final String ERROR_TIMEOUT = "Una consulta del timeline superó el tiempo máximo";
+    static final String ERROR_INTERRUMPIDA = "Se interrumpió una consulta del timeline";
+
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutNanos;
+    private final int maximoHilos;
+    private final MeterRegistry registry;
+
+    public ConsultasParalelas(@Value("${app.timeline.consultas.timeout-ms:2000}") long timeoutMs,
+            @Value("${app.timeline.consultas.maximo-hilos:4}") int maximoHilos,
+            MeterRegistry registry) {
+
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.maximoHilos = maximoHilos;
+        this.registry = registry;
+    }
+
+    /**
+     * Ejecuta dos consultas de tipos distintos.
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B> Par<A, B> ambas(String fase, String consultaA, Supplier<A> a, String consultaB, Supplier<B> b) {
+        List<Object> resultados = ejecutar(fase, List.of(new Tarea(consultaA, a), new Tarea(consultaB, b)));
+        return new Par<>((A) resultados.get(0), (B) resultados.get(1));
+    }
+
+    /**
+     * Ejecuta consultas del mismo tipo; los resultados respetan el orden.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> todas(String fase, String consulta, List<Supplier<T>> consultas) {
+        List<Tarea> tareas = new ArrayList<>(consultas.size());
+        for (Supplier<T> c : consultas) {
+            tareas.add(new Tarea(consulta, c));
+        }
+        return (List<T>) ejecutar(fase, tareas);
+    }
+
+    private List<Object> ejecutar(String fase, List<Tarea> tareas) {
+        AtomicLong sumaNanos = new AtomicLong();
+        long inicio = System.nanoTime();
+        List<Object> resultados = tareas.size() < 2 || maximoHilos < 2 || llamadorConRecursos()
+                ? enSerie(tareas, sumaNanos)
+                : enParalelo(tareas, sumaNanos, inicio);
+        long duracion = Math.max(1, System.nanoTime() - inicio);
+
+        Timer.builder("timeline.fase").tag("fase", fase).register(registry)
+                .record(duracion, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("timeline.fase.paralelismo").tag("fase", fase).register(registry)
+                .record((double) sumaNanos.get() / duracion);
+        return resultados;
+    }
+
+    private List<Object> enSerie(List<Tarea> tareas, AtomicLong sumaNanos) {
+        List<Object> resultados = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            resultados.add(medir(tarea, sumaNanos));
+        }
+        return resultados;
+    }
+
+    // La tarea i va al hilo i % hilos; cada hilo devuelve las suyas en orden
+    private List<Object> enParalelo(List<Tarea> tareas, AtomicLong sumaNanos, long inicio) {
+        int hilosDeLaFase = Math.min(maximoHilos, tareas.size());
+        List<Future<List<Object>>> futuros = new ArrayList<>(hilosDeLaFase);
+        for (int hilo = 0; hilo < hilosDeLaFase; hilo++) {
+            int primera = hilo;
+            futuros.add(hilos.submit(() -> {
+                List<Object> propios = new ArrayList<>();
+                for (int i = primera; i < tareas.size(); i += hilosDeLaFase) {
+                    propios.add(medir(tareas.get(i), sumaNanos));
+                }
+                return propios;
+            }));
+        }
+
+        long vencimiento = inicio + timeoutNanos;
+        Object[] resultados = new Object[tareas.size()];
+        try {
+            for (int hilo = 0; hilo < hilosDeLaFase; hilo++) {
+                List<Object> propios = futuros.get(hilo).get(vencimiento - System.nanoTime(), TimeUnit.NANOSECONDS);
+                for (int j = 0; j < propios.size(); j++) {
+                    resultados[hilo + j * hilosDeLaFase] = propios.get(j);
+                }
+            }
+            return Arrays.asList(resultados);
+        } catch (TimeoutException e) {
+            cancelar(futuros);
+            throw new RuntimeException(ERROR_TIMEOUT, e);
+        } catch (ExecutionException e) {
+            cancelar(futuros);
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            cancelar(futuros);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ERROR_INTERRUMPIDA, e);
+        }
+    }
+
+    private Object medir(Tarea tarea, AtomicLong sumaNanos) {
+        long inicio = System.nanoTime();
+        try {
+            return tarea.consulta().get();
+        } finally {
+            long duracion = System.nanoTime() - inicio;
+            sumaNanos.addAndGet(duracion);
+            Timer.builder("timeline.consulta").tag("consulta", tarea.nombre()).register(registry)
+                    .record(duracion, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean llamadorConRecursos() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.getResourceMap().isEmpty();
+    }
+
+    private static void cancelar(List<? extends Future<?>> futuros) {
+        for (Future<?> futuro : futuros) {
+            futuro.cancel(true);
+        }
+    }
+
+    public record Par<A, B>(A primera, B segunda) {
+    }
+
+    private record Tarea(String nombre, Supplier<?> consulta) {
+    }
+}
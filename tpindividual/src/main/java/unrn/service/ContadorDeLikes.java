@@ -0,0 +1,154 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.persistence.RepositorioEstadisticasTweets;
+import unrn.service.VersionesDeRecursos.Recurso;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cantidad de likes de cada tweet sin un UPDATE por like: los likes y
+ * unlikes confirmados se acumulan en memoria y se vuelcan a tweet_stats de a
+ * lotes (app.tweets.likes.volcado-ms).
+ *
+ * - Un LongAdder por tweet con pendientes: reparte las sumas concurrentes en
+ * celdas, así un tweet viral no se vuelve un punto de contención ni en
+ * memoria ni en la base de datos (una fila por tweet y por volcado).
+ * - Al volcar se retira cada acumulador del mapa y se vacía con
+ * sumThenReset. Quien sumó en un acumulador ya retirado lo detecta y vuelve a
+ * sumar el resto en uno nuevo: ningún like se cuenta dos veces ni se pierde.
+ * - Si el volcado falla los deltas vuelven a pendientes. Al apagar se vuelca
+ * lo pendiente (VolcadoDeLikesAlApagar). Si el proceso se cae se pierden los
+ * pendientes: la reconciliación al arrancar
+ * (ReconciliacionDeContadores) recalcula tweet_stats contando la tabla likes.
+ * - La cantidad que se informa es la guardada más la pendiente.
+ * - Cada volcado invalida, después de su commit, los ETags y timelines
+ * cacheados que muestran los tweets volcados (los de sus autores y de quienes
+ * los retweetearon): una respuesta cacheada puede mostrar likes viejos hasta
+ * el volcado siguiente, no hasta que venza. Invalidar de a lotes y no por like
+ * evita que un tweet viral vacíe las caches en cada like.
+ * - Métricas: likes.volcado (duración), likes.volcados (tweets por volcado)
+ * y likes.pendientes (tweets con deltas sin volcar).
+ */
+@Component
+public class ContadorDeLikes {
+
+    private final Map<Long, LongAdder> pendientes = new ConcurrentHashMap<>();
+    private final ReentrantLock volcado = new ReentrantLock();
+
+    private final RepositorioEstadisticasTweets repositorioEstadisticas;
+    private final VersionesDeRecursos versiones;
+    private final ApplicationEventPublisher eventos;
+    private final Timer duracion;
+    private final Counter volcados;
+
+    public ContadorDeLikes(RepositorioEstadisticasTweets repositorioEstadisticas,
+            VersionesDeRecursos versiones,
+            ApplicationEventPublisher eventos,
+            MeterRegistry registry) {
+        this.repositorioEstadisticas = repositorioEstadisticas;
+        this.versiones = versiones;
+        this.eventos = eventos;
+        this.duracion = Timer.builder("likes.volcado").register(registry);
+        this.volcados = Counter.builder("likes.volcados").register(registry);
+        Gauge.builder("likes.pendientes", pendientes, Map::size).register(registry);
+    }
+
+    /**
+     * Acumula el like o unlike después del commit: si la transacción se
+     * revierte no se cuenta.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarLikes(LikesModificados evento) {
+        sumar(evento.idTweet(), evento.delta());
+    }
+
+    public long likesDe(Long idTweet) {
+        return likesDe(List.of(idTweet)).get(idTweet);
+    }
+
+    /**
+     * @return Likes de cada tweet (guardados más pendientes), con una sola
+     *         consulta
+     */
+    public Map<Long, Long> likesDe(Collection<Long> idsTweets) {
+        Map<Long, Long> likes = repositorioEstadisticas.likesDe(idsTweets);
+        likes.replaceAll((idTweet, guardados) -> Math.max(0, guardados + pendientesDe(idTweet)));
+        return likes;
+    }
+
+    /**
+     * Vuelca los deltas pendientes en un solo lote y una sola transacción.
+     * También lo llama la reconciliación antes de contar, dentro de la suya.
+     */
+    @Scheduled(fixedDelayString = "${app.tweets.likes.volcado-ms:1000}")
+    @Transactional
+    public void volcar() {
+        volcado.lock();
+        try {
+            Map<Long, Long> deltas = new HashMap<>();
+            for (Long idTweet : pendientes.keySet()) {
+                LongAdder acumulador = pendientes.remove(idTweet);
+                long delta = acumulador == null ? 0 : acumulador.sumThenReset();
+                if (delta != 0) {
+                    deltas.put(idTweet, delta);
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                duracion.record(() -> repositorioEstadisticas.sumarLikes(deltas));
+                invalidar(repositorioEstadisticas.autoresDe(deltas.keySet()));
+                volcados.increment(deltas.size());
+            } catch (RuntimeException e) {
+                deltas.forEach(this::sumar);
+                throw e;
+            }
+        } finally {
+            volcado.unlock();
+        }
+    }
+
+    // Las versiones y el evento se aplican después del commit del volcado
+    private void invalidar(Set<Long> autores) {
+        for (Long autor : autores) {
+            versiones.modificar(Recurso.TWEETS_DE_AUTOR, autor);
+        }
+        versiones.modificar(Recurso.TODOS_LOS_TWEETS);
+        eventos.publishEvent(new PublicacionesModificadas(autores));
+    }
+
+    private void sumar(Long idTweet, long delta) {
+        LongAdder acumulador = pendientes.computeIfAbsent(idTweet, id -> new LongAdder());
+        acumulador.add(delta);
+        if (pendientes.get(idTweet) != acumulador) {
+            // El volcado lo retiró mientras sumábamos: lo que no alcanzó a
+            // vaciar se vuelve a sumar
+            long resto = acumulador.sumThenReset();
+            if (resto != 0) {
+                sumar(idTweet, resto);
+            }
+        }
+    }
+
+    private long pendientesDe(Long idTweet) {
+        LongAdder acumulador = pendientes.get(idTweet);
+        return acumulador == null ? 0 : acumulador.sum();
+    }
+}
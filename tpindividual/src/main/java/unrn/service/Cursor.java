@@ -0,0 +1,57 @@
+package unrn.service;
+
+import unrn.persistence.EntradaTimeline;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posición dentro de un feed ordenado por (fechaCreacion, tipo, id)
+ * descendente.
+ *
+ * Se usa para paginar por keyset: la página siguiente son los items
+ * estrictamente anteriores a (fecha, esRetweet, id). Los IDs de tweets y de
+ * retweets salen de secuencias distintas, así que el tipo también desempata.
+ * Hacia afuera viaja como un string opaco (Base64 URL-safe), los clientes no
+ * deben interpretarlo.
+ */
+public record Cursor(LocalDateTime fecha, boolean esRetweet, Long id) {
+
+    public static final String ERROR_CURSOR_INVALIDO = "El cursor de paginación no es válido";
+
+    private static final String SEPARADOR = "|";
+    private static final String TWEET = "t";
+    private static final String RETWEET = "r";
+
+    public static Cursor de(EntradaTimeline entrada) {
+        return new Cursor(entrada.fecha(), entrada.esRetweet(), entrada.id());
+    }
+
+    /**
+     * @return El cursor decodificado, o null si no se envió (primera página)
+     */
+    public static Cursor decodificar(String codificado) {
+        if (codificado == null || codificado.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(codificado), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\" + SEPARADOR);
+            if (partes.length != 3 || !(partes[1].equals(TWEET) || partes[1].equals(RETWEET))) {
+                throw new RuntimeException(ERROR_CURSOR_INVALIDO);
+            }
+            return new Cursor(
+                    LocalDateTime.parse(partes[0]),
+                    partes[1].equals(RETWEET),
+                    Long.parseLong(partes[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException(ERROR_CURSOR_INVALIDO);
+        }
+    }
+
+    public String codificar() {
+        String texto = fecha + SEPARADOR + (esRetweet ? RETWEET : TWEET) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package unrn.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición dentro de una lista de seguidores o de seguidos, ordenada por ID
+ * de follow descendente (los follows más recientes primero).
+ *
+ * La página siguiente son los follows con ID estrictamente menor. Hacia
+ * afuera viaja como un string opaco (Base64 URL-safe), como Cursor.
+ */
+public record CursorDeFollows(Long idFollow) {
+
+    public static final String ERROR_CURSOR_INVALIDO = "El cursor de paginación no es válido";
+
+    /**
+     * @return El cursor decodificado, o null si no se envió (primera página)
+     */
+    public static CursorDeFollows decodificar(String codificado) {
+        if (codificado == null || codificado.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(codificado), StandardCharsets.UTF_8);
+            return new CursorDeFollows(Long.parseLong(texto));
+        } catch (RuntimeException e) {
+            throw new RuntimeException(ERROR_CURSOR_INVALIDO);
+        }
+    }
+
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(idFollow).getBytes(StandardCharsets.UTF_8));
+    }
+}
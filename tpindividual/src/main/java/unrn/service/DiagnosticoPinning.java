@@ -0,0 +1,112 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Detecta hilos virtuales fijados a su carrier (pinning): un hilo virtual que
+ * se bloquea dentro de un synchronized o de código nativo no libera el hilo
+ * de plataforma, y con pocos carriers el servidor deja de atender.
+ *
+ * Escucha el evento jdk.VirtualThreadPinned de JFR en el mismo proceso. Por
+ * cada evento que supera el umbral:
+ * - Suma uno a hilos.virtuales.pinning, con el primer método nuestro de la
+ * pila como origen ("externo" si no hay ninguno, p. ej. dentro del driver).
+ * - Loguea la pila, para ver qué lo causó.
+ *
+ * Solo se activa con app.diagnostico.pinning.habilitado=true (perfil
+ * "virtuales").
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostico.pinning.habilitado", havingValue = "true")
+public class DiagnosticoPinning implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoPinning.class);
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PAQUETE_PROPIO = "unrn.";
+    private static final String ORIGEN_EXTERNO = "externo";
+    private static final int MAXIMO_FRAMES_LOGUEADOS = 20;
+
+    private final Duration umbral;
+    private final MeterRegistry registry;
+    private RecordingStream stream;
+
+    public DiagnosticoPinning(@Value("${app.diagnostico.pinning.umbral-ms:20}") long umbralMs,
+            MeterRegistry registry) {
+
+        this.umbral = Duration.ofMillis(umbralMs);
+        this.registry = registry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Diagnóstico de pinning activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        RecordedStackTrace pila = evento.getStackTrace();
+        String origen = origen(pila);
+        Counter.builder("hilos.virtuales.pinning").tag("origen", origen).register(registry).increment();
+        log.warn("Hilo virtual fijado a su carrier durante {} ms en {}\n{}",
+                evento.getDuration().toMillis(), origen, describir(pila));
+    }
+
+    private static String origen(RecordedStackTrace pila) {
+        if (pila == null) {
+            return ORIGEN_EXTERNO;
+        }
+        for (RecordedFrame frame : pila.getFrames()) {
+            String clase = frame.getMethod().getType().getName();
+            if (clase.startsWith(PAQUETE_PROPIO)) {
+                return clase.substring(clase.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return ORIGEN_EXTERNO;
+    }
+
+    private static String describir(RecordedStackTrace pila) {
+        if (pila == null) {
+            return "\t(sin pila)";
+        }
+        StringBuilder texto = new StringBuilder();
+        int frames = 0;
+        for (RecordedFrame frame : pila.getFrames()) {
+            if (frames++ == MAXIMO_FRAMES_LOGUEADOS) {
+                texto.append("\t...\n");
+                break;
+            }
+            texto.append("\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber())
+                    .append('\n');
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,163 @@
+package unrn.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.persistence.RepositorioTweets;
+import unrn.persistence.ResumenTweet;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Los últimos tweets de todo el sistema (vista "Ver todos"), en memoria.
+ *
+ * Es el mismo resultado para todos los visitantes, así que se sirve sin ir a
+ * la base de datos:
+ * - Buffer circular sin locks: cada publicación reserva una ranura con un
+ * contador atómico y la escribe; las más viejas se pisan.
+ * - Se calienta desde la base de datos al arrancar; hasta entonces (o si se
+ * piden más tweets de los que entran) se consulta la base de datos.
+ * - Los tweets nuevos se agregan después del commit (ItemPublicado): si la
+ * transacción se revierte no queda en memoria un tweet que no existe.
+ * - Eliminar un tweet o desactivar a su autor deja una lápida en su ranura.
+ * Con lápidas o repetidas pueden quedar menos tweets vigentes distintos que
+ * los pedidos: entonces se consulta la base de datos, salvo que en memoria
+ * estén todos los del sistema.
+ * - Al leer se ordena por fecha y se descartan las repetidas, así no importa
+ * el orden en que escribieron publicaciones concurrentes.
+ */
+@Component
+public class FeedGlobal {
+
+    private static final Comparator<Publicado> MAS_RECIENTE_PRIMERO = Comparator
+            .comparing(Publicado::fecha)
+            .thenComparing(publicado -> publicado.vista().id())
+            .reversed();
+
+    private final RepositorioTweets repositorioTweets;
+    private final int capacidad;
+    private final AtomicReferenceArray<Publicado> ranuras;
+    private final AtomicLong siguiente = new AtomicLong();
+    private volatile boolean calentado;
+    // La base de datos tenía menos tweets que la capacidad al calentar
+    private volatile boolean todosAlCalentar;
+
+    public FeedGlobal(RepositorioTweets repositorioTweets,
+            @Value("${app.tweets.global.capacidad:500}") int capacidad) {
+
+        this.repositorioTweets = repositorioTweets;
+        this.capacidad = capacidad;
+        this.ranuras = new AtomicReferenceArray<>(capacidad);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calentar() {
+        List<ResumenTweet> recientes = repositorioTweets.buscarTodosTweets(capacidad);
+        // Vienen del más reciente al más viejo: se escriben al revés
+        for (int i = recientes.size() - 1; i >= 0; i--) {
+            ResumenTweet resumen = recientes.get(i);
+            agregar(VistaTweet.de(resumen), resumen.fechaCreacion());
+        }
+        todosAlCalentar = recientes.size() < capacidad;
+        calentado = true;
+    }
+
+    public void agregar(VistaTweet vista, LocalDateTime fecha) {
+        int ranura = (int) (siguiente.getAndIncrement() % capacidad);
+        ranuras.set(ranura, new Publicado(vista, fecha));
+    }
+
+    /**
+     * Los retweets no forman parte de la vista "Ver todos".
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alPublicar(ItemPublicado evento) {
+        if (!evento.item().esRetweet()) {
+            VistaTweet vista = evento.item().getTweetOriginal();
+            agregar(vista, LocalDateTime.parse(vista.fechaCreacion()));
+        }
+    }
+
+    /**
+     * @return Si los últimos "limite" tweets se pueden servir desde memoria
+     */
+    public boolean cubre(int limite) {
+        if (!calentado || limite > capacidad) {
+            return false;
+        }
+        // Sin pisar ninguna ranura, en memoria están todos los tweets del sistema
+        boolean estanTodos = todosAlCalentar && siguiente.get() <= capacidad;
+        return estanTodos || vigentes() >= limite;
+    }
+
+    /**
+     * Los últimos tweets activos, del más reciente al más viejo.
+     */
+    public List<VistaTweet> recientes(int limite) {
+        List<Publicado> vigentes = new ArrayList<>(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            Publicado publicado = ranuras.get(i);
+            if (publicado != null && !publicado.vista().eliminado()) {
+                vigentes.add(publicado);
+            }
+        }
+        vigentes.sort(MAS_RECIENTE_PRIMERO);
+
+        List<VistaTweet> resultado = new ArrayList<>(Math.min(limite, vigentes.size()));
+        Long anterior = null;
+        for (Publicado publicado : vigentes) {
+            if (resultado.size() == limite) {
+                break;
+            }
+            // Las repetidas (calentamiento concurrente con una publicación) quedan juntas
+            if (!publicado.vista().id().equals(anterior)) {
+                resultado.add(publicado.vista());
+            }
+            anterior = publicado.vista().id();
+        }
+        return resultado;
+    }
+
+    // Tweets activos distintos: uno que escribieron a la vez el calentamiento y
+    // una publicación ocupa dos ranuras pero cuenta una vez
+    private int vigentes() {
+        Set<Long> vigentes = new HashSet<>(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            Publicado publicado = ranuras.get(i);
+            if (publicado != null && !publicado.vista().eliminado()) {
+                vigentes.add(publicado.vista().id());
+            }
+        }
+        return vigentes.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alEliminarTweets(TweetsEliminados evento) {
+        for (int i = 0; i < capacidad; i++) {
+            Publicado publicado = ranuras.get(i);
+            if (publicado != null && evento.incluye(publicado.vista())) {
+                // Si otra publicación pisó la ranura, la lápida ya no hace falta
+                ranuras.compareAndSet(i, publicado, publicado.eliminado());
+            }
+        }
+    }
+
+    private record Publicado(VistaTweet vista, LocalDateTime fecha) {
+
+        Publicado eliminado() {
+            VistaTweet v = vista;
+            return new Publicado(
+                    new VistaTweet(v.id(), v.idAutor(), v.autor(), v.contenido(), v.fechaCreacion(), true),
+                    fecha);
+        }
+    }
+}
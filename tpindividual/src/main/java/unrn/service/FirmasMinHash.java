@@ -0,0 +1,236 @@
+package unrn.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Firmas MinHash de los conjuntos de seguidores, para encontrar usuarios
+ * parecidos (similitud de Jaccard entre sus seguidores) sin compararlos de a
+ * pares.
+ *
+ * - Cada firma tiene FUNCIONES mínimos de hash (int); la fracción de
+ * posiciones iguales entre dos firmas estima su similitud de Jaccard.
+ * - LSH: la firma se parte en BANDAS de FILAS posiciones y cada banda se
+ * guarda en una cubeta. Los candidatos a similares son los que comparten
+ * alguna cubeta (probable desde una similitud de ~0,5).
+ * - Todo en arreglos primitivos: las firmas en un int[] plano, una fila por
+ * usuario, y cada cubeta como long[] ordenado de IDs.
+ * - Agregar un seguidor actualiza la firma en O(FUNCIONES). Quitarlo solo
+ * obliga a recalcularla si era el mínimo de alguna posición.
+ *
+ * No es thread-safe: quien la usa sincroniza.
+ */
+public class FirmasMinHash {
+
+    static final int BANDAS = 16;
+    static final int FILAS = 4;
+    static final int FUNCIONES = BANDAS * FILAS;
+
+    /**
+     * @param similitud Estimación de la similitud de Jaccard, entre 0 y 1
+     */
+    public record Similar(long idUsuario, double similitud) {
+    }
+
+    private static final long[] VACIO = new long[0];
+    private static final long[] SEMILLAS = new long[FUNCIONES];
+
+    static {
+        for (int i = 0; i < FUNCIONES; i++) {
+            SEMILLAS[i] = mezclar(i + 1L);
+        }
+    }
+
+    private final Map<Long, Integer> filas = new HashMap<>();
+    private final Map<Long, long[]> cubetas = new HashMap<>();
+    private final Deque<Integer> filasLibres = new ArrayDeque<>();
+    private int[] firmas = new int[64 * FUNCIONES];
+    private int cantidadDeFilas;
+
+    /**
+     * Reemplaza la firma del usuario por la de este conjunto de seguidores.
+     */
+    public void calcular(long idUsuario, long[] seguidores) {
+        int[] firma = new int[FUNCIONES];
+        Arrays.fill(firma, Integer.MAX_VALUE);
+        for (long seguidor : seguidores) {
+            for (int i = 0; i < FUNCIONES; i++) {
+                firma[i] = Math.min(firma[i], hash(seguidor, i));
+            }
+        }
+        reemplazar(idUsuario, seguidores.length == 0 ? null : firma);
+    }
+
+    public void agregarSeguidor(long idUsuario, long idSeguidor) {
+        int[] firma = firmaDe(idUsuario);
+        boolean cambio = false;
+        for (int i = 0; i < FUNCIONES; i++) {
+            int h = hash(idSeguidor, i);
+            if (h < firma[i]) {
+                firma[i] = h;
+                cambio = true;
+            }
+        }
+        if (cambio) {
+            reemplazar(idUsuario, firma);
+        }
+    }
+
+    /**
+     * @param seguidoresRestantes Los seguidores del usuario sin el quitado,
+     *                            por si hay que recalcular la firma
+     */
+    public void quitarSeguidor(long idUsuario, long idSeguidor, long[] seguidoresRestantes) {
+        int[] firma = firmaDe(idUsuario);
+        for (int i = 0; i < FUNCIONES; i++) {
+            if (firma[i] == hash(idSeguidor, i)) {
+                calcular(idUsuario, seguidoresRestantes);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Los usuarios que comparten alguna cubeta con el dado, más
+     *         parecidos primero (empate: menor ID)
+     */
+    public List<Similar> similaresA(long idUsuario, int limite) {
+        Integer fila = filas.get(idUsuario);
+        if (fila == null) {
+            return List.of();
+        }
+        Set<Long> candidatos = new HashSet<>();
+        for (int banda = 0; banda < BANDAS; banda++) {
+            for (long candidato : cubetas.getOrDefault(claveDeBanda(fila, banda), VACIO)) {
+                candidatos.add(candidato);
+            }
+        }
+        candidatos.remove(idUsuario);
+
+        List<Similar> similares = new ArrayList<>(candidatos.size());
+        for (Long candidato : candidatos) {
+            similares.add(new Similar(candidato, coincidencias(fila, filas.get(candidato)) / (double) FUNCIONES));
+        }
+        similares.sort(Comparator.comparingDouble(Similar::similitud).reversed()
+                .thenComparingLong(Similar::idUsuario));
+        return similares.size() > limite ? similares.subList(0, limite) : similares;
+    }
+
+    public int cantidadDeUsuarios() {
+        return filas.size();
+    }
+
+    private int[] firmaDe(long idUsuario) {
+        Integer fila = filas.get(idUsuario);
+        if (fila == null) {
+            int[] vacia = new int[FUNCIONES];
+            Arrays.fill(vacia, Integer.MAX_VALUE);
+            return vacia;
+        }
+        return Arrays.copyOfRange(firmas, fila * FUNCIONES, (fila + 1) * FUNCIONES);
+    }
+
+    // Saca al usuario de las cubetas de su firma anterior y lo pone en las de
+    // la nueva (null: se queda sin seguidores y deja de estar indexado)
+    private void reemplazar(long idUsuario, int[] firma) {
+        Integer fila = filas.get(idUsuario);
+        if (fila != null) {
+            for (int banda = 0; banda < BANDAS; banda++) {
+                cubetas.computeIfPresent(claveDeBanda(fila, banda), (clave, ids) -> sinId(ids, idUsuario));
+            }
+        }
+        if (firma == null) {
+            if (fila == null) {
+                return;
+            }
+            filas.remove(idUsuario);
+            filasLibres.push(fila);
+            return;
+        }
+        if (fila == null) {
+            fila = nuevaFila();
+            filas.put(idUsuario, fila);
+        }
+        System.arraycopy(firma, 0, firmas, fila * FUNCIONES, FUNCIONES);
+        for (int banda = 0; banda < BANDAS; banda++) {
+            cubetas.merge(claveDeBanda(fila, banda), new long[] { idUsuario }, (ids, nuevo) -> conId(ids, idUsuario));
+        }
+    }
+
+    private int nuevaFila() {
+        if (!filasLibres.isEmpty()) {
+            return filasLibres.pop();
+        }
+        if ((cantidadDeFilas + 1) * FUNCIONES > firmas.length) {
+            firmas = Arrays.copyOf(firmas, firmas.length * 2);
+        }
+        return cantidadDeFilas++;
+    }
+
+    private long claveDeBanda(int fila, int banda) {
+        long clave = banda;
+        int inicio = fila * FUNCIONES + banda * FILAS;
+        for (int i = inicio; i < inicio + FILAS; i++) {
+            clave = mezclar(clave ^ firmas[i]);
+        }
+        return clave;
+    }
+
+    private int coincidencias(int fila, int otraFila) {
+        int iguales = 0;
+        for (int i = 0; i < FUNCIONES; i++) {
+            if (firmas[fila * FUNCIONES + i] == firmas[otraFila * FUNCIONES + i]) {
+                iguales++;
+            }
+        }
+        return iguales;
+    }
+
+    private static int hash(long idSeguidor, int funcion) {
+        return (int) (mezclar(idSeguidor ^ SEMILLAS[funcion]) >>> 33);
+    }
+
+    private static long[] conId(long[] actuales, long id) {
+        int posicion = Arrays.binarySearch(actuales, id);
+        if (posicion >= 0) {
+            return actuales;
+        }
+        int insercion = -posicion - 1;
+        long[] nuevos = new long[actuales.length + 1];
+        System.arraycopy(actuales, 0, nuevos, 0, insercion);
+        nuevos[insercion] = id;
+        System.arraycopy(actuales, insercion, nuevos, insercion + 1, actuales.length - insercion);
+        return nuevos;
+    }
+
+    // null quita la cubeta del mapa cuando queda vacía
+    private static long[] sinId(long[] actuales, long id) {
+        int posicion = Arrays.binarySearch(actuales, id);
+        if (posicion < 0) {
+            return actuales;
+        }
+        if (actuales.length == 1) {
+            return null;
+        }
+        long[] nuevos = new long[actuales.length - 1];
+        System.arraycopy(actuales, 0, nuevos, 0, posicion);
+        System.arraycopy(actuales, posicion + 1, nuevos, posicion, actuales.length - posicion - 1);
+        return nuevos;
+    }
+
+    // Finalizador de SplitMix64
+    private static long mezclar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,143 @@
+package unrn.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.model.Tweet;
+import unrn.persistence.RepositorioTweets;
+import unrn.persistence.ResumenTweet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convierte tweets en VistaTweet y las guarda por ID, para que los tweets más
+ * leídos se armen una sola vez y no en cada request.
+ *
+ * - Acotado: al superar el máximo se descarta la vista usada hace más tiempo
+ * (LRU).
+ * - Carga por lote: las vistas que faltan se buscan en una sola consulta.
+ * - Se invalida al eliminar un tweet o desactivar a su autor, una vez
+ * confirmada la transacción (si no, una lectura concurrente podría volver a
+ * guardar la vista vieja).
+ */
+@Component
+public class HidratadorTweets {
+
+    private final RepositorioTweets repositorioTweets;
+    private final int maximo;
+    private final Map<Long, VistaTweet> vistas = new LinkedHashMap<>(16, 0.75f, true);
+    // Cantidad de invalidaciones: una vista armada antes de una invalidación
+    // puede estar vieja y no se guarda
+    private long invalidaciones;
+
+    public HidratadorTweets(RepositorioTweets repositorioTweets,
+            @Value("${app.tweets.cache.maximo-entradas:50000}") int maximo) {
+
+        this.repositorioTweets = repositorioTweets;
+        this.maximo = maximo;
+    }
+
+    /**
+     * Vista de un tweet ya cargado.
+     */
+    public VistaTweet vista(Tweet tweet) {
+        long invalidacionesAlArmar;
+        synchronized (vistas) {
+            VistaTweet vista = vistas.get(tweet.id());
+            if (vista != null) {
+                return vista;
+            }
+            invalidacionesAlArmar = invalidaciones;
+        }
+        VistaTweet vista = VistaTweet.de(tweet);
+        guardar(List.of(vista), invalidacionesAlArmar);
+        return vista;
+    }
+
+    /**
+     * Vistas de los tweets con esos IDs. Las que no están guardadas se cargan
+     * juntas con una proyección (sin entidades); los IDs inexistentes no
+     * aparecen en el resultado.
+     */
+    public Map<Long, VistaTweet> vistasPorId(Collection<Long> idsTweets) {
+        Map<Long, VistaTweet> resultado = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        long invalidacionesAlCargar;
+        synchronized (vistas) {
+            invalidacionesAlCargar = invalidaciones;
+            for (Long id : idsTweets) {
+                VistaTweet vista = vistas.get(id);
+                if (vista != null) {
+                    resultado.put(id, vista);
+                } else {
+                    faltantes.add(id);
+                }
+            }
+        }
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+
+        List<VistaTweet> cargadas = new ArrayList<>(faltantes.size());
+        for (ResumenTweet resumen : repositorioTweets.resumenesPorIds(faltantes)) {
+            VistaTweet vista = VistaTweet.de(resumen);
+            cargadas.add(vista);
+            resultado.put(vista.id(), vista);
+        }
+        guardar(cargadas, invalidacionesAlCargar);
+        return resultado;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alEliminarTweets(TweetsEliminados evento) {
+        if (evento.idTweet() != null) {
+            invalidar(evento.idTweet());
+        } else {
+            invalidarDeAutor(evento.idAutor());
+        }
+    }
+
+    public void invalidar(Long idTweet) {
+        synchronized (vistas) {
+            invalidaciones++;
+            vistas.remove(idTweet);
+        }
+    }
+
+    /**
+     * Descarta las vistas de todos los tweets del autor. Recorre la cache:
+     * solo se usa al desactivar un usuario.
+     */
+    public void invalidarDeAutor(Long idAutor) {
+        synchronized (vistas) {
+            invalidaciones++;
+            vistas.values().removeIf(vista -> vista.idAutor().equals(idAutor));
+        }
+    }
+
+    public int tamanio() {
+        synchronized (vistas) {
+            return vistas.size();
+        }
+    }
+
+    private void guardar(List<VistaTweet> nuevas, long invalidacionesAlArmar) {
+        synchronized (vistas) {
+            if (invalidaciones != invalidacionesAlArmar) {
+                return;
+            }
+            for (VistaTweet vista : nuevas) {
+                vistas.put(vista.id(), vista);
+            }
+            // Desalojo LRU: el primero en orden de acceso es el usado hace más tiempo
+            while (vistas.size() > maximo) {
+                vistas.remove(vistas.keySet().iterator().next());
+            }
+        }
+    }
+}
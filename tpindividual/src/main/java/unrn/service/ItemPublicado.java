@@ -0,0 +1,12 @@
+package unrn.service;
+
+import unrn.persistence.EntradaTimeline;
+
+/**
+ * Evento: un autor publicó un tweet o un retweet nuevo, ya hidratado como se
+ * muestra en el timeline de sus seguidores.
+ *
+ * @param entrada Posición del item en los timelines materializados
+ */
+public record ItemPublicado(Long idAutor, EntradaTimeline entrada, TimelineItem item) {
+}
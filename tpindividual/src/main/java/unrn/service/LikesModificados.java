@@ -0,0 +1,7 @@
+package unrn.service;
+
+/**
+ * Evento: un usuario dio (delta 1) o quitó (delta -1) un like a un tweet.
+ */
+public record LikesModificados(Long idTweet, long delta) {
+}
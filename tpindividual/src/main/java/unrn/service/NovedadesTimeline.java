@@ -0,0 +1,15 @@
+package unrn.service;
+
+import java.util.List;
+
+/**
+ * Lo nuevo de un timeline desde la posición que ya tiene el cliente.
+ *
+ * @param items       Novedades, más recientes primero (como máximo el límite
+ *                    pedido: las más cercanas a la posición del cliente)
+ * @param total       Cantidad total de novedades, aunque no entren todas
+ * @param masReciente Posición del item más nuevo devuelto, para la próxima
+ *                    consulta; la misma que se envió si no hay novedades
+ */
+public record NovedadesTimeline(List<TimelineItem> items, long total, Cursor masReciente) {
+}
@@ -0,0 +1,32 @@
+package unrn.service;
+
+import java.util.List;
+
+/**
+ * Una página de un feed (timeline o tweets de usuario).
+ *
+ * @param items       Tweets y retweets de la página, más recientes primero
+ * @param siguiente   Cursor para pedir la página siguiente, null si no hay más
+ * @param masReciente Posición del item más nuevo de la página, para pedir
+ *                    novedades; null si la página está vacía
+ */
+public record PaginaTimeline(List<TimelineItem> items, Cursor siguiente, Cursor masReciente) {
+
+    public PaginaTimeline(List<TimelineItem> items, Cursor siguiente) {
+        this(items, siguiente, null);
+    }
+
+    /**
+     * @return El cursor de la página siguiente codificado, o null si no hay más
+     */
+    public String siguienteCursor() {
+        return siguiente == null ? null : siguiente.codificar();
+    }
+
+    /**
+     * @return La posición del item más nuevo codificada, o null si no hay
+     */
+    public String masRecienteCursor() {
+        return masReciente == null ? null : masReciente.codificar();
+    }
+}
@@ -0,0 +1,22 @@
+package unrn.service;
+
+import unrn.model.Usuario;
+
+import java.util.List;
+
+/**
+ * Una página de una lista de seguidores o de seguidos.
+ *
+ * @param usuarios  Usuarios de la página, en el orden de sus follows (más
+ *                  recientes primero)
+ * @param siguiente Cursor para pedir la página siguiente, null si no hay más
+ */
+public record PaginaUsuarios(List<Usuario> usuarios, CursorDeFollows siguiente) {
+
+    /**
+     * @return El cursor de la página siguiente codificado, o null si no hay más
+     */
+    public String siguienteCursor() {
+        return siguiente == null ? null : siguiente.codificar();
+    }
+}
@@ -0,0 +1,20 @@
+package unrn.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evento: cambió lo que publicaron estos autores (tweet nuevo, retweet,
+ * eliminación o likes volcados). Afecta a todos los timelines que los
+ * incluyen.
+ */
+public record PublicacionesModificadas(Collection<Long> idsAutores) {
+
+    /**
+     * Un solo autor. Si todavía no tiene ID no hay timelines suyos que
+     * invalidar.
+     */
+    public static PublicacionesModificadas de(Long idAutor) {
+        return new PublicacionesModificadas(idAutor == null ? List.of() : List.of(idAutor));
+    }
+}
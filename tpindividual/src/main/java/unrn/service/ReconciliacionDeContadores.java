@@ -0,0 +1,71 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import unrn.persistence.RepositorioContadores;
+import unrn.persistence.RepositorioEstadisticasTweets;
+
+/**
+ * Corrige el desvío de los contadores del perfil y de los likes de cada tweet
+ * contando filas: al arrancar (crea los contadores de usuarios y tweets
+ * anteriores a las tablas, y recupera los likes que no se llegaron a volcar
+ * si el proceso se cayó) y todas las noches (app.contadores.reconciliacion.cron).
+ *
+ * Un follow o like que se confirma mientras corre puede quedar pisado por el
+ * conteo; la corrida siguiente lo vuelve a ajustar. Los usuarios y tweets
+ * corregidos se suman a contadores.corregidos (tag contador).
+ */
+@Component
+public class ReconciliacionDeContadores {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacionDeContadores.class);
+
+    private final RepositorioContadores repositorioContadores;
+    private final RepositorioEstadisticasTweets repositorioEstadisticas;
+    private final ContadorDeLikes contadorDeLikes;
+    private final Counter corregidos;
+    private final Counter tweetsCorregidos;
+
+    public ReconciliacionDeContadores(RepositorioContadores repositorioContadores,
+            RepositorioEstadisticasTweets repositorioEstadisticas,
+            ContadorDeLikes contadorDeLikes,
+            MeterRegistry registry) {
+
+        this.repositorioContadores = repositorioContadores;
+        this.repositorioEstadisticas = repositorioEstadisticas;
+        this.contadorDeLikes = contadorDeLikes;
+        this.corregidos = Counter.builder("contadores.corregidos").tag("contador", "usuario").register(registry);
+        this.tweetsCorregidos = Counter.builder("contadores.corregidos").tag("contador", "tweet").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void alIniciar() {
+        reconciliar();
+    }
+
+    @Scheduled(cron = "${app.contadores.reconciliacion.cron:0 30 3 * * *}")
+    @Transactional
+    public void reconciliar() {
+        int cantidad = repositorioContadores.reconciliar();
+        corregidos.increment(cantidad);
+        if (cantidad > 0) {
+            log.warn("Reconciliación de contadores: {} usuarios corregidos", cantidad);
+        }
+
+        // Lo pendiente en memoria se vuelca antes de contar, así no se suma dos veces
+        contadorDeLikes.volcar();
+        int tweets = repositorioEstadisticas.reconciliar();
+        tweetsCorregidos.increment(tweets);
+        if (tweets > 0) {
+            log.warn("Reconciliación de contadores: {} tweets corregidos", tweets);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package unrn.service;
+
+import java.util.List;
+
+/**
+ * Evento: un usuario empezó (alta) o dejó de seguir a otros, así que cambió
+ * el conjunto de seguidores de cada uno de ellos.
+ */
+public record SeguidoresModificados(Long idSeguidor, List<Long> idsSeguidos, boolean alta) {
+}
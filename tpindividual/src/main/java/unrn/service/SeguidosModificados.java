@@ -0,0 +1,8 @@
+package unrn.service;
+
+/**
+ * Evento: el usuario empezó o dejó de seguir a alguien, así que cambió el
+ * conjunto de autores de su timeline.
+ */
+public record SeguidosModificados(String keycloakIdSeguidor) {
+}
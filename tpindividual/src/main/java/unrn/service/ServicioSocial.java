@@ -2,6 +2,7 @@ package unrn.service;
 
 import unrn.model.Usuario;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,9 +13,55 @@ public interface ServicioSocial {
 
     void seguir(String keycloakIdSeguidor, Long idSeguido);
 
+    /**
+     * Sigue a varios usuarios de una vez (importar contactos, cuentas
+     * sugeridas). Se ignoran los IDs repetidos o inexistentes, el propio y los
+     * usuarios que ya sigue.
+     *
+     * @return IDs de los usuarios que pasó a seguir
+     */
+    List<Long> seguirEnLote(String keycloakIdSeguidor, Collection<Long> idsSeguidos);
+
     void dejarDeSeguir(String keycloakIdSeguidor, Long idSeguido);
 
-    List<Usuario> seguidosDelActual(String keycloakIdSeguidor);
+    /**
+     * Página de los usuarios que sigue el usuario actual, los seguidos más
+     * recientemente primero.
+     *
+     * @param cursor Posición de la página anterior, null para la primera
+     * @param limite Tamaño de página (se acota a un máximo)
+     */
+    PaginaUsuarios seguidosDelActual(String keycloakIdSeguidor, CursorDeFollows cursor, int limite);
+
+    /**
+     * Página de los seguidores de un usuario, los más recientes primero.
+     *
+     * @param cursor Posición de la página anterior, null para la primera
+     * @param limite Tamaño de página (se acota a un máximo)
+     */
+    PaginaUsuarios seguidoresDe(Long idUsuario, CursorDeFollows cursor, int limite);
+
+    /**
+     * Usuarios sugeridos para seguir: los que siguen los seguidos del usuario
+     * actual, más seguidos en común primero. No incluye al propio usuario, a
+     * los que ya sigue ni a los dados de baja.
+     *
+     * @param limite Cantidad de sugerencias (se acota a un máximo)
+     */
+    List<Sugerencia> sugerenciasPara(String keycloakIdUsuario, int limite);
+
+    /**
+     * Usuarios con seguidores parecidos a los del usuario dado (similitud de
+     * Jaccard estimada), más parecidos primero. No incluye a los dados de
+     * baja.
+     *
+     * @param limite Cantidad de usuarios (se acota a un máximo)
+     */
+    List<UsuarioSimilar> similaresA(Long idUsuario, int limite);
 
-    List<Usuario> seguidoresDe(Long idUsuario);
+    /**
+     * IDs de los autores que aparecen en el timeline del usuario: él mismo y
+     * quienes sigue.
+     */
+    List<Long> autoresDelTimeline(String keycloakIdUsuario);
 }
@@ -1,28 +1,77 @@
 package unrn.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import unrn.model.Follow;
 import unrn.model.Usuario;
+import unrn.persistence.FollowEnLista;
+import unrn.persistence.RepositorioContadores;
 import unrn.persistence.RepositorioFollows;
 import unrn.persistence.RepositorioUsuarios;
+import unrn.service.AmigosDeAmigos.Candidato;
+import unrn.service.FirmasMinHash.Similar;
+import unrn.service.VersionesDeRecursos.Recurso;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class ServicioSocialAplicacion implements ServicioSocial {
 
+    /**
+     * Tamaño máximo de página de las listas de seguidores y seguidos.
+     */
+    static final int LIMITE_MAXIMO = 100;
+
+    /**
+     * Cantidad máxima de usuarios a seguir en una sola llamada a seguirEnLote.
+     */
+    static final int LIMITE_SEGUIR_EN_LOTE = 1000;
+
+    /**
+     * Cantidad máxima de sugerencias por llamada a sugerenciasPara o
+     * similaresA.
+     */
+    static final int LIMITE_SUGERENCIAS = 50;
+
+    static final String ERROR_DEMASIADOS_USUARIOS = "No se pueden seguir más de " + LIMITE_SEGUIR_EN_LOTE
+            + " usuarios por vez";
+
     private final RepositorioUsuarios repositorioUsuarios;
     private final RepositorioFollows repositorioFollows;
+    private final RepositorioContadores repositorioContadores;
+    private final TimelinesMaterializados timelinesMaterializados;
+    private final SugerenciasDeSeguidos sugerencias;
+    private final UsuariosSimilares usuariosSimilares;
+    private final VersionesDeRecursos versiones;
+    private final ApplicationEventPublisher eventos;
 
     public ServicioSocialAplicacion(RepositorioUsuarios repositorioUsuarios,
-            RepositorioFollows repositorioFollows) {
+            RepositorioFollows repositorioFollows,
+            RepositorioContadores repositorioContadores,
+            TimelinesMaterializados timelinesMaterializados,
+            SugerenciasDeSeguidos sugerencias,
+            UsuariosSimilares usuariosSimilares,
+            VersionesDeRecursos versiones,
+            ApplicationEventPublisher eventos) {
 
         this.repositorioUsuarios = repositorioUsuarios;
         this.repositorioFollows = repositorioFollows;
+        this.repositorioContadores = repositorioContadores;
+        this.timelinesMaterializados = timelinesMaterializados;
+        this.sugerencias = sugerencias;
+        this.usuariosSimilares = usuariosSimilares;
+        this.versiones = versiones;
+        this.eventos = eventos;
     }
 
     @Override
+    @Transactional
     public void seguir(String keycloakIdSeguidor, Long idSeguido) {
         Usuario seguidor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdSeguidor);
         Usuario seguido = repositorioUsuarios.buscarPorId(idSeguido);
@@ -34,6 +83,57 @@ public class ServicioSocialAplicacion implements ServicioSocial {
 
         Follow follow = seguidor.seguir(seguido);
         repositorioFollows.guardar(follow);
+        repositorioContadores.sumarSeguidos(seguidor.id(), 1);
+        repositorioContadores.sumarSeguidores(seguido.id(), 1);
+        timelinesMaterializados.actualizarCelebridad(seguido);
+
+        // Backfill: los tweets recientes del seguido pasan al timeline del seguidor
+        timelinesMaterializados.incorporarSeguido(seguidor, seguido);
+        versiones.modificar(Recurso.SEGUIDORES, seguido.id());
+        eventos.publishEvent(new SeguidosModificados(keycloakIdSeguidor));
+        eventos.publishEvent(new SeguidoresModificados(seguidor.id(), List.of(seguido.id()), true));
+    }
+
+    /**
+     * Descarta los ya seguidos con el GrafoSocial (sin consultar follows),
+     * carga los usuarios en una consulta e inserta los follows en un solo
+     * batch, todo en una transacción.
+     */
+    @Override
+    @Transactional
+    public List<Long> seguirEnLote(String keycloakIdSeguidor, Collection<Long> idsSeguidos) {
+        if (idsSeguidos.size() > LIMITE_SEGUIR_EN_LOTE) {
+            throw new RuntimeException(ERROR_DEMASIADOS_USUARIOS);
+        }
+        Usuario seguidor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdSeguidor);
+        List<Long> candidatos = idsSeguidos.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(id -> !id.equals(seguidor.id()))
+                .toList();
+
+        List<Follow> follows = repositorioUsuarios.buscarPorIds(candidatos).stream()
+                .filter(seguido -> !repositorioFollows.existeFollowEntre(seguidor, seguido))
+                .map(seguidor::seguir)
+                .toList();
+        List<Usuario> seguidos = repositorioFollows.guardarEnLote(follows).stream()
+                .map(Follow::seguido)
+                .toList();
+        if (seguidos.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> idsNuevos = seguidos.stream().map(Usuario::id).toList();
+        repositorioContadores.sumarSeguidos(seguidor.id(), idsNuevos.size());
+        repositorioContadores.sumarSeguidores(idsNuevos, 1);
+        for (Usuario seguido : seguidos) {
+            timelinesMaterializados.actualizarCelebridad(seguido);
+            versiones.modificar(Recurso.SEGUIDORES, seguido.id());
+        }
+        timelinesMaterializados.incorporarSeguidos(seguidor, seguidos);
+        eventos.publishEvent(new SeguidosModificados(keycloakIdSeguidor));
+        eventos.publishEvent(new SeguidoresModificados(seguidor.id(), idsNuevos, true));
+        return idsNuevos;
     }
 
     @Override
@@ -51,17 +151,93 @@ public class ServicioSocialAplicacion implements ServicioSocial {
         seguidor.dejarDeSeguir(seguido);
         // Efecto concreto en persistencia:
         repositorioFollows.eliminarFollowEntre(seguidor, seguido);
+        repositorioContadores.sumarSeguidos(seguidor.id(), -1);
+        repositorioContadores.sumarSeguidores(seguido.id(), -1);
+
+        // El timeline del seguidor se reconstruye sin lo publicado por el seguido
+        timelinesMaterializados.quitarSeguido(seguidor, seguido);
+        timelinesMaterializados.actualizarCelebridad(seguido);
+        versiones.modificar(Recurso.SEGUIDORES, seguido.id());
+        eventos.publishEvent(new SeguidosModificados(keycloakIdSeguidor));
+        eventos.publishEvent(new SeguidoresModificados(seguidor.id(), List.of(seguido.id()), false));
     }
 
     @Override
-    public List<Usuario> seguidosDelActual(String keycloakIdSeguidor) {
+    public PaginaUsuarios seguidosDelActual(String keycloakIdSeguidor, CursorDeFollows cursor, int limite) {
         Usuario seguidor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdSeguidor);
-        return repositorioFollows.seguidosDe(seguidor);
+        int limiteAcotado = acotar(limite);
+        return pagina(repositorioFollows.seguidosDe(seguidor, idFollow(cursor), limiteAcotado), limiteAcotado);
     }
 
     @Override
-    public List<Usuario> seguidoresDe(Long idUsuario) {
+    public PaginaUsuarios seguidoresDe(Long idUsuario, CursorDeFollows cursor, int limite) {
         Usuario usuario = repositorioUsuarios.buscarPorId(idUsuario);
-        return repositorioFollows.seguidoresDe(usuario);
+        int limiteAcotado = acotar(limite);
+        return pagina(repositorioFollows.seguidoresDe(usuario, idFollow(cursor), limiteAcotado), limiteAcotado);
+    }
+
+    @Override
+    public List<Sugerencia> sugerenciasPara(String keycloakIdUsuario, int limite) {
+        Usuario usuario = repositorioUsuarios.buscarPorKeycloakId(keycloakIdUsuario);
+        List<Candidato> candidatos = sugerencias.para(keycloakIdUsuario, usuario.id());
+
+        Map<Long, Integer> caminos = new HashMap<>();
+        for (Candidato candidato : candidatos) {
+            caminos.put(candidato.idUsuario(), candidato.caminos());
+        }
+        // Una sola consulta, en el orden de los candidatos
+        return repositorioUsuarios.buscarPorIds(candidatos.stream().map(Candidato::idUsuario).toList()).stream()
+                .filter(Usuario::estaActivo)
+                .limit(Math.max(1, Math.min(limite, LIMITE_SUGERENCIAS)))
+                .map(sugerido -> new Sugerencia(sugerido, caminos.get(sugerido.id())))
+                .toList();
+    }
+
+    @Override
+    public List<UsuarioSimilar> similaresA(Long idUsuario, int limite) {
+        Usuario usuario = repositorioUsuarios.buscarPorId(idUsuario);
+        int limiteAcotado = Math.max(1, Math.min(limite, LIMITE_SUGERENCIAS));
+        // Margen para los dados de baja, que se descartan al cargarlos
+        List<Similar> similares = usuariosSimilares.similaresA(usuario.id(), limiteAcotado * 2);
+
+        Map<Long, Double> similitudes = new HashMap<>();
+        for (Similar similar : similares) {
+            similitudes.put(similar.idUsuario(), similar.similitud());
+        }
+        return repositorioUsuarios.buscarPorIds(similares.stream().map(Similar::idUsuario).toList()).stream()
+                .filter(Usuario::estaActivo)
+                .limit(limiteAcotado)
+                .map(similar -> new UsuarioSimilar(similar, similitudes.get(similar.id())))
+                .toList();
+    }
+
+    @Override
+    public List<Long> autoresDelTimeline(String keycloakIdUsuario) {
+        Usuario usuario = repositorioUsuarios.buscarPorKeycloakId(keycloakIdUsuario);
+        List<Long> autores = new ArrayList<>();
+        autores.add(usuario.id());
+        autores.addAll(repositorioFollows.idsDeSeguidosDe(usuario));
+        return autores;
+    }
+
+    /**
+     * Carga los usuarios de la página en una sola consulta, en el orden de sus
+     * follows. Una página completa puede tener siguiente.
+     */
+    private PaginaUsuarios pagina(List<FollowEnLista> follows, int limite) {
+        List<Usuario> usuarios = repositorioUsuarios.buscarPorIds(
+                follows.stream().map(FollowEnLista::idUsuario).toList());
+        CursorDeFollows siguiente = follows.size() == limite
+                ? new CursorDeFollows(follows.get(follows.size() - 1).idFollow())
+                : null;
+        return new PaginaUsuarios(usuarios, siguiente);
+    }
+
+    private static Long idFollow(CursorDeFollows cursor) {
+        return cursor == null ? null : cursor.idFollow();
+    }
+
+    private static int acotar(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
     }
 }
@@ -1,9 +1,10 @@
 package unrn.service;
 
-import unrn.model.Like;
 import unrn.model.RespuestaTweet;
 import unrn.model.ReTweet;
 import unrn.model.Tweet;
+import unrn.persistence.ResumenLike;
+import unrn.persistence.ResumenRespuesta;
 
 import java.util.List;
 
@@ -29,13 +30,24 @@ public interface ServicioTweets {
     /**
      * Timeline del usuario: tweets propios + tweets de seguidos + retweets de
      * seguidos.
-     * Retorna una lista unificada de items ordenados por fecha.
+     * Retorna una página de items unificados ordenados por fecha.
      * 
      * @param keycloakIdUsuario Identificador de Keycloak del usuario
-     * @param limite            Cantidad máxima de items a retornar
-     * @return Lista de items del timeline (tweets y retweets mezclados)
+     * @param cursor            Último item ya visto, null para la primera página
+     * @param limite            Cantidad máxima de items a retornar (acotada)
+     * @return Página de items del timeline (tweets y retweets mezclados)
      */
-    List<TimelineItem> timeline(String keycloakIdUsuario, int limite);
+    PaginaTimeline timeline(String keycloakIdUsuario, Cursor cursor, int limite);
+
+    /**
+     * Novedades del timeline: items posteriores a la posición "desde" (el
+     * item más nuevo que ya tiene el cliente) y cuántos son en total.
+     *
+     * @param keycloakIdUsuario Identificador de Keycloak del usuario
+     * @param desde             Posición del item más nuevo que tiene el cliente
+     * @param limite            Cantidad máxima de items a retornar (acotada)
+     */
+    NovedadesTimeline novedadesDelTimeline(String keycloakIdUsuario, Cursor desde, int limite);
 
     /**
      * Obtiene TODOS los tweets del sistema (sin filtrar por seguimiento).
@@ -43,21 +55,22 @@ public interface ServicioTweets {
      * Ordenados por fecha de creación descendente (más reciente primero).
      * 
      * @param limite Cantidad máxima de tweets a retornar
-     * @return Lista de tweets originales ordenados por fecha
+     * @return Vistas de los tweets originales ordenados por fecha
      */
-    List<Tweet> obtenerTodosTweets(int limite);
+    List<VistaTweet> obtenerTodosTweets(int limite);
 
     /**
      * Obtiene todos los tweets y retweets de un usuario específico.
      * Retorna tweets originales del usuario Y retweets hechos por ese usuario.
      * 
      * @param idUsuario ID del usuario
-     * @param limite    Cantidad máxima de items a retornar
-     * @return Lista de items (tweets y retweets) ordenados por fecha
+     * @param cursor    Último item ya visto, null para la primera página
+     * @param limite    Cantidad máxima de items a retornar (acotada)
+     * @return Página de items (tweets y retweets) ordenados por fecha
      */
-    List<TimelineItem> tweetsDeUsuario(Long idUsuario, int limite);
+    PaginaTimeline tweetsDeUsuario(Long idUsuario, Cursor cursor, int limite);
 
-    List<RespuestaTweet> respuestasDeTweet(Long idTweet);
+    List<ResumenRespuesta> respuestasDeTweet(Long idTweet);
 
-    List<Like> likesDeTweet(Long idTweet);
+    List<ResumenLike> likesDeTweet(Long idTweet);
 }
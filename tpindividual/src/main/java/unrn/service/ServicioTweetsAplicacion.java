@@ -1,53 +1,113 @@
 package unrn.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import unrn.api.exception.OperacionNoPermitidaException;
 import unrn.model.Like;
 import unrn.model.RespuestaTweet;
 import unrn.model.ReTweet;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
+import unrn.persistence.EntradaTimeline;
+import unrn.persistence.RepositorioContadores;
+import unrn.persistence.RepositorioFeed;
+import unrn.persistence.RepositorioFollows;
 import unrn.persistence.RepositorioLikes;
 import unrn.persistence.RepositorioRespuestas;
 import unrn.persistence.RepositorioRetweets;
 import unrn.persistence.RepositorioTweets;
 import unrn.persistence.RepositorioUsuarios;
-
+import unrn.persistence.ResumenLike;
+import unrn.persistence.ResumenRespuesta;
+import unrn.persistence.ResumenRetweet;
+import unrn.service.VersionesDeRecursos.Recurso;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ServicioTweetsAplicacion implements ServicioTweets {
 
+    /**
+     * Tamaño máximo de página para los feeds paginados (timeline, tweets de
+     * usuario). Con paginación por cursor no hace falta pedir más.
+     */
+    static final int LIMITE_MAXIMO = 100;
+
     private final RepositorioUsuarios repositorioUsuarios;
     private final RepositorioTweets repositorioTweets;
     private final RepositorioRetweets repositorioRetweets;
     private final RepositorioRespuestas repositorioRespuestas;
     private final RepositorioLikes repositorioLikes;
-    private final ServicioSocial servicioSocial;
+    private final RepositorioFeed repositorioFeed;
+    private final RepositorioFollows repositorioFollows;
+    private final RepositorioContadores repositorioContadores;
+    private final TimelinesMaterializados timelinesMaterializados;
+    private final HidratadorTweets hidratadorTweets;
+    private final FeedGlobal feedGlobal;
+    private final ConsultasParalelas consultasParalelas;
+    private final VersionesDeRecursos versiones;
+    private final ApplicationEventPublisher eventos;
 
     public ServicioTweetsAplicacion(RepositorioUsuarios repositorioUsuarios,
             RepositorioTweets repositorioTweets,
             RepositorioRetweets repositorioRetweets,
             RepositorioRespuestas repositorioRespuestas,
             RepositorioLikes repositorioLikes,
-            ServicioSocial servicioSocial) {
+            RepositorioFeed repositorioFeed,
+            RepositorioFollows repositorioFollows,
+            RepositorioContadores repositorioContadores,
+            TimelinesMaterializados timelinesMaterializados,
+            HidratadorTweets hidratadorTweets,
+            FeedGlobal feedGlobal,
+            ConsultasParalelas consultasParalelas,
+            VersionesDeRecursos versiones,
+            ApplicationEventPublisher eventos) {
 
         this.repositorioUsuarios = repositorioUsuarios;
         this.repositorioTweets = repositorioTweets;
         this.repositorioRetweets = repositorioRetweets;
         this.repositorioRespuestas = repositorioRespuestas;
         this.repositorioLikes = repositorioLikes;
-        this.servicioSocial = servicioSocial;
+        this.repositorioFeed = repositorioFeed;
+        this.repositorioFollows = repositorioFollows;
+        this.repositorioContadores = repositorioContadores;
+        this.timelinesMaterializados = timelinesMaterializados;
+        this.hidratadorTweets = hidratadorTweets;
+        this.feedGlobal = feedGlobal;
+        this.consultasParalelas = consultasParalelas;
+        this.versiones = versiones;
+        this.eventos = eventos;
     }
 
     @Override
+    @Transactional
     public Tweet publicarTweet(String keycloakIdAutor, String contenido) {
         Usuario autor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdAutor);
-        Tweet tweet = autor.publicarTweet(contenido);
-        return repositorioTweets.guardar(tweet);
+        Tweet tweet = repositorioTweets.guardar(autor.publicarTweet(contenido));
+        repositorioContadores.sumarTweets(autor.id(), 1);
+
+        // El fan-out a los timelines del autor y sus seguidores se hace después
+        // del commit (TimelinesMaterializados.alPublicar)
+        VistaTweet vista = hidratadorTweets.vista(tweet);
+        versiones.modificar(Recurso.TWEETS_DE_AUTOR, autor.id());
+        versiones.modificar(Recurso.TODOS_LOS_TWEETS);
+        eventos.publishEvent(PublicacionesModificadas.de(tweet.autor().id()));
+        eventos.publishEvent(new ItemPublicado(autor.id(), EntradaTimeline.deTweet(tweet),
+                TimelineItem.deTweet(vista)));
+        return tweet;
     }
 
     @Override
+    @Transactional
     public ReTweet retweetear(String keycloakIdAutor, Long idTweetOriginal) {
         Usuario autor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdAutor);
         Tweet original = repositorioTweets.buscarPorId(idTweetOriginal);
@@ -69,8 +129,17 @@ public class ServicioTweetsAplicacion implements ServicioTweets {
         }
 
         // Crear y guardar nuevo retweet
-        ReTweet retweet = autor.retweet(original);
-        return repositorioRetweets.guardar(retweet);
+        ReTweet retweet = repositorioRetweets.guardar(autor.retweet(original));
+        if (!original.estaEliminado()) {
+            repositorioContadores.sumarRetweetsRecibidos(original.autor().id(), 1);
+        }
+
+        // Fan-out después del commit, como en publicarTweet
+        versiones.modificar(Recurso.TWEETS_DE_AUTOR, autor.id());
+        eventos.publishEvent(PublicacionesModificadas.de(retweet.autor().id()));
+        eventos.publishEvent(new ItemPublicado(autor.id(), EntradaTimeline.deRetweet(retweet),
+                TimelineItem.deRetweet(hidratadorTweets.vista(original), autor.nombreUsuario())));
+        return retweet;
     }
 
     @Override
@@ -80,11 +149,13 @@ public class ServicioTweetsAplicacion implements ServicioTweets {
 
         Usuario autor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdAutor);
         Tweet tweetRespondido = repositorioTweets.buscarPorId(idTweetOriginal);
-        RespuestaTweet respuesta = autor.responder(tweetRespondido, contenido);
-        return repositorioRespuestas.guardar(respuesta);
+        RespuestaTweet respuesta = repositorioRespuestas.guardar(autor.responder(tweetRespondido, contenido));
+        versiones.modificar(Recurso.TWEET, tweetRespondido.id());
+        return respuesta;
     }
 
     @Override
+    @Transactional
     public void eliminarTweet(String keycloakIdAutor, Long idTweet) {
         Usuario autor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdAutor);
         Tweet tweet = repositorioTweets.buscarPorId(idTweet);
@@ -93,8 +164,30 @@ public class ServicioTweetsAplicacion implements ServicioTweets {
             throw new RuntimeException("No puede eliminar un tweet que no es suyo");
         }
 
+        boolean yaEliminado = tweet.estaEliminado();
         tweet.eliminar();
         repositorioTweets.guardar(tweet);
+
+        // El tweet también aparece en los timelines a través de sus retweets
+        Set<Long> afectados = new HashSet<>();
+        afectados.add(autor.id());
+        List<ReTweet> retweets = repositorioRetweets.retweetsDeTweet(tweet);
+        for (ReTweet retweet : retweets) {
+            afectados.add(retweet.autor().id());
+        }
+
+        // Los likes y retweets de un tweet eliminado dejan de contar para su autor
+        if (!yaEliminado) {
+            repositorioContadores.sumarTweets(autor.id(), -1);
+            repositorioContadores.sumarLikesRecibidos(autor.id(), -repositorioLikes.cantidadDeLikesDe(tweet));
+            repositorioContadores.sumarRetweetsRecibidos(autor.id(), -retweets.size());
+        }
+        for (Long afectado : afectados) {
+            versiones.modificar(Recurso.TWEETS_DE_AUTOR, afectado);
+        }
+        versiones.modificar(Recurso.TODOS_LOS_TWEETS);
+        eventos.publishEvent(TweetsEliminados.uno(autor.id(), tweet.id()));
+        eventos.publishEvent(new PublicacionesModificadas(afectados));
     }
 
     @Override
@@ -108,9 +201,11 @@ public class ServicioTweetsAplicacion implements ServicioTweets {
 
         respuesta.eliminar();
         repositorioRespuestas.guardar(respuesta);
+        versiones.modificar(Recurso.TWEET, respuesta.tweetRespondido().id());
     }
 
     @Override
+    @Transactional
     public void darLike(String keycloakIdAutor, Long idTweet) {
         Usuario autor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdAutor);
         Tweet tweet = repositorioTweets.buscarPorId(idTweet);
@@ -122,9 +217,15 @@ public class ServicioTweetsAplicacion implements ServicioTweets {
 
         Like like = autor.darLike(tweet);
         repositorioLikes.guardar(like);
+        if (!tweet.estaEliminado()) {
+            repositorioContadores.sumarLikesRecibidos(tweet.autor().id(), 1);
+        }
+        versiones.modificar(Recurso.TWEET, tweet.id());
+        eventos.publishEvent(new LikesModificados(tweet.id(), 1));
     }
 
     @Override
+    @Transactional
     public void quitarLike(String keycloakIdAutor, Long idTweet) {
         Usuario autor = repositorioUsuarios.buscarPorKeycloakId(keycloakIdAutor);
         Tweet tweet = repositorioTweets.buscarPorId(idTweet);
@@ -137,103 +238,154 @@ public class ServicioTweetsAplicacion implements ServicioTweets {
         for (Like like : likes) {
             if (like.esDe(autor)) {
                 repositorioLikes.eliminar(like);
+                if (!tweet.estaEliminado()) {
+                    repositorioContadores.sumarLikesRecibidos(tweet.autor().id(), -1);
+                }
+                versiones.modificar(Recurso.TWEET, tweet.id());
+                eventos.publishEvent(new LikesModificados(tweet.id(), -1));
                 break;
             }
         }
     }
 
     @Override
-    public List<TimelineItem> timeline(String keycloakIdUsuario, int limite) {
+    public PaginaTimeline timeline(String keycloakIdUsuario, Cursor cursor, int limite) {
         Usuario usuario = repositorioUsuarios.buscarPorKeycloakId(keycloakIdUsuario);
+        int limiteAcotado = acotar(limite);
 
-        // Obtener usuarios seguidos por el usuario actual
-        List<Usuario> seguidos = servicioSocial.seguidosDelActual(keycloakIdUsuario);
-
-        // Crear lista de autores: usuario actual + usuarios seguidos
-        List<Usuario> autoresDelTimeline = new java.util.ArrayList<>();
-        autoresDelTimeline.add(usuario); // El usuario ve sus propios tweets
-        autoresDelTimeline.addAll(seguidos); // Más los tweets de quienes sigue
-
-        // Buscar tweets originales de todos esos autores
-        List<Tweet> tweets = repositorioTweets.buscarTweetsDeAutores(autoresDelTimeline, limite);
-
-        // Buscar retweets hechos por esos autores
-        List<ReTweet> retweets = repositorioRetweets.buscarRetweetsDeAutores(autoresDelTimeline, limite);
+        // Corte ordenado del timeline materializado (tweets propios + de seguidos)
+        List<EntradaTimeline> entradas = timelinesMaterializados.entradasDe(usuario, cursor, limiteAcotado);
 
-        // Combinar tweets y retweets en una lista unificada
-        List<TimelineItem> items = new java.util.ArrayList<>();
-
-        // Agregar tweets como TimelineItem
-        for (Tweet tweet : tweets) {
-            items.add(TimelineItem.deTweet(tweet));
-        }
-
-        // Agregar retweets como TimelineItem
-        for (ReTweet retweet : retweets) {
-            items.add(TimelineItem.deRetweet(retweet));
-        }
-
-        // Ordenar por fecha descendente (más recientes primero)
-        items.sort((a, b) -> b.getFechaParaOrdenamiento().compareTo(a.getFechaParaOrdenamiento()));
-
-        // Limitar al número solicitado
-        if (items.size() > limite) {
-            items = items.subList(0, limite);
-        }
+        // El cursor sale de las entradas: la hidratación puede descartar eliminados
+        Cursor siguiente = entradas.size() == limiteAcotado ? Cursor.de(entradas.get(entradas.size() - 1)) : null;
+        Cursor masReciente = entradas.isEmpty() ? null : Cursor.de(entradas.get(0));
+        return new PaginaTimeline(hidratar(entradas), siguiente, masReciente);
+    }
 
-        return items;
+    @Override
+    public NovedadesTimeline novedadesDelTimeline(String keycloakIdUsuario, Cursor desde, int limite) {
+        Usuario usuario = repositorioUsuarios.buscarPorKeycloakId(keycloakIdUsuario);
+        int limiteAcotado = acotar(limite);
+
+        List<Long> autores = new ArrayList<>();
+        autores.add(usuario.id());
+        autores.addAll(repositorioFollows.idsDeSeguidosDe(usuario));
+
+        // Seek hacia adelante desde la posición del cliente: llegan de la más
+        // vieja a la más nueva, así una novedad no queda salteada si hay más
+        // que el límite
+        List<EntradaTimeline> entradas = new ArrayList<>(repositorioFeed.entradasDeAutoresPosterioresA(autores,
+                desde.fecha(), desde.esRetweet(), desde.id(), limiteAcotado));
+        long total = entradas.size() < limiteAcotado
+                ? entradas.size()
+                : repositorioFeed.contarEntradasDeAutoresPosterioresA(autores, desde.fecha(), desde.esRetweet(),
+                        desde.id());
+
+        Cursor masReciente = entradas.isEmpty() ? desde : Cursor.de(entradas.get(entradas.size() - 1));
+        Collections.reverse(entradas);
+        return new NovedadesTimeline(hidratar(entradas), total, masReciente);
     }
 
     @Override
-    public List<Tweet> obtenerTodosTweets(int limite) {
+    public List<VistaTweet> obtenerTodosTweets(int limite) {
+        // Es el mismo resultado para todos: se sirve desde memoria si alcanza
+        if (feedGlobal.cubre(limite)) {
+            return feedGlobal.recientes(limite);
+        }
+
         // Buscar TODOS los tweets del sistema sin filtrar por autor
         // Solo tweets originales, ordenados por fecha descendente
-        return repositorioTweets.buscarTodosTweets(limite);
+        return repositorioTweets.buscarTodosTweets(limite).stream()
+                .map(VistaTweet::de)
+                .toList();
     }
 
     @Override
-    public List<TimelineItem> tweetsDeUsuario(Long idUsuario, int limite) {
+    public PaginaTimeline tweetsDeUsuario(Long idUsuario, Cursor cursor, int limite) {
         Usuario usuario = repositorioUsuarios.buscarPorId(idUsuario);
+        int limiteAcotado = acotar(limite);
 
-        // Buscar tweets originales del usuario
-        List<Tweet> tweets = repositorioTweets.buscarTweetsDeAutores(List.of(usuario), limite);
-
-        // Buscar retweets hechos por el usuario
-        List<ReTweet> retweets = repositorioRetweets.buscarRetweetsDeAutores(List.of(usuario), limite);
+        // Tweets originales y retweets del usuario, ya mezclados y cortados por la BD
+        List<EntradaTimeline> entradas = cursor == null
+                ? repositorioFeed.entradasDeAutores(List.of(usuario.id()), limiteAcotado)
+                : repositorioFeed.entradasDeAutoresAnterioresA(List.of(usuario.id()), cursor.fecha(),
+                        cursor.esRetweet(), cursor.id(), limiteAcotado);
 
-        // Combinar tweets y retweets en una lista unificada
-        List<TimelineItem> items = new java.util.ArrayList<>();
-
-        // Agregar tweets como TimelineItem
-        for (Tweet tweet : tweets) {
-            items.add(TimelineItem.deTweet(tweet));
-        }
-
-        // Agregar retweets como TimelineItem
-        for (ReTweet retweet : retweets) {
-            items.add(TimelineItem.deRetweet(retweet));
-        }
-
-        // Ordenar por fecha descendente (más recientes primero)
-        items.sort((a, b) -> b.getFechaParaOrdenamiento().compareTo(a.getFechaParaOrdenamiento()));
-
-        // Limitar al número solicitado
-        if (items.size() > limite) {
-            items = items.subList(0, limite);
-        }
-
-        return items;
+        Cursor siguiente = entradas.size() == limiteAcotado ? Cursor.de(entradas.get(entradas.size() - 1)) : null;
+        return new PaginaTimeline(hidratar(entradas), siguiente);
     }
 
     @Override
-    public List<RespuestaTweet> respuestasDeTweet(Long idTweet) {
+    public List<ResumenRespuesta> respuestasDeTweet(Long idTweet) {
         Tweet tweet = repositorioTweets.buscarPorId(idTweet);
         return repositorioRespuestas.respuestasDeTweet(tweet);
     }
 
     @Override
-    public List<Like> likesDeTweet(Long idTweet) {
+    public List<ResumenLike> likesDeTweet(Long idTweet) {
         Tweet tweet = repositorioTweets.buscarPorId(idTweet);
-        return repositorioLikes.likesDeTweet(tweet);
+        return repositorioLikes.resumenesDeTweet(tweet);
+    }
+
+    private static int acotar(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Convierte entradas del timeline materializado en TimelineItem,
+     * respetando el orden de las entradas. Los retweets se proyectan en una
+     * consulta; los tweets (propios y retweeteados) salen de las vistas del
+     * HidratadorTweets, que solo consulta los que no tiene. Los tweets
+     * eliminados no se muestran.
+     *
+     * La proyección de retweets y las vistas de los tweets propios son
+     * independientes y se cargan a la vez; después solo faltan los originales
+     * retweeteados que no estaban entre los propios.
+     */
+    private List<TimelineItem> hidratar(List<EntradaTimeline> entradas) {
+        Set<Long> idsTweets = new HashSet<>();
+        Set<Long> idsRetweets = new HashSet<>();
+        for (EntradaTimeline entrada : entradas) {
+            if (entrada.esRetweet()) {
+                idsRetweets.add(entrada.id());
+            } else {
+                idsTweets.add(entrada.id());
+            }
+        }
+
+        ConsultasParalelas.Par<List<ResumenRetweet>, Map<Long, VistaTweet>> cargados = consultasParalelas.ambas(
+                "hidratacion",
+                "retweets", () -> repositorioRetweets.resumenesPorIds(idsRetweets),
+                "tweets", () -> hidratadorTweets.vistasPorId(idsTweets));
+        Map<Long, ResumenRetweet> retweets = cargados.primera().stream()
+                .collect(Collectors.toMap(ResumenRetweet::id, Function.identity()));
+        Map<Long, VistaTweet> vistas = new HashMap<>(cargados.segunda());
+
+        Set<Long> originalesFaltantes = new HashSet<>();
+        for (ResumenRetweet retweet : retweets.values()) {
+            if (!vistas.containsKey(retweet.idTweetOriginal())) {
+                originalesFaltantes.add(retweet.idTweetOriginal());
+            }
+        }
+        if (!originalesFaltantes.isEmpty()) {
+            vistas.putAll(hidratadorTweets.vistasPorId(originalesFaltantes));
+        }
+
+        List<TimelineItem> items = new ArrayList<>(entradas.size());
+        for (EntradaTimeline entrada : entradas) {
+            if (entrada.esRetweet()) {
+                ResumenRetweet retweet = retweets.get(entrada.id());
+                VistaTweet original = retweet == null ? null : vistas.get(retweet.idTweetOriginal());
+                if (original != null) {
+                    items.add(TimelineItem.deRetweet(original, retweet.autor()));
+                }
+            } else {
+                VistaTweet vista = vistas.get(entrada.id());
+                if (vista != null && !vista.eliminado()) {
+                    items.add(TimelineItem.deTweet(vista));
+                }
+            }
+        }
+        return items;
     }
 }
@@ -1,6 +1,10 @@
 package unrn.service;
 
 import org.springframework.security.oauth2.jwt.Jwt;
+import unrn.model.ContadoresUsuario;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Servicio de gestión de usuarios
@@ -30,4 +34,21 @@ public interface ServicioUsuarios {
      * @param keycloakId ID de Keycloak del usuario a desactivar
      */
     void desactivarUsuario(String keycloakId);
+
+    /**
+     * Contadores del perfil (seguidores, seguidos, tweets, likes y retweets
+     * recibidos), leídos de la tabla de contadores sin contar filas.
+     * 
+     * @param idUsuario ID del usuario
+     * @return Los contadores, en cero si el usuario todavía no tiene
+     */
+    ContadoresUsuario contadoresDe(Long idUsuario);
+
+    /**
+     * Contadores de varios usuarios en una sola consulta, para listados.
+     * 
+     * @param idsUsuarios IDs de los usuarios
+     * @return Contadores por ID de usuario (todos los IDs pedidos)
+     */
+    Map<Long, ContadoresUsuario> contadoresDe(Collection<Long> idsUsuarios);
 }
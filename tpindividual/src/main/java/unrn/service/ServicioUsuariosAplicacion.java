@@ -1,14 +1,20 @@
 package unrn.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import unrn.model.ContadoresUsuario;
 import unrn.model.Usuario;
+import unrn.persistence.RepositorioContadores;
 import unrn.persistence.RepositorioTweets;
 import unrn.persistence.RepositorioUsuarios;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio de gestión de usuarios.
@@ -19,11 +25,20 @@ public class ServicioUsuariosAplicacion implements ServicioUsuarios {
 
     private final RepositorioUsuarios repositorioUsuarios;
     private final RepositorioTweets repositorioTweets;
+    private final RepositorioContadores repositorioContadores;
+    private final VersionesDeRecursos versiones;
+    private final ApplicationEventPublisher eventos;
 
     public ServicioUsuariosAplicacion(RepositorioUsuarios repositorioUsuarios,
-            RepositorioTweets repositorioTweets) {
+            RepositorioTweets repositorioTweets,
+            RepositorioContadores repositorioContadores,
+            VersionesDeRecursos versiones,
+            ApplicationEventPublisher eventos) {
         this.repositorioUsuarios = repositorioUsuarios;
         this.repositorioTweets = repositorioTweets;
+        this.repositorioContadores = repositorioContadores;
+        this.versiones = versiones;
+        this.eventos = eventos;
     }
 
     /**
@@ -112,5 +127,20 @@ public class ServicioUsuariosAplicacion implements ServicioUsuarios {
         // 2. Marcar todos sus tweets como eliminados (orquestación desde servicio)
         // Esto mantiene la invariante: no pueden existir tweets de usuarios inactivos
         repositorioTweets.marcarTweetsComoEliminadosDe(usuario.id());
+        repositorioContadores.anularPublicaciones(usuario.id());
+        // Sus tweets, retweets, likes y follows aparecen en listas de otros usuarios
+        versiones.modificarTodos();
+        eventos.publishEvent(TweetsEliminados.todosDe(usuario.id()));
+        eventos.publishEvent(new PublicacionesModificadas(List.of(usuario.id())));
+    }
+
+    @Override
+    public ContadoresUsuario contadoresDe(Long idUsuario) {
+        return repositorioContadores.de(idUsuario);
+    }
+
+    @Override
+    public Map<Long, ContadoresUsuario> contadoresDe(Collection<Long> idsUsuarios) {
+        return repositorioContadores.dePorIds(idsUsuarios);
     }
 }
@@ -0,0 +1,12 @@
+package unrn.service;
+
+import unrn.model.Usuario;
+
+/**
+ * Usuario sugerido para seguir.
+ *
+ * @param seguidosQueLoSiguen Cuántos de los seguidos del usuario actual ya lo
+ *                            siguen
+ */
+public record Sugerencia(Usuario usuario, int seguidosQueLoSiguen) {
+}
@@ -0,0 +1,133 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.persistence.RepositorioFollows;
+import unrn.service.AmigosDeAmigos.Candidato;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Candidatos a seguir de cada usuario ("a quién seguir"), calculados con
+ * AmigosDeAmigos sobre el grafo en memoria y guardados por usuario.
+ *
+ * - Se calculan al pedirlos, solo para ese usuario, y se reutilizan hasta que
+ * él sigue o deja de seguir a alguien (evento SeguidosModificados) o vencen
+ * los ttl segundos (cambios en los seguidos de sus seguidos).
+ * - Al leerlos se descartan los que pasó a seguir desde el cálculo.
+ * - Acotada: al superar el máximo se descarta la entrada usada hace más
+ * tiempo (LRU). El cálculo se hace fuera del lock.
+ * - Usa su propio ForkJoinPool, para no competir con los parallel streams del
+ * pool común.
+ * - Métricas: sugerencias.calculo (duración) y sugerencias.cache (por
+ * resultado: acierto o fallo).
+ */
+@Component
+public class SugerenciasDeSeguidos {
+
+    /**
+     * Candidatos que se calculan y guardan por usuario: cubren el límite de
+     * la API aunque algunos se descarten al leer.
+     */
+    static final int CANDIDATOS = 100;
+
+    private final Map<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long generacion;
+
+    private final RepositorioFollows repositorioFollows;
+    private final AmigosDeAmigos amigosDeAmigos;
+    private final long ttlNanos;
+    private final int maximo;
+    private final Timer calculo;
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    public SugerenciasDeSeguidos(RepositorioFollows repositorioFollows,
+            @Value("${app.sugerencias.ttl-segundos:300}") long ttlSegundos,
+            @Value("${app.sugerencias.maximo-entradas:10000}") int maximo,
+            @Value("${app.sugerencias.umbral-aristas:20000}") int umbralDeAristas,
+            MeterRegistry registry) {
+
+        this.repositorioFollows = repositorioFollows;
+        this.amigosDeAmigos = new AmigosDeAmigos(
+                new ForkJoinPool(Runtime.getRuntime().availableProcessors()), umbralDeAristas);
+        this.ttlNanos = ttlSegundos * 1_000_000_000L;
+        this.maximo = maximo;
+        this.calculo = Timer.builder("sugerencias.calculo").register(registry);
+        this.aciertos = Counter.builder("sugerencias.cache").tag("resultado", "acierto").register(registry);
+        this.fallos = Counter.builder("sugerencias.cache").tag("resultado", "fallo").register(registry);
+    }
+
+    /**
+     * @return Hasta CANDIDATOS candidatos para el usuario, más caminos primero
+     */
+    public List<Candidato> para(String keycloakId, long idUsuario) {
+        Entrada entrada = vigente(keycloakId);
+        long generacionAlCalcular;
+        if (entrada == null) {
+            synchronized (this) {
+                generacionAlCalcular = generacion;
+            }
+            List<Candidato> candidatos = calculo.record(() -> amigosDeAmigos.candidatosPara(
+                    idUsuario, repositorioFollows::idsOrdenadosDeSeguidosDe, CANDIDATOS));
+            entrada = new Entrada(candidatos, System.nanoTime());
+            guardar(keycloakId, entrada, generacionAlCalcular);
+        }
+        return sinLosYaSeguidos(entrada.candidatos(), idUsuario);
+    }
+
+    /**
+     * Descarta los candidatos del usuario después del commit de un follow o
+     * unfollow suyo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alModificarSeguidos(SeguidosModificados evento) {
+        generacion++;
+        entradas.remove(evento.keycloakIdSeguidor());
+    }
+
+    private synchronized Entrada vigente(String keycloakId) {
+        Entrada entrada = entradas.get(keycloakId);
+        if (entrada != null && System.nanoTime() - entrada.creada() > ttlNanos) {
+            entradas.remove(keycloakId);
+            entrada = null;
+        }
+        (entrada != null ? aciertos : fallos).increment();
+        return entrada;
+    }
+
+    // Si hubo invalidaciones durante el cálculo no se guarda: pudo usar un
+    // grafo anterior al cambio
+    private synchronized void guardar(String keycloakId, Entrada entrada, long generacionAlCalcular) {
+        if (generacion != generacionAlCalcular) {
+            return;
+        }
+        entradas.put(keycloakId, entrada);
+        if (entradas.size() > maximo) {
+            entradas.remove(entradas.keySet().iterator().next());
+        }
+    }
+
+    private List<Candidato> sinLosYaSeguidos(List<Candidato> candidatos, long idUsuario) {
+        long[] seguidos = repositorioFollows.idsOrdenadosDeSeguidosDe(idUsuario);
+        List<Candidato> vigentes = new ArrayList<>(candidatos.size());
+        for (Candidato candidato : candidatos) {
+            if (Arrays.binarySearch(seguidos, candidato.idUsuario()) < 0) {
+                vigentes.add(candidato);
+            }
+        }
+        return vigentes;
+    }
+
+    private record Entrada(List<Candidato> candidatos, long creada) {
+    }
+}
@@ -1,59 +1,44 @@
 package unrn.service;
 
-import unrn.model.ReTweet;
-import unrn.model.Tweet;
-
-import java.time.LocalDateTime;
-
 /**
  * Representa un item del timeline que puede ser:
  * - Un tweet original
- * - Un retweet (con referencia al tweet original)
- * 
- * Permite unificar tweets y retweets en una sola colección ordenable.
+ * - Un retweet (el tweet original más quién lo compartió)
+ *
+ * Permite unificar tweets y retweets en una sola colección ordenada. El tweet
+ * viene ya hidratado como VistaTweet, sin referencias a entidades JPA.
  */
 public class TimelineItem {
 
-    private final Tweet tweetOriginal;
-    private final ReTweet retweet; // null si es tweet original
-    private final LocalDateTime fechaParaOrdenamiento;
-
-    // Constructor para tweet original
-    private TimelineItem(Tweet tweet) {
-        this.tweetOriginal = tweet;
-        this.retweet = null;
-        this.fechaParaOrdenamiento = tweet.fechaCreacion();
-    }
+    private final VistaTweet tweetOriginal;
+    private final String retweeteadoPor; // null si es tweet original
 
-    // Constructor para retweet
-    private TimelineItem(ReTweet retweet) {
-        this.tweetOriginal = retweet.original();
-        this.retweet = retweet;
-        this.fechaParaOrdenamiento = retweet.fechaCreacion();
+    private TimelineItem(VistaTweet tweetOriginal, String retweeteadoPor) {
+        this.tweetOriginal = tweetOriginal;
+        this.retweeteadoPor = retweeteadoPor;
     }
 
-    public static TimelineItem deTweet(Tweet tweet) {
-        return new TimelineItem(tweet);
+    public static TimelineItem deTweet(VistaTweet tweet) {
+        return new TimelineItem(tweet, null);
     }
 
-    public static TimelineItem deRetweet(ReTweet retweet) {
-        return new TimelineItem(retweet);
+    public static TimelineItem deRetweet(VistaTweet tweetOriginal, String retweeteadoPor) {
+        return new TimelineItem(tweetOriginal, retweeteadoPor);
     }
 
     public boolean esRetweet() {
-        return retweet != null;
+        return retweeteadoPor != null;
     }
 
-    public Tweet getTweetOriginal() {
+    public VistaTweet getTweetOriginal() {
         return tweetOriginal;
     }
 
-    public ReTweet getRetweet() {
-        return retweet;
-    }
-
-    public LocalDateTime getFechaParaOrdenamiento() {
-        return fechaParaOrdenamiento;
+    /**
+     * Nombre del usuario que compartió el tweet, null si es tweet original.
+     */
+    public String getRetweeteadoPor() {
+        return retweeteadoPor;
     }
 
     /**
@@ -63,8 +48,8 @@ public class TimelineItem {
      */
     public String getAutorEnTimeline() {
         if (esRetweet()) {
-            return retweet.autor().nombreUsuario();
+            return retweeteadoPor;
         }
-        return tweetOriginal.autor().nombreUsuario();
+        return tweetOriginal.autor();
     }
 }
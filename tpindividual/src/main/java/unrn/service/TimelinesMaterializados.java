@@ -0,0 +1,211 @@
+package unrn.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.model.Usuario;
+import unrn.persistence.EntradaTimeline;
+import unrn.persistence.MezclaOrdenada;
+import unrn.persistence.RepositorioFeed;
+import unrn.persistence.RepositorioFollows;
+import unrn.persistence.RepositorioTimelines;
+import unrn.persistence.RepositorioTimelinesEnMemoria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Mantiene los timelines materializados (fan-out on write).
+ *
+ * Estrategia:
+ * - Al publicar o retweetear, después del commit, la entrada se empuja al
+ * timeline del autor y de cada uno de sus seguidores.
+ * - Al leer, si el timeline del usuario no está materializado (primer acceso o
+ * reinicio del proceso) se construye una vez desde la base de datos.
+ * - Al seguir a alguien se incorporan sus tweets recientes (backfill); al
+ * dejar de seguirlo se quitan sus entradas (trim).
+ * - El timeline en memoria está acotado: cuando una página llega más allá de
+ * lo materializado, se completa desde la base de datos con el mismo cursor.
+ * - Modo híbrido: lo que publican las celebridades (ver Celebridades) no se
+ * difunde; queda en un índice por autor y se mezcla al leer el timeline de
+ * cada seguidor. La página propia y la de cada celebridad se leen a la vez
+ * (ver ConsultasParalelas).
+ */
+@Component
+public class TimelinesMaterializados {
+
+    private final RepositorioTimelines repositorioTimelines;
+    private final RepositorioFollows repositorioFollows;
+    private final RepositorioFeed repositorioFeed;
+    private final Celebridades celebridades;
+    private final ConsultasParalelas consultasParalelas;
+    private final int capacidad;
+
+    // Índice por autor: lo último que publicó cada celebridad
+    private final RepositorioTimelines publicacionesDeCelebridades;
+
+    public TimelinesMaterializados(RepositorioTimelines repositorioTimelines,
+            RepositorioFollows repositorioFollows,
+            RepositorioFeed repositorioFeed,
+            Celebridades celebridades,
+            ConsultasParalelas consultasParalelas,
+            @Value("${app.timeline.capacidad:800}") int capacidad) {
+
+        this.repositorioTimelines = repositorioTimelines;
+        this.repositorioFollows = repositorioFollows;
+        this.repositorioFeed = repositorioFeed;
+        this.celebridades = celebridades;
+        this.consultasParalelas = consultasParalelas;
+        this.capacidad = capacidad;
+        this.publicacionesDeCelebridades = new RepositorioTimelinesEnMemoria(capacidad);
+    }
+
+    /**
+     * Fan-out del tweet o retweet nuevo, después del commit: si la transacción
+     * se revierte no queda una entrada que no existe en la base de datos, y
+     * nadie la lee antes de que se confirme.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alPublicar(ItemPublicado evento) {
+        difundir(evento.idAutor(), evento.entrada());
+    }
+
+    /**
+     * Backfill: el seguidor empieza a ver los tweets y retweets recientes del
+     * seguido. Las celebridades no se incorporan: se mezclan al leer.
+     */
+    public void incorporarSeguido(Usuario seguidor, Usuario seguido) {
+        if (celebridades.esCelebridad(seguido.id()) || !repositorioTimelines.estaMaterializado(seguidor.id())) {
+            return;
+        }
+        repositorioTimelines.incorporar(seguidor.id(), repositorioFeed.entradasDeAutores(List.of(seguido.id()),
+                capacidad));
+    }
+
+    /**
+     * Backfill de varios seguidos a la vez (seguir en lote), con una sola
+     * consulta.
+     */
+    public void incorporarSeguidos(Usuario seguidor, Collection<Usuario> seguidos) {
+        if (!repositorioTimelines.estaMaterializado(seguidor.id())) {
+            return;
+        }
+        List<Long> autores = seguidos.stream()
+                .map(Usuario::id)
+                .filter(id -> !celebridades.esCelebridad(id))
+                .toList();
+        if (!autores.isEmpty()) {
+            repositorioTimelines.incorporar(seguidor.id(), repositorioFeed.entradasDeAutores(autores, capacidad));
+        }
+    }
+
+    /**
+     * Trim: el seguidor deja de ver lo publicado por el seguido. Las entradas
+     * no guardan el autor: se buscan las recientes del seguido (las únicas que
+     * pueden estar en un timeline acotado a la capacidad) y se quitan.
+     */
+    public void quitarSeguido(Usuario seguidor, Usuario seguido) {
+        if (!repositorioTimelines.estaMaterializado(seguidor.id())) {
+            return;
+        }
+        repositorioTimelines.quitar(seguidor.id(), repositorioFeed.entradasDeAutores(List.of(seguido.id()),
+                capacidad));
+    }
+
+    /**
+     * Reevalúa si el usuario es celebridad después de ganar o perder un
+     * seguidor.
+     */
+    public void actualizarCelebridad(Usuario usuario) {
+        if (!celebridades.actualizar(usuario)) {
+            return;
+        }
+
+        // Dejó de ser celebridad: lo que publicó mientras lo era nunca llegó a
+        // los timelines de sus seguidores. Se incorpora una sola vez.
+        publicacionesDeCelebridades.descartar(usuario.id());
+        List<EntradaTimeline> recientes = repositorioFeed.entradasDeAutores(List.of(usuario.id()), capacidad);
+        for (Long idSeguidor : repositorioFollows.idsDeSeguidoresDe(usuario)) {
+            repositorioTimelines.incorporar(idSeguidor, recientes);
+        }
+    }
+
+    /**
+     * Una página del timeline del usuario, materializándolo si hace falta.
+     *
+     * @param cursor Último item ya visto, null para la primera página
+     */
+    public List<EntradaTimeline> entradasDe(Usuario usuario, Cursor cursor, int limite) {
+        List<Long> seguidos = repositorioFollows.idsDeSeguidosDe(usuario);
+        List<Long> celebridadesSeguidas = celebridades.entre(seguidos);
+
+        List<Long> autores = new ArrayList<>();
+        autores.add(usuario.id()); // El usuario ve sus propios tweets
+        for (Long idSeguido : seguidos) {
+            if (!celebridadesSeguidas.contains(idSeguido)) {
+                autores.add(idSeguido); // Más los de quienes sigue, salvo celebridades
+            }
+        }
+
+        if (celebridadesSeguidas.isEmpty()) {
+            return pagina(repositorioTimelines, usuario.id(), autores, cursor, limite);
+        }
+
+        // Mezcla al leer con el índice de cada celebridad seguida. Las páginas son
+        // independientes: se leen a la vez
+        List<Supplier<List<EntradaTimeline>>> paginas = new ArrayList<>();
+        paginas.add(() -> pagina(repositorioTimelines, usuario.id(), autores, cursor, limite));
+        for (Long idCelebridad : celebridadesSeguidas) {
+            paginas.add(() -> pagina(publicacionesDeCelebridades, idCelebridad, List.of(idCelebridad), cursor,
+                    limite));
+        }
+        List<Iterator<EntradaTimeline>> fuentes = new ArrayList<>();
+        for (List<EntradaTimeline> pagina : consultasParalelas.todas("entradas", "pagina", paginas)) {
+            fuentes.add(pagina.iterator());
+        }
+        return MezclaOrdenada.mezclar(fuentes, EntradaTimeline.MAS_RECIENTE_PRIMERO, limite);
+    }
+
+    private void difundir(Long idAutor, EntradaTimeline entrada) {
+        repositorioTimelines.agregar(idAutor, entrada);
+        if (celebridades.esCelebridad(idAutor)) {
+            // Sin fan-out: los seguidores lo leen del índice por autor
+            publicacionesDeCelebridades.agregar(idAutor, entrada);
+            return;
+        }
+        for (long idSeguidor : repositorioFollows.idsOrdenadosDeSeguidoresDe(idAutor)) {
+            repositorioTimelines.agregar(idSeguidor, entrada);
+        }
+    }
+
+    /**
+     * Lee una página de un timeline en memoria, materializándolo desde las
+     * publicaciones de los autores si hace falta y completándola desde la base
+     * de datos si lo materializado no alcanza.
+     */
+    private List<EntradaTimeline> pagina(RepositorioTimelines timelines, Long clave, List<Long> autores,
+            Cursor cursor, int limite) {
+
+        timelines.materializarSiFalta(clave, () -> repositorioFeed.entradasDeAutores(autores, capacidad));
+
+        List<EntradaTimeline> entradas = cursor == null
+                ? timelines.leer(clave, limite)
+                : timelines.leerAnterioresA(clave, cursor.fecha(), cursor.esRetweet(), cursor.id(), limite);
+        if (entradas.size() == limite || timelines.estaCompleto(clave)) {
+            return entradas;
+        }
+
+        // Lo materializado no alcanza: seguir desde la base de datos
+        Cursor desde = entradas.isEmpty() ? cursor : Cursor.de(entradas.get(entradas.size() - 1));
+        if (desde == null) {
+            return repositorioFeed.entradasDeAutores(autores, limite);
+        }
+        List<EntradaTimeline> pagina = new ArrayList<>(entradas);
+        pagina.addAll(repositorioFeed.entradasDeAutoresAnterioresA(autores, desde.fecha(), desde.esRetweet(), desde.id(),
+                limite - entradas.size()));
+        return pagina;
+    }
+}
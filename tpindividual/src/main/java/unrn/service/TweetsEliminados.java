@@ -0,0 +1,20 @@
+package unrn.service;
+
+/**
+ * Evento: se eliminaron tweets. Si idTweet es null, se eliminaron todos los
+ * tweets del autor (usuario desactivado).
+ */
+public record TweetsEliminados(Long idAutor, Long idTweet) {
+
+    public static TweetsEliminados uno(Long idAutor, Long idTweet) {
+        return new TweetsEliminados(idAutor, idTweet);
+    }
+
+    public static TweetsEliminados todosDe(Long idAutor) {
+        return new TweetsEliminados(idAutor, null);
+    }
+
+    public boolean incluye(VistaTweet vista) {
+        return idTweet != null ? idTweet.equals(vista.id()) : idAutor.equals(vista.idAutor());
+    }
+}
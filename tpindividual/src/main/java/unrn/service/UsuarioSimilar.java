@@ -0,0 +1,12 @@
+package unrn.service;
+
+import unrn.model.Usuario;
+
+/**
+ * Usuario con seguidores parecidos a los de otro.
+ *
+ * @param similitud Similitud de Jaccard estimada entre ambos conjuntos de
+ *                  seguidores, entre 0 y 1
+ */
+public record UsuarioSimilar(Usuario usuario, double similitud) {
+}
@@ -0,0 +1,96 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import unrn.persistence.RepositorioFollows;
+import unrn.service.FirmasMinHash.Similar;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Usuarios parecidos a uno dado por sus seguidores, con FirmasMinHash sobre
+ * el grafo en memoria: la consulta no recorre la tabla follows ni compara de
+ * a pares.
+ *
+ * - Las firmas se calculan la primera vez que se consultan, para todos los
+ * usuarios con seguidores.
+ * - Después se mantienen con cada follow y unfollow confirmado (evento
+ * SeguidoresModificados), sin recalcular el resto.
+ * - Un ReentrantLock y no synchronized, como en Celebridades: la carga
+ * inicial recorre todo el grafo.
+ * - Métricas: similares.consulta (duración) y similares.usuarios (usuarios
+ * con firma).
+ */
+@Component
+public class UsuariosSimilares {
+
+    private final RepositorioFollows repositorioFollows;
+    private final FirmasMinHash firmas = new FirmasMinHash();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Timer consulta;
+    private boolean cargadas;
+
+    public UsuariosSimilares(RepositorioFollows repositorioFollows, MeterRegistry registry) {
+        this.repositorioFollows = repositorioFollows;
+        this.consulta = Timer.builder("similares.consulta").register(registry);
+        Gauge.builder("similares.usuarios", this, UsuariosSimilares::cantidadDeUsuarios).register(registry);
+    }
+
+    /**
+     * @return Los usuarios más parecidos primero, con la similitud de Jaccard
+     *         estimada de sus seguidores
+     */
+    public List<Similar> similaresA(long idUsuario, int limite) {
+        lock.lock();
+        try {
+            cargar();
+            return consulta.record(() -> firmas.similaresA(idUsuario, limite));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarSeguidores(SeguidoresModificados evento) {
+        lock.lock();
+        try {
+            if (!cargadas) {
+                // La carga inicial ya va a leer el grafo con este cambio
+                return;
+            }
+            for (Long idSeguido : evento.idsSeguidos()) {
+                if (evento.alta()) {
+                    firmas.agregarSeguidor(idSeguido, evento.idSeguidor());
+                } else {
+                    firmas.quitarSeguidor(idSeguido, evento.idSeguidor(),
+                            repositorioFollows.idsOrdenadosDeSeguidoresDe(idSeguido));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cargar() {
+        if (cargadas) {
+            return;
+        }
+        for (Long idUsuario : repositorioFollows.idsConAlMenosSeguidores(1)) {
+            firmas.calcular(idUsuario, repositorioFollows.idsOrdenadosDeSeguidoresDe(idUsuario));
+        }
+        cargadas = true;
+    }
+
+    private int cantidadDeUsuarios() {
+        lock.lock();
+        try {
+            return firmas.cantidadDeUsuarios();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
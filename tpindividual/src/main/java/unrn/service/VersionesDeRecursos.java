@@ -0,0 +1,98 @@
+package unrn.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versión de cada recurso que se lista por la API (tweets de un autor,
+ * respuestas y likes de un tweet, seguidores de un usuario, todos los
+ * tweets). Los servicios la incrementan en cada escritura que lo modifica y
+ * los controllers la usan como ETag: si el cliente ya tiene la versión
+ * actual se responde 304 sin consultar la base de datos.
+ *
+ * - Contadores por franja (hash del recurso), memoria fija: dos recursos en la
+ * misma franja comparten versión, lo que solo provoca algún 200 de más.
+ * - Dentro de una transacción la versión se incrementa después del commit; si
+ * no, una lectura concurrente podría guardar datos viejos con la versión
+ * nueva.
+ * - El ETag incluye el arranque del proceso: las versiones no sobreviven a un
+ * reinicio.
+ */
+@Component
+public class VersionesDeRecursos {
+
+    public enum Recurso {
+        TWEETS_DE_AUTOR,
+        TWEET,
+        SEGUIDORES,
+        TODOS_LOS_TWEETS
+    }
+
+    private static final int FRANJAS = 4096;
+    private static final long SIN_ID = 0;
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versiones = new AtomicLongArray(FRANJAS);
+
+    public String etag(Recurso recurso, Long id) {
+        return "\"" + arranque + "-" + recurso.ordinal() + "-" + id + "-" + versiones.get(franja(recurso, id)) + "\"";
+    }
+
+    public String etag(Recurso recurso) {
+        return etag(recurso, SIN_ID);
+    }
+
+    /**
+     * ETag de una variante del recurso (por ejemplo, otro límite): comparte la
+     * versión pero no el valor.
+     */
+    public String etagDeVariante(Recurso recurso, Long id, int variante) {
+        String etag = etag(recurso, id);
+        return etag.substring(0, etag.length() - 1) + "-" + variante + "\"";
+    }
+
+    public String etagDeVariante(Recurso recurso, int variante) {
+        return etagDeVariante(recurso, SIN_ID, variante);
+    }
+
+    public void modificar(Recurso recurso, Long id) {
+        int franja = franja(recurso, id);
+        despuesDelCommit(() -> versiones.incrementAndGet(franja));
+    }
+
+    public void modificar(Recurso recurso) {
+        modificar(recurso, SIN_ID);
+    }
+
+    /**
+     * Invalida todas las versiones. Para escrituras poco frecuentes que
+     * afectan a muchos recursos (desactivar un usuario).
+     */
+    public void modificarTodos() {
+        despuesDelCommit(() -> {
+            for (int i = 0; i < FRANJAS; i++) {
+                versiones.incrementAndGet(i);
+            }
+        });
+    }
+
+    private static void despuesDelCommit(Runnable incremento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incremento.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incremento.run();
+            }
+        });
+    }
+
+    private static int franja(Recurso recurso, Long id) {
+        return ((31 * recurso.ordinal() + Long.hashCode(id)) & 0x7fffffff) % FRANJAS;
+    }
+}
@@ -0,0 +1,42 @@
+package unrn.service;
+
+import unrn.model.Tweet;
+import unrn.persistence.ResumenTweet;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Vista inmutable de un tweet con todo lo que se muestra de él, ya resuelto:
+ * nombre del autor y fecha formateada. Se arma una vez por tweet y se guarda
+ * en HidratadorTweets.
+ */
+public record VistaTweet(
+        Long id,
+        Long idAutor,
+        String autor,
+        String contenido,
+        String fechaCreacion,
+        boolean eliminado) {
+
+    private static final DateTimeFormatter FORMATO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    public static VistaTweet de(Tweet tweet) {
+        return new VistaTweet(
+                tweet.id(),
+                tweet.autor().id(),
+                tweet.autor().nombreUsuario(),
+                tweet.contenido(),
+                tweet.fechaCreacion().format(FORMATO),
+                tweet.estaEliminado());
+    }
+
+    public static VistaTweet de(ResumenTweet resumen) {
+        return new VistaTweet(
+                resumen.id(),
+                resumen.idAutor(),
+                resumen.autor(),
+                resumen.contenido(),
+                resumen.fechaCreacion().format(FORMATO),
+                resumen.eliminado());
+    }
+}
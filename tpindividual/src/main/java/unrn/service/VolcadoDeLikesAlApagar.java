@@ -0,0 +1,27 @@
+package unrn.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vuelca los likes pendientes al apagar la aplicación.
+ *
+ * Vive aparte de ContadorDeLikes para llamar a volcar a través del proxy de
+ * Spring: desde el propio contador la llamada no pasaría por @Transactional y
+ * el volcado correría sin transacción. Como depende del contador, Spring lo
+ * destruye antes que a él y que al pool de conexiones.
+ */
+@Component
+class VolcadoDeLikesAlApagar implements DisposableBean {
+
+    private final ContadorDeLikes contadorDeLikes;
+
+    VolcadoDeLikesAlApagar(ContadorDeLikes contadorDeLikes) {
+        this.contadorDeLikes = contadorDeLikes;
+    }
+
+    @Override
+    public void destroy() {
+        contadorDeLikes.volcar();
+    }
+}
@@ -0,0 +1,106 @@
+package unrn.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unrn.api.dto.TimelineResponse;
+import unrn.service.PublicacionesModificadas;
+import unrn.service.SeguidosModificados;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheDeTimelinesTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+    private static final TimelineResponse RESPUESTA = new TimelineResponse(List.of(), null);
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    private CacheDeTimelines nuevaCache(int maximo) {
+        return new CacheDeTimelines(30, maximo, new SimpleMeterRegistry(), reloj::get);
+    }
+
+    @Test
+    @DisplayName("Una publicación de un autor del timeline invalida la respuesta guardada")
+    void alModificarPublicaciones_autorIncluido_invalida() {
+        // Setup
+        var cache = nuevaCache(10);
+        cache.guardar("kc-1", 50, List.of(1L, 2L), RESPUESTA, cache.generacion());
+        cache.guardar("kc-3", 50, List.of(3L), RESPUESTA, cache.generacion());
+
+        // Ejercitación
+        cache.alModificarPublicaciones(new PublicacionesModificadas(List.of(2L)));
+
+        // Verificación
+        assertNull(cache.buscar("kc-1", 50), "El timeline que incluye al autor debe invalidarse");
+        assertSame(RESPUESTA, cache.buscar("kc-3", 50), "Los timelines que no lo incluyen se mantienen");
+    }
+
+    @Test
+    @DisplayName("Una respuesta calculada antes de una invalidación no se guarda")
+    void guardar_invalidadaMientrasSeCalculaba_noGuarda() {
+        // Setup
+        var cache = nuevaCache(10);
+        long generacion = cache.generacion();
+        cache.alModificarSeguidos(new SeguidosModificados("kc-1"));
+
+        // Ejercitación
+        cache.guardar("kc-1", 50, List.of(1L), RESPUESTA, generacion);
+
+        // Verificación
+        assertNull(cache.buscar("kc-1", 50), "No debe quedar guardada una respuesta posiblemente vieja");
+    }
+
+    @Test
+    @DisplayName("Una respuesta vencida no se devuelve")
+    void buscar_ttlVencido_devuelveNull() {
+        // Setup
+        var cache = nuevaCache(10);
+        cache.guardar("kc-1", 50, List.of(1L), RESPUESTA, cache.generacion());
+
+        // Ejercitación
+        reloj.addAndGet(31 * SEGUNDO);
+
+        // Verificación
+        assertNull(cache.buscar("kc-1", 50), "La entrada debe vencer pasado el ttl");
+        assertEquals(0, cache.tamanio(), "La entrada vencida debe descartarse");
+    }
+
+    @Test
+    @DisplayName("Al superar el máximo se descarta la entrada usada hace más tiempo")
+    void guardar_superaMaximo_descartaLaMenosUsada() {
+        // Setup
+        var cache = nuevaCache(2);
+        cache.guardar("kc-1", 50, List.of(1L), RESPUESTA, cache.generacion());
+        cache.guardar("kc-2", 50, List.of(2L), RESPUESTA, cache.generacion());
+        cache.buscar("kc-1", 50);
+
+        // Ejercitación
+        cache.guardar("kc-3", 50, List.of(3L), RESPUESTA, cache.generacion());
+
+        // Verificación
+        assertNull(cache.buscar("kc-2", 50), "La entrada menos usada debe descartarse");
+        assertSame(RESPUESTA, cache.buscar("kc-1", 50), "La entrada usada recientemente se mantiene");
+    }
+
+    @Test
+    @DisplayName("Al reemplazar la respuesta de un usuario solo la invalidan sus autores nuevos")
+    void guardar_reemplazaRespuesta_seIndexaPorLosAutoresNuevos() {
+        // Setup
+        var cache = nuevaCache(10);
+        var nueva = new TimelineResponse(List.of(), "siguiente");
+        cache.guardar("kc-1", 50, List.of(1L), RESPUESTA, cache.generacion());
+        cache.guardar("kc-1", 50, List.of(2L), nueva, cache.generacion());
+
+        // Ejercitación
+        cache.alModificarPublicaciones(new PublicacionesModificadas(List.of(1L)));
+
+        // Verificación
+        assertSame(nueva, cache.buscar("kc-1", 50), "Un autor que ya no forma el timeline no debe invalidarlo");
+        cache.alModificarPublicaciones(new PublicacionesModificadas(List.of(2L)));
+        assertNull(cache.buscar("kc-1", 50), "Un autor del timeline nuevo debe invalidarlo");
+    }
+}
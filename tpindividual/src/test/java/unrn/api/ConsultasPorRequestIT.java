@@ -0,0 +1,155 @@
+package unrn.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import unrn.model.Tweet;
+import unrn.model.Usuario;
+import unrn.persistence.RepositorioUsuarios;
+import unrn.service.ServicioSocial;
+import unrn.service.ServicioTweets;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guarda contra N+1: la cantidad de sentencias SQL de cada endpoint de listas
+ * no depende de la cantidad de filas devueltas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConsultasPorRequestIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RepositorioUsuarios repositorioUsuarios;
+
+    @Autowired
+    ServicioSocial servicioSocial;
+
+    @Autowired
+    ServicioTweets servicioTweets;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Listar seguidores usa las mismas consultas con 2 o con 8 seguidores")
+    void seguidores_cantidadDeConsultasConstante() throws Exception {
+        // Setup
+        Usuario pocos = usuario("n1-pocos");
+        Usuario muchos = usuario("n1-muchos");
+        seguidores(pocos, 2);
+        seguidores(muchos, 8);
+
+        // Ejercitación
+        long conPocos = sentencias(get("/api/social/usuarios/{id}/seguidores", pocos.id())
+                .with(jwt().jwt(jwt -> jwt.subject(pocos.keycloakId()))));
+        long conMuchos = sentencias(get("/api/social/usuarios/{id}/seguidores", muchos.id())
+                .with(jwt().jwt(jwt -> jwt.subject(muchos.keycloakId()))));
+
+        // Verificación
+        assertEquals(conPocos, conMuchos, "La cantidad de consultas no debe crecer con los seguidores");
+    }
+
+    @Test
+    @DisplayName("Listar tweets de un usuario usa las mismas consultas con 2 o con 8 items")
+    void tweetsDeUsuario_cantidadDeConsultasConstante() throws Exception {
+        // Setup
+        Usuario pocos = usuario("n1-autor-pocos");
+        Usuario muchos = usuario("n1-autor-muchos");
+        Usuario otro = usuario("n1-autor-otro");
+        publicacionesConRetweets(pocos, otro, 1);
+        publicacionesConRetweets(muchos, otro, 4);
+
+        // Ejercitación
+        long conPocos = sentencias(get("/api/usuarios/{id}/tweets", pocos.id())
+                .with(jwt().jwt(jwt -> jwt.subject(pocos.keycloakId()))));
+        long conMuchos = sentencias(get("/api/usuarios/{id}/tweets", muchos.id())
+                .with(jwt().jwt(jwt -> jwt.subject(muchos.keycloakId()))));
+
+        // Verificación
+        assertEquals(conPocos, conMuchos, "La cantidad de consultas no debe crecer con los tweets");
+    }
+
+    @Test
+    @DisplayName("Listar likes de un tweet usa las mismas consultas con 2 o con 8 likes")
+    void likes_cantidadDeConsultasConstante() throws Exception {
+        // Setup
+        Usuario autor = usuario("n1-likes-autor");
+        Tweet conPocosLikes = servicioTweets.publicarTweet(autor.keycloakId(), "pocos likes");
+        Tweet conMuchosLikes = servicioTweets.publicarTweet(autor.keycloakId(), "muchos likes");
+        likes(conPocosLikes, "n1-likes-a", 2);
+        likes(conMuchosLikes, "n1-likes-b", 8);
+
+        // Ejercitación
+        long conPocos = sentencias(get("/api/tweets/{id}/likes", conPocosLikes.id())
+                .with(jwt().jwt(jwt -> jwt.subject(autor.keycloakId()))));
+        long conMuchos = sentencias(get("/api/tweets/{id}/likes", conMuchosLikes.id())
+                .with(jwt().jwt(jwt -> jwt.subject(autor.keycloakId()))));
+
+        // Verificación
+        assertEquals(conPocos, conMuchos, "La cantidad de consultas no debe crecer con los likes");
+    }
+
+    private long sentencias(RequestBuilder request) throws Exception {
+        estadisticas.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private Usuario usuario(String nombre) {
+        return repositorioUsuarios.guardar(new Usuario(
+                "kc-" + nombre,
+                nombre,
+                nombre + "@example.com",
+                LocalDateTime.now(),
+                null,
+                null));
+    }
+
+    private void seguidores(Usuario seguido, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            Usuario seguidor = usuario(seguido.nombreUsuario() + "-seguidor-" + i);
+            servicioSocial.seguir(seguidor.keycloakId(), seguido.id());
+        }
+    }
+
+    private void publicacionesConRetweets(Usuario autor, Usuario otro, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            servicioTweets.publicarTweet(autor.keycloakId(), "tweet " + i);
+            Tweet ajeno = servicioTweets.publicarTweet(otro.keycloakId(), "para retweetear " + i);
+            servicioTweets.retweetear(autor.keycloakId(), ajeno.id());
+        }
+    }
+
+    private void likes(Tweet tweet, String prefijo, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            Usuario fan = usuario(prefijo + "-" + i);
+            servicioTweets.darLike(fan.keycloakId(), tweet.id());
+        }
+    }
+}
@@ -97,4 +97,91 @@ class SocialControllerIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
     }
+
+    @Test
+    void seguidos_se_paginan_con_el_cursor_en_el_header() throws Exception {
+        String keycloakIdSeguidor = "keycloak-user-ghi";
+        repositorioUsuarios.guardar(new Usuario(
+                keycloakIdSeguidor,
+                "sofia",
+                "sofia@example.com",
+                LocalDateTime.now(),
+                null,
+                null));
+
+        for (String nombre : new String[] { "analia", "bernardo", "carla" }) {
+            Usuario seguido = repositorioUsuarios.guardar(new Usuario(
+                    "keycloak-" + nombre,
+                    nombre,
+                    nombre + "@example.com",
+                    LocalDateTime.now(),
+                    null,
+                    null));
+            mockMvc.perform(post("/api/social/usuarios/{idSeguido}/seguir", seguido.id())
+                    .with(jwt().jwt(jwt -> jwt.subject(keycloakIdSeguidor))))
+                    .andExpect(status().isOk());
+        }
+
+        // primera página: los dos seguidos más recientes y cursor a la siguiente
+        String cursor = mockMvc.perform(get("/api/social/seguidos")
+                .param("limite", "2")
+                .with(jwt().jwt(jwt -> jwt.subject(keycloakIdSeguidor))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nombreUsuario").value("carla"))
+                .andExpect(header().exists(SocialController.HEADER_SIGUIENTE))
+                .andReturn().getResponse().getHeader(SocialController.HEADER_SIGUIENTE);
+
+        // segunda página: el resto, sin cursor
+        mockMvc.perform(get("/api/social/seguidos")
+                .param("limite", "2")
+                .param("cursor", cursor)
+                .with(jwt().jwt(jwt -> jwt.subject(keycloakIdSeguidor))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nombreUsuario").value("analia"))
+                .andExpect(header().doesNotExist(SocialController.HEADER_SIGUIENTE));
+    }
+
+    @Test
+    void seguir_en_lote_ignora_repetidos_propios_y_ya_seguidos() throws Exception {
+        String keycloakIdSeguidor = "keycloak-user-jkl";
+        Usuario seguidor = repositorioUsuarios.guardar(new Usuario(
+                keycloakIdSeguidor,
+                "tomas",
+                "tomas@example.com",
+                LocalDateTime.now(),
+                null,
+                null));
+        Long[] ids = new Long[3];
+        String[] nombres = { "dario", "elena", "federico" };
+        for (int i = 0; i < nombres.length; i++) {
+            ids[i] = repositorioUsuarios.guardar(new Usuario(
+                    "keycloak-" + nombres[i],
+                    nombres[i],
+                    nombres[i] + "@example.com",
+                    LocalDateTime.now(),
+                    null,
+                    null)).id();
+        }
+
+        // ya sigue al primero
+        mockMvc.perform(post("/api/social/usuarios/{idSeguido}/seguir", ids[0])
+                .with(jwt().jwt(jwt -> jwt.subject(keycloakIdSeguidor))))
+                .andExpect(status().isOk());
+
+        String cuerpo = "{\"idsUsuarios\": [%d, %d, %d, %d, %d]}"
+                .formatted(ids[0], ids[1], ids[1], ids[2], seguidor.id());
+        mockMvc.perform(post("/api/social/seguir")
+                .contentType("application/json")
+                .content(cuerpo)
+                .with(jwt().jwt(jwt -> jwt.subject(keycloakIdSeguidor))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seguidos.length()").value(2));
+
+        mockMvc.perform(get("/api/social/seguidos")
+                .with(jwt().jwt(jwt -> jwt.subject(keycloakIdSeguidor))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
 }
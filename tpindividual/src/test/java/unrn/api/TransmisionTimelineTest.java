@@ -0,0 +1,46 @@
+package unrn.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unrn.persistence.EntradaTimeline;
+import unrn.service.ContadorDeLikes;
+import unrn.service.ItemPublicado;
+import unrn.service.ServicioSocial;
+import unrn.service.TimelineItem;
+import unrn.service.VistaTweet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransmisionTimelineTest {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    @DisplayName("Al apagar se cierran las conexiones abiertas y no se envía nada más")
+    void destroy_conexionesAbiertas_lasCierra() throws InterruptedException {
+        // Setup
+        var servicioSocial = mock(ServicioSocial.class);
+        when(servicioSocial.autoresDelTimeline("kc-seguidor")).thenReturn(List.of(1L));
+        var contadorDeLikes = mock(ContadorDeLikes.class);
+        var transmision = new TransmisionTimeline(servicioSocial, contadorDeLikes,
+                new RespuestasDeTweets(contadorDeLikes), 60_000, 8, 1_000, new SimpleMeterRegistry());
+        transmision.suscribir("kc-seguidor");
+        transmision.suscribir("kc-seguidor");
+
+        // Ejercitación
+        transmision.destroy();
+
+        // Verificación
+        assertEquals(0, transmision.conexiones(), "No deben quedar conexiones abiertas");
+        var tweet = new VistaTweet(10L, 1L, "autor", "hola", AHORA.toString(), false);
+        var publicado = new ItemPublicado(1L, new EntradaTimeline(10L, false, AHORA), TimelineItem.deTweet(tweet));
+        assertDoesNotThrow(() -> transmision.alPublicar(publicado),
+                "Publicar después de apagar no debe fallar");
+    }
+}
@@ -0,0 +1,34 @@
+package unrn.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContadoresUsuarioTest {
+
+        @Test
+        @DisplayName("Los contadores de un usuario nuevo arrancan en cero")
+        void crearContadores_usuarioNuevo_todosEnCero() {
+                ContadoresUsuario contadores = new ContadoresUsuario(1L);
+
+                assertTrue(contadores.coincideCon(new ContadoresUsuario(1L, 0, 0, 0, 0, 0)),
+                                "Todos los contadores deben arrancar en cero");
+        }
+
+        @Test
+        @DisplayName("Contadores con un solo valor distinto no coinciden")
+        void coincideCon_unValorDistinto_noCoincide() {
+                ContadoresUsuario contadores = new ContadoresUsuario(1L, 3, 2, 5, 7, 1);
+
+                assertFalse(contadores.coincideCon(new ContadoresUsuario(1L, 3, 2, 5, 8, 1)),
+                                "Difieren en los likes recibidos");
+        }
+
+        @Test
+        @DisplayName("Crear contadores sin usuario lanza excepción")
+        void crearContadores_usuarioNulo_lanzaExcepcion() {
+                var ex = assertThrows(RuntimeException.class, () -> new ContadoresUsuario(null));
+                assertEquals(ContadoresUsuario.ERROR_USUARIO_CONTADORES_OBLIGATORIO, ex.getMessage());
+        }
+}
@@ -0,0 +1,62 @@
+package unrn.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroDeBloomTest {
+
+    @Test
+    @DisplayName("Un par agregado siempre puede estar (sin falsos negativos)")
+    void puedeContener_parAgregado_devuelveTrue() {
+        // Setup
+        var filtro = new FiltroDeBloom(10_000, 0.01);
+        for (long usuario = 1; usuario <= 100; usuario++) {
+            for (long tweet = 1; tweet <= 100; tweet++) {
+                filtro.agregar(usuario, tweet);
+            }
+        }
+
+        // Ejercitación y verificación
+        for (long usuario = 1; usuario <= 100; usuario++) {
+            for (long tweet = 1; tweet <= 100; tweet++) {
+                assertTrue(filtro.puedeContener(usuario, tweet), "El par " + usuario + "/" + tweet + " fue agregado");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Lleno hasta su capacidad, los falsos positivos quedan cerca de la tasa pedida")
+    void puedeContener_paresNoAgregados_tasaCercanaALaPedida() {
+        // Setup
+        var filtro = new FiltroDeBloom(10_000, 0.01);
+        for (long tweet = 0; tweet < 10_000; tweet++) {
+            filtro.agregar(1L, tweet);
+        }
+
+        // Ejercitación: pares que nunca se agregaron
+        int falsosPositivos = 0;
+        for (long tweet = 0; tweet < 100_000; tweet++) {
+            if (filtro.puedeContener(2L, tweet)) {
+                falsosPositivos++;
+            }
+        }
+
+        // Verificación
+        double tasa = falsosPositivos / 100_000.0;
+        assertTrue(tasa < 0.02, "La tasa observada (" + tasa + ") debe estar cerca del 1%");
+        assertEquals(0.01, filtro.tasaEstimadaDeFalsosPositivos(), 0.005,
+                "La tasa estimada por ocupación debe estar cerca del 1%");
+    }
+
+    @Test
+    @DisplayName("Crear un filtro con tasa fuera de rango lanza excepción")
+    void crearFiltro_tasaInvalida_lanzaExcepcion() {
+        // Ejercitación
+        var ex = assertThrows(RuntimeException.class, () -> new FiltroDeBloom(100, 1.5));
+
+        // Verificación
+        assertEquals(FiltroDeBloom.ERROR_TASA_INVALIDA, ex.getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+package unrn.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrafoSocialTest {
+
+    @Test
+    @DisplayName("Construir el grafo ordena los seguidos y los seguidores de cada usuario")
+    void de_follows_indexaAmbasDirecciones() {
+        // Setup
+        var follows = List.of(new ParDeFollow(1L, 9L), new ParDeFollow(1L, 3L), new ParDeFollow(5L, 3L));
+
+        // Ejercitación
+        var grafo = GrafoSocial.de(follows);
+
+        // Verificación
+        assertArrayEquals(new long[] { 3L, 9L }, grafo.seguidosDe(1L), "Los seguidos deben quedar ordenados");
+        assertArrayEquals(new long[] { 1L, 5L }, grafo.seguidoresDe(3L), "Los seguidores deben quedar ordenados");
+        assertTrue(grafo.sigue(5L, 3L), "El usuario 5 sigue al 3");
+        assertFalse(grafo.sigue(3L, 5L), "El follow no es recíproco");
+    }
+
+    @Test
+    @DisplayName("Agregar y quitar un follow actualizan ambas direcciones y son idempotentes")
+    void agregarYQuitar_follow_actualizaAmbasDirecciones() {
+        // Setup
+        var grafo = GrafoSocial.de(List.of(new ParDeFollow(1L, 3L)));
+
+        // Ejercitación
+        grafo.agregar(1L, 2L);
+        grafo.agregar(1L, 2L);
+        grafo.quitar(1L, 3L);
+        grafo.quitar(1L, 3L);
+
+        // Verificación
+        assertArrayEquals(new long[] { 2L }, grafo.seguidosDe(1L), "Solo debe seguir al usuario 2");
+        assertEquals(1, grafo.cantidadDeSeguidoresDe(2L), "El usuario 2 tiene un seguidor");
+        assertEquals(0, grafo.cantidadDeSeguidoresDe(3L), "El usuario 3 se quedó sin seguidores");
+    }
+}
@@ -0,0 +1,61 @@
+package unrn.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MezclaOrdenadaTest {
+
+    private static final Comparator<Integer> DESCENDENTE = Comparator.reverseOrder();
+
+    @Test
+    @DisplayName("Mezclar fuentes ordenadas devuelve un único orden global")
+    void mezclar_variasFuentes_respetaElOrden() {
+        // Setup
+        List<Iterator<Integer>> fuentes = List.of(
+                List.of(9, 4, 1).iterator(),
+                List.of(8, 7, 2).iterator(),
+                List.of(6, 5, 3).iterator());
+
+        // Ejercitación
+        var mezcla = MezclaOrdenada.mezclar(fuentes, DESCENDENTE, 10);
+
+        // Verificación
+        assertEquals(List.of(9, 8, 7, 6, 5, 4, 3, 2, 1), mezcla, "La mezcla debe quedar en orden descendente");
+    }
+
+    @Test
+    @DisplayName("Mezclar se detiene al llegar al límite sin recorrer todas las fuentes")
+    void mezclar_conLimite_noConsumeDeMas() {
+        // Setup
+        var fuente = List.of(10, 8, 6, 4, 2).iterator();
+        var otra = List.of(9, 7, 5).iterator();
+
+        // Ejercitación
+        var mezcla = MezclaOrdenada.mezclar(List.of(fuente, otra), DESCENDENTE, 3);
+
+        // Verificación
+        assertEquals(List.of(10, 9, 8), mezcla, "Solo deben venir los primeros elementos");
+        assertTrue(fuente.hasNext(), "La fuente solo debe avanzar lo necesario");
+        assertEquals(List.of(4), List.of(fuente.next()), "La fuente debe seguir donde quedó la mezcla");
+    }
+
+    @Test
+    @DisplayName("Mezclar descarta elementos repetidos entre fuentes")
+    void mezclar_elementosRepetidos_apareceUnaVez() {
+        // Setup
+        var primera = List.of(5, 3, 1);
+        var segunda = List.of(5, 4, 3);
+
+        // Ejercitación
+        var mezcla = MezclaOrdenada.mezclar(primera, segunda, DESCENDENTE, 10);
+
+        // Verificación
+        assertEquals(List.of(5, 4, 3, 1), mezcla, "Los repetidos deben aparecer una sola vez");
+    }
+}
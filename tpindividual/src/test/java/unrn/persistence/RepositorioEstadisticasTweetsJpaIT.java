@@ -0,0 +1,96 @@
+package unrn.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import unrn.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RepositorioEstadisticasTweetsJpaIT {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    RepositorioEstadisticasTweets repositorioEstadisticas;
+
+    @Autowired
+    RepositorioUsuarios repositorioUsuarios;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Reconciliar corrige los likes desviados, los que bajaron a cero y crea las filas que faltan")
+    void reconciliar_estadisticasDesviadas_lasCorrigeConLosLikesReales() {
+        // Setup
+        Usuario autor = guardarUsuario("stats-autor");
+        Usuario fan = guardarUsuario("stats-fan");
+        insertarTweet(910001, autor);
+        insertarTweet(910002, autor);
+        insertarTweet(910003, autor);
+        insertarTweet(910004, autor);
+        jdbcTemplate.update("INSERT INTO likes (id, autor_id, tweet_id, fecha_creacion) VALUES (910001, ?, 910001, ?)",
+                fan.id(), AHORA);
+        jdbcTemplate.update("INSERT INTO likes (id, autor_id, tweet_id, fecha_creacion) VALUES (910002, ?, 910001, ?)",
+                autor.id(), AHORA);
+        jdbcTemplate.update("INSERT INTO likes (id, autor_id, tweet_id, fecha_creacion) VALUES (910003, ?, 910004, ?)",
+                fan.id(), AHORA);
+        jdbcTemplate.update("DELETE FROM tweet_stats WHERE id_tweet BETWEEN 910001 AND 910004");
+        jdbcTemplate.update("INSERT INTO tweet_stats (id_tweet, likes) VALUES (910001, 5), (910002, 3), (910004, 1)");
+
+        // Ejercitación
+        repositorioEstadisticas.reconciliar();
+
+        // Verificación
+        assertEquals(Map.of(910001L, 2L, 910002L, 0L, 910003L, 0L, 910004L, 1L),
+                repositorioEstadisticas.likesDe(List.of(910001L, 910002L, 910003L, 910004L)),
+                "Los likes guardados deben coincidir con los de la tabla likes");
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tweet_stats WHERE id_tweet = 910003", Integer.class),
+                "El tweet sin estadísticas debe tener su fila");
+        assertEquals(0, repositorioEstadisticas.reconciliar(), "Una vez reconciliado no queda nada que corregir");
+    }
+
+    @Test
+    @DisplayName("Los autores de un tweet incluyen a quien lo publicó y a quienes lo retweetearon")
+    void autoresDe_tweetRetweeteado_incluyeAutorYRetweetadores() {
+        // Setup
+        Usuario autor = guardarUsuario("stats-publica");
+        Usuario retweetador = guardarUsuario("stats-retweetea");
+        Usuario ajeno = guardarUsuario("stats-ajeno");
+        insertarTweet(920001, autor);
+        insertarTweet(920002, ajeno);
+        jdbcTemplate.update("INSERT INTO retweets (id, autor_id, tweet_original_id, fecha_creacion) "
+                + "VALUES (920001, ?, 920001, ?)", retweetador.id(), AHORA);
+
+        // Ejercitación
+        var autores = repositorioEstadisticas.autoresDe(List.of(920001L));
+
+        // Verificación
+        assertEquals(Set.of(autor.id(), retweetador.id()), autores,
+                "Solo deben venir el autor y quien lo retweeteó");
+    }
+
+    private Usuario guardarUsuario(String nombre) {
+        return repositorioUsuarios.guardar(new Usuario(
+                "kc-" + nombre, nombre, nombre + "@example.com", AHORA, null, null));
+    }
+
+    private void insertarTweet(long id, Usuario autor) {
+        jdbcTemplate.update("INSERT INTO tweets (id, autor_id, contenido, fecha_creacion, eliminado) "
+                + "VALUES (?, ?, 'contenido', ?, false)", id, autor.id(), AHORA);
+    }
+}
@@ -0,0 +1,65 @@
+package unrn.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import unrn.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RepositorioFeedJpaIT {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    RepositorioFeed repositorioFeed;
+
+    @Autowired
+    RepositorioUsuarios repositorioUsuarios;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Un tweet y un retweet con la misma fecha e ID no se saltean ni se repiten al paginar")
+    void entradasDeAutoresAnterioresA_tweetYRetweetConMismaFechaEId_recorreTodas() {
+        // Setup: IDs de secuencias distintas que coinciden, con la misma fecha
+        Usuario autor = repositorioUsuarios.guardar(new Usuario(
+                "kc-feed-empate", "feed-empate", "feed-empate@example.com", AHORA, null, null));
+        jdbcTemplate.update("INSERT INTO tweets (id, autor_id, contenido, fecha_creacion, eliminado) "
+                + "VALUES (900001, ?, 'viejo', ?, false)", autor.id(), AHORA.minusMinutes(1));
+        jdbcTemplate.update("INSERT INTO tweets (id, autor_id, contenido, fecha_creacion, eliminado) "
+                + "VALUES (900002, ?, 'empate', ?, false)", autor.id(), AHORA);
+        jdbcTemplate.update("INSERT INTO retweets (id, autor_id, tweet_original_id, fecha_creacion) "
+                + "VALUES (900002, ?, 900001, ?)", autor.id(), AHORA);
+        var autores = List.of(autor.id());
+
+        // Ejercitación: de a una entrada por página
+        List<EntradaTimeline> recorridas = new ArrayList<>(repositorioFeed.entradasDeAutores(autores, 1));
+        for (int pagina = 0; pagina < 3; pagina++) {
+            EntradaTimeline ultima = recorridas.get(recorridas.size() - 1);
+            recorridas.addAll(repositorioFeed.entradasDeAutoresAnterioresA(autores, ultima.fecha(),
+                    ultima.esRetweet(), ultima.id(), 1));
+        }
+
+        // Verificación
+        assertEquals(List.of(
+                new EntradaTimeline(900002L, true, AHORA),
+                new EntradaTimeline(900002L, false, AHORA),
+                new EntradaTimeline(900001L, false, AHORA.minusMinutes(1))),
+                recorridas, "Cada entrada debe aparecer una sola vez, el retweet antes que el tweet");
+        assertEquals(1, repositorioFeed.contarEntradasDeAutoresPosterioresA(autores, AHORA, false, 900002L),
+                "Después del tweet solo queda el retweet de la misma fecha");
+    }
+}
@@ -0,0 +1,287 @@
+package unrn.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositorioTimelinesEnMemoriaTest {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    @DisplayName("Agregar a un timeline no materializado no lo materializa")
+    void agregar_timelineNoMaterializado_noHaceNada() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+
+        // Ejercitación
+        repositorio.agregar(1L, new EntradaTimeline(100L, false, AHORA));
+
+        // Verificación
+        assertFalse(repositorio.estaMaterializado(1L), "El timeline no debería materializarse al agregar");
+        assertTrue(repositorio.leer(1L, 10).isEmpty(), "Un timeline no materializado se lee vacío");
+    }
+
+    @Test
+    @DisplayName("Agregar mantiene el orden de más reciente a más viejo")
+    void agregar_entradaIntermedia_quedaOrdenada() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var vieja = new EntradaTimeline(1L, false, AHORA.minusMinutes(10));
+        var nueva = new EntradaTimeline(3L, false, AHORA);
+        repositorio.materializar(1L, List.of(nueva, vieja));
+
+        // Ejercitación
+        var intermedia = new EntradaTimeline(7L, true, AHORA.minusMinutes(5));
+        repositorio.agregar(1L, intermedia);
+
+        // Verificación
+        assertEquals(List.of(nueva, intermedia, vieja), repositorio.leer(1L, 10),
+                "Las entradas deben quedar ordenadas por fecha descendente");
+    }
+
+    @Test
+    @DisplayName("Agregar por encima de la capacidad descarta la entrada más vieja")
+    void agregar_superaCapacidad_descartaLaMasVieja() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(2);
+        var vieja = new EntradaTimeline(1L, false, AHORA.minusMinutes(10));
+        var media = new EntradaTimeline(2L, false, AHORA.minusMinutes(5));
+        repositorio.materializar(1L, List.of(vieja, media));
+
+        // Ejercitación
+        var nueva = new EntradaTimeline(3L, false, AHORA);
+        repositorio.agregar(1L, nueva);
+
+        // Verificación
+        assertEquals(List.of(nueva, media), repositorio.leer(1L, 10),
+                "El timeline no debe superar su capacidad");
+    }
+
+    @Test
+    @DisplayName("Un timeline que descartó entradas deja de estar completo")
+    void estaCompleto_timelineRecortado_devuelveFalse() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(2);
+        repositorio.materializar(1L, List.of(new EntradaTimeline(1L, false, AHORA.minusMinutes(10))));
+        repositorio.materializar(2L, List.of(new EntradaTimeline(1L, false, AHORA.minusMinutes(10))));
+
+        // Ejercitación
+        repositorio.agregar(2L, new EntradaTimeline(2L, false, AHORA.minusMinutes(5)));
+        repositorio.agregar(2L, new EntradaTimeline(3L, false, AHORA));
+
+        // Verificación
+        assertTrue(repositorio.estaCompleto(1L), "Un timeline con lugar libre tiene toda su historia");
+        assertFalse(repositorio.estaCompleto(2L), "Un timeline recortado ya no tiene toda su historia");
+    }
+
+    @Test
+    @DisplayName("Descartar un timeline obliga a materializarlo de nuevo")
+    void descartar_timelineMaterializado_dejaDeEstarlo() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        repositorio.materializar(1L, List.of(new EntradaTimeline(1L, false, AHORA)));
+
+        // Ejercitación
+        repositorio.descartar(1L);
+
+        // Verificación
+        assertFalse(repositorio.estaMaterializado(1L), "El timeline descartado no debe seguir materializado");
+    }
+
+    @Test
+    @DisplayName("Quitar elimina solo las entradas dadas, aunque el buffer haya dado la vuelta")
+    void quitar_bufferCircularDadoVuelta_eliminaSoloEsas() {
+        // Setup: capacidad 3 y una cuarta entrada, así el inicio del buffer se corre
+        var repositorio = new RepositorioTimelinesEnMemoria(3);
+        var primera = new EntradaTimeline(1L, false, AHORA.minusMinutes(30));
+        var segunda = new EntradaTimeline(2L, false, AHORA.minusMinutes(20));
+        var delAutor = new EntradaTimeline(3L, true, AHORA.minusMinutes(10));
+        var ultima = new EntradaTimeline(4L, false, AHORA);
+        repositorio.materializar(1L, List.of(delAutor, segunda, primera));
+        repositorio.agregar(1L, ultima);
+
+        // Ejercitación: el tweet 3 (no el retweet) no está y se ignora
+        repositorio.quitar(1L, List.of(delAutor, new EntradaTimeline(3L, false, AHORA.minusMinutes(10))));
+
+        // Verificación
+        assertTrue(repositorio.estaMaterializado(1L), "Quitar no debe descartar el timeline");
+        assertEquals(List.of(ultima, segunda), repositorio.leer(1L, 10),
+                "Solo deben quedar las entradas de otros autores, en orden");
+        var nueva = new EntradaTimeline(5L, false, AHORA.plusMinutes(1));
+        repositorio.agregar(1L, nueva);
+        assertEquals(List.of(nueva, ultima, segunda), repositorio.leer(1L, 10),
+                "Después de quitar se sigue agregando en orden");
+    }
+
+    @Test
+    @DisplayName("Las entradas empaquetadas se leen con el mismo id, tipo y fecha")
+    void leer_entradasEmpaquetadas_conservanSusDatos() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var retweet = new EntradaTimeline(7L, true, AHORA.withNano(123_456_789));
+        var tweet = new EntradaTimeline(7L, false, AHORA.minusYears(30));
+
+        // Ejercitación
+        repositorio.materializar(1L, List.of(tweet, retweet));
+
+        // Verificación
+        assertEquals(List.of(retweet, tweet), repositorio.leer(1L, 10),
+                "El empaquetado en longs no debe perder información");
+    }
+
+    @Test
+    @DisplayName("El ID empaquetado es el ID sin desplazar, con la marca de retweet en el bit 62")
+    void empaquetar_retweet_marcaElBit62() {
+        // Ejercitación
+        long tweet = RepositorioTimelinesEnMemoria.empaquetar(false, 7L);
+        long retweet = RepositorioTimelinesEnMemoria.empaquetar(true, 7L);
+
+        // Verificación
+        assertEquals(7L, tweet, "Un tweet se guarda con su ID tal cual");
+        assertEquals(7L | (1L << 62), retweet, "Un retweet solo agrega la marca en el bit 62");
+        assertTrue(retweet > tweet, "Con el bit 63 en cero, los retweets ordenan después de los tweets");
+    }
+
+    @Test
+    @DisplayName("Agregar muchas entradas en un timeline lleno mantiene las más recientes")
+    void agregar_bufferLleno_conservaLasMasRecientes() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(3);
+        repositorio.materializar(1L, List.of());
+
+        // Ejercitación
+        for (long id = 1; id <= 20; id++) {
+            repositorio.agregar(1L, new EntradaTimeline(id, false, AHORA.plusSeconds(id)));
+        }
+
+        // Verificación
+        assertEquals(List.of(
+                new EntradaTimeline(20L, false, AHORA.plusSeconds(20)),
+                new EntradaTimeline(19L, false, AHORA.plusSeconds(19)),
+                new EntradaTimeline(18L, false, AHORA.plusSeconds(18))),
+                repositorio.leer(1L, 10),
+                "El buffer circular debe quedarse con las últimas entradas");
+    }
+
+    @Test
+    @DisplayName("Incorporar ignora entradas que ya estaban en el timeline")
+    void incorporar_entradasRepetidas_noDuplica() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var existente = new EntradaTimeline(1L, false, AHORA.minusMinutes(10));
+        repositorio.materializar(1L, List.of(existente));
+
+        // Ejercitación
+        var nueva = new EntradaTimeline(2L, false, AHORA);
+        repositorio.incorporar(1L, List.of(existente, nueva));
+
+        // Verificación
+        assertEquals(List.of(nueva, existente), repositorio.leer(1L, 10),
+                "Las entradas repetidas no deben duplicarse");
+    }
+
+    @Test
+    @DisplayName("Leer anteriores a un cursor devuelve solo las entradas más viejas")
+    void leerAnterioresA_cursorIntermedio_devuelveLasSiguientes() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var vieja = new EntradaTimeline(1L, false, AHORA.minusMinutes(10));
+        var media = new EntradaTimeline(2L, false, AHORA.minusMinutes(5));
+        var nueva = new EntradaTimeline(3L, false, AHORA);
+        repositorio.materializar(1L, List.of(vieja, media, nueva));
+
+        // Ejercitación
+        var pagina = repositorio.leerAnterioresA(1L, media.fecha(), media.esRetweet(), media.id(), 10);
+
+        // Verificación
+        assertEquals(List.of(vieja), pagina, "Solo deben venir las entradas anteriores al cursor");
+    }
+
+    @Test
+    @DisplayName("Un tweet y un retweet con la misma fecha e ID se desempatan por tipo al paginar")
+    void leerAnterioresA_tweetYRetweetConMismaFechaEId_noSeSaltanNiRepiten() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var tweet = new EntradaTimeline(5L, false, AHORA);
+        var retweet = new EntradaTimeline(5L, true, AHORA);
+        var vieja = new EntradaTimeline(9L, false, AHORA.minusMinutes(1));
+        repositorio.materializar(1L, List.of(vieja, tweet));
+        repositorio.agregar(1L, retweet);
+
+        // Ejercitación: de a una entrada por página
+        var primera = repositorio.leer(1L, 1).get(0);
+        var segunda = repositorio.leerAnterioresA(1L, primera.fecha(), primera.esRetweet(), primera.id(), 1);
+        var tercera = repositorio.leerAnterioresA(1L, tweet.fecha(), tweet.esRetweet(), tweet.id(), 1);
+
+        // Verificación
+        assertEquals(retweet, primera, "A igual fecha e ID el retweet va primero");
+        assertEquals(List.of(tweet), segunda, "Después del retweet viene el tweet, no se saltea");
+        assertEquals(List.of(vieja), tercera, "Después del tweet viene la más vieja, sin repetir el retweet");
+    }
+
+    @Test
+    @DisplayName("Lo difundido o quitado mientras se materializa se combina con lo cargado")
+    void materializarSiFalta_escriturasDuranteLaCarga_noSePierden() {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var cargada = new EntradaTimeline(1L, false, AHORA.minusMinutes(10));
+        var quitada = new EntradaTimeline(2L, false, AHORA.minusMinutes(5));
+        var difundida = new EntradaTimeline(3L, false, AHORA);
+
+        // Ejercitación: la difusión y el trim llegan entre la consulta y el fin de la carga
+        repositorio.materializarSiFalta(1L, () -> {
+            repositorio.agregar(1L, difundida);
+            repositorio.quitar(1L, List.of(quitada));
+            return List.of(quitada, cargada);
+        });
+
+        // Verificación
+        assertEquals(List.of(difundida, cargada), repositorio.leer(1L, 10),
+                "Debe quedar lo difundido y no volver lo quitado");
+    }
+
+    @Test
+    @DisplayName("Dos primeras lecturas concurrentes cargan el timeline una sola vez")
+    void materializarSiFalta_lecturasConcurrentes_cargaUnaVez() throws InterruptedException {
+        // Setup
+        var repositorio = new RepositorioTimelinesEnMemoria(10);
+        var cargas = new AtomicInteger();
+        var cargando = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        var entrada = new EntradaTimeline(1L, false, AHORA);
+        Supplier<List<EntradaTimeline>> cargar = () -> {
+            cargas.incrementAndGet();
+            cargando.countDown();
+            esperar(liberar);
+            return List.of(entrada);
+        };
+
+        // Ejercitación
+        Thread primera = Thread.ofVirtual().start(() -> repositorio.materializarSiFalta(1L, cargar));
+        cargando.await();
+        Thread segunda = Thread.ofVirtual().start(() -> repositorio.materializarSiFalta(1L, cargar));
+        liberar.countDown();
+        primera.join();
+        segunda.join();
+
+        // Verificación
+        assertEquals(1, cargas.get(), "La segunda lectura debe esperar la carga de la primera");
+        assertEquals(List.of(entrada), repositorio.leer(1L, 10), "El timeline debe quedar cargado");
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package unrn.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import unrn.service.AmigosDeAmigos.Candidato;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmigosDeAmigosTest {
+
+    @Test
+    @DisplayName("Los candidatos se ordenan por caminos de 2 saltos, sin el propio usuario ni sus seguidos")
+    void candidatosPara_grafoChico_ordenaPorCaminosYExcluye() {
+        // Setup: 1 sigue a 2, 3 y 4
+        Map<Long, long[]> grafo = Map.of(
+                1L, new long[] { 2L, 3L, 4L },
+                2L, new long[] { 1L, 3L, 5L, 6L },
+                3L, new long[] { 5L, 7L },
+                4L, new long[] { 5L, 6L });
+        var amigosDeAmigos = new AmigosDeAmigos(ForkJoinPool.commonPool(), 1);
+
+        // Ejercitación
+        var candidatos = amigosDeAmigos.candidatosPara(1L, id -> grafo.getOrDefault(id, new long[0]), 10);
+
+        // Verificación
+        assertEquals(List.of(new Candidato(5L, 3), new Candidato(6L, 2), new Candidato(7L, 1)), candidatos,
+                "Deben quedar 5, 6 y 7, más caminos primero");
+    }
+
+    @Test
+    @DisplayName("Dividir el trabajo en tareas da el mismo resultado que contarlo en una sola")
+    void candidatosPara_umbralChico_mismoResultadoQueSinDividir() {
+        // Setup
+        long[][] grafo = grafoSintetico(2_000, 20_000, new Random(7));
+        var enUnaTarea = new AmigosDeAmigos(new ForkJoinPool(1), Integer.MAX_VALUE);
+        var enParalelo = new AmigosDeAmigos(new ForkJoinPool(4), 16);
+
+        for (long usuario = 0; usuario < 50; usuario++) {
+            // Ejercitación
+            var esperados = enUnaTarea.candidatosPara(usuario, id -> grafo[(int) id], 20);
+            var obtenidos = enParalelo.candidatosPara(usuario, id -> grafo[(int) id], 20);
+
+            // Verificación
+            assertEquals(esperados, obtenidos, "El usuario " + usuario + " debe tener los mismos candidatos");
+        }
+    }
+
+    /**
+     * Benchmark sobre un grafo sintético de un millón de aristas. Se corre a
+     * mano: mvn test -Dtest=AmigosDeAmigosTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: sugerencias sobre un grafo de un millón de aristas")
+    void candidatosPara_millonDeAristas_benchmark() {
+        // Setup
+        long[][] grafo = grafoSintetico(100_000, 1_000_000, new Random(42));
+        var enSerie = new AmigosDeAmigos(new ForkJoinPool(1), Integer.MAX_VALUE);
+        var enParalelo = new AmigosDeAmigos(new ForkJoinPool(), 20_000);
+        long[] usuarios = new Random(1).longs(1_000, 0, 1_000).toArray();
+
+        // Ejercitación: calentamiento y medición, en serie y con ForkJoin
+        medir(enSerie, grafo, usuarios);
+        medir(enParalelo, grafo, usuarios);
+        long[] serie = medir(enSerie, grafo, usuarios);
+        long[] paralelo = medir(enParalelo, grafo, usuarios);
+
+        // Verificación
+        System.out.printf("Sugerencias, 1M aristas, %d usuarios con muchos seguidos (ms p50/p99/max)%n",
+                usuarios.length);
+        System.out.printf("  en serie:  %s%n", percentiles(serie));
+        System.out.printf("  ForkJoin:  %s%n", percentiles(paralelo));
+        for (long usuario : Arrays.copyOf(usuarios, 20)) {
+            assertEquals(enSerie.candidatosPara(usuario, id -> grafo[(int) id], 20),
+                    enParalelo.candidatosPara(usuario, id -> grafo[(int) id], 20),
+                    "El usuario " + usuario + " debe tener los mismos candidatos en serie y en paralelo");
+        }
+    }
+
+    private static long[] medir(AmigosDeAmigos amigosDeAmigos, long[][] grafo, long[] usuarios) {
+        long[] nanos = new long[usuarios.length];
+        for (int i = 0; i < usuarios.length; i++) {
+            long inicio = System.nanoTime();
+            amigosDeAmigos.candidatosPara(usuarios[i], id -> grafo[(int) id], 100);
+            nanos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static String percentiles(long[] nanosOrdenados) {
+        return String.format("%.2f / %.2f / %.2f",
+                nanosOrdenados[nanosOrdenados.length / 2] / 1e6,
+                nanosOrdenados[nanosOrdenados.length * 99 / 100] / 1e6,
+                nanosOrdenados[nanosOrdenados.length - 1] / 1e6);
+    }
+
+    /**
+     * Grafo con grados sesgados, como una red social: los IDs bajos siguen a
+     * muchos y son seguidos por muchos. Seguidos ordenados y sin repetidos.
+     */
+    private static long[][] grafoSintetico(int usuarios, int aristas, Random random) {
+        List<Set<Long>> seguidos = new ArrayList<>(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            seguidos.add(new HashSet<>());
+        }
+        int agregadas = 0;
+        while (agregadas < aristas) {
+            double r = random.nextDouble();
+            int seguidor = (int) (usuarios * r * r);
+            long seguido = (long) (usuarios * Math.pow(random.nextDouble(), 3));
+            if (seguidos.get(seguidor).add(seguido)) {
+                agregadas++;
+            }
+        }
+        long[][] grafo = new long[usuarios][];
+        for (int i = 0; i < usuarios; i++) {
+            grafo[i] = seguidos.get(i).stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return grafo;
+    }
+}
@@ -0,0 +1,85 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultasParalelasTest {
+
+    @Test
+    @DisplayName("Las consultas de una fase corren a la vez y devuelven sus resultados en orden")
+    void ambas_consultasIndependientes_correnALaVez() {
+        // Setup
+        var consultas = new ConsultasParalelas(2000, 4, new SimpleMeterRegistry());
+        var segundaEmpezo = new CountDownLatch(1);
+
+        // Ejercitación: en serie, la primera esperaría a la segunda hasta vencer
+        var par = consultas.ambas("prueba",
+                "primera", () -> esperar(segundaEmpezo) ? "a la vez" : "en serie",
+                "segunda", () -> {
+                    segundaEmpezo.countDown();
+                    return 2;
+                });
+
+        // Verificación
+        assertEquals("a la vez", par.primera(), "La primera consulta debe ver empezar a la segunda");
+        assertEquals(Integer.valueOf(2), par.segunda(), "La segunda consulta debe devolver su resultado");
+    }
+
+    @Test
+    @DisplayName("Si una consulta supera el plazo se lanza excepción")
+    void todas_consultaLenta_lanzaExcepcion() {
+        // Setup
+        var consultas = new ConsultasParalelas(50, 4, new SimpleMeterRegistry());
+        var nunca = new CountDownLatch(1);
+
+        // Ejercitación
+        var ex = assertThrows(RuntimeException.class, () -> consultas.todas("prueba", "lenta",
+                List.of(() -> esperar(nunca), () -> true)));
+
+        // Verificación
+        assertEquals(ConsultasParalelas.ERROR_TIMEOUT, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Con más consultas que hilos se reparten entre los hilos y los resultados respetan el orden")
+    void todas_masConsultasQueHilos_usaElTopeYRespetaElOrden() {
+        // Setup
+        var consultas = new ConsultasParalelas(2000, 2, new SimpleMeterRegistry());
+        Set<Thread> usados = ConcurrentHashMap.newKeySet();
+        List<Supplier<Integer>> tareas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int valor = i;
+            tareas.add(() -> {
+                usados.add(Thread.currentThread());
+                return valor;
+            });
+        }
+
+        // Ejercitación
+        var resultados = consultas.todas("prueba", "numero", tareas);
+
+        // Verificación
+        assertEquals(List.of(0, 1, 2, 3, 4), resultados, "Los resultados deben respetar el orden de las consultas");
+        assertTrue(usados.size() <= 2, "No deben usarse más hilos que el tope");
+    }
+
+    private static boolean esperar(CountDownLatch latch) {
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
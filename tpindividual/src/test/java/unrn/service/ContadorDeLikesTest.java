@@ -0,0 +1,156 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unrn.persistence.RepositorioEstadisticasTweets;
+import unrn.service.VersionesDeRecursos.Recurso;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContadorDeLikesTest {
+
+    @Test
+    @DisplayName("Los likes concurrentes sobre un tweet se vuelcan todos, aunque se vuelque mientras se suman")
+    void volcar_likesConcurrentes_noPierdeNiDuplica() throws InterruptedException {
+        // Setup
+        var estadisticas = new EstadisticasEnMemoria();
+        var contador = contadorSobre(estadisticas);
+        var largada = new CountDownLatch(1);
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                esperar(largada);
+                for (int like = 0; like < 10_000; like++) {
+                    contador.alModificarLikes(new LikesModificados(1L, 1));
+                }
+            }));
+        }
+
+        // Ejercitación: se vuelca en paralelo mientras los hilos suman
+        largada.countDown();
+        while (hilos.stream().anyMatch(Thread::isAlive)) {
+            contador.volcar();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        contador.volcar();
+
+        // Verificación
+        assertEquals(80_000L, (long) estadisticas.guardados.get(1L), "Deben quedar guardados todos los likes");
+        assertEquals(80_000L, contador.likesDe(1L), "Sin pendientes, se informa lo guardado");
+    }
+
+    @Test
+    @DisplayName("Si el volcado falla los likes siguen pendientes y se informan igual")
+    void volcar_fallaLaBase_losLikesVuelvenAPendientes() {
+        // Setup
+        var estadisticas = new EstadisticasEnMemoria();
+        var contador = contadorSobre(estadisticas);
+        contador.alModificarLikes(new LikesModificados(1L, 1));
+        contador.alModificarLikes(new LikesModificados(1L, 1));
+        contador.alModificarLikes(new LikesModificados(2L, -1));
+        estadisticas.fallar.set(true);
+
+        // Ejercitación
+        assertThrows(RuntimeException.class, contador::volcar);
+
+        // Verificación
+        assertEquals(2L, contador.likesDe(1L), "Los likes no volcados se siguen contando");
+        estadisticas.fallar.set(false);
+        contador.volcar();
+        assertEquals(2L, (long) estadisticas.guardados.get(1L), "El volcado siguiente debe guardarlos");
+        assertEquals(-1L, (long) estadisticas.guardados.get(2L), "Los unlikes también se vuelcan");
+    }
+
+    @Test
+    @DisplayName("Volcar likes invalida los ETags y timelines de quienes muestran los tweets")
+    void volcar_conLikes_invalidaAutoresYTodosLosTweets() {
+        // Setup
+        var estadisticas = new EstadisticasEnMemoria();
+        estadisticas.autores.put(1L, Set.of(10L, 20L));
+        var versiones = new VersionesDeRecursos();
+        List<Object> eventos = new ArrayList<>();
+        var contador = new ContadorDeLikes(estadisticas, versiones, eventos::add, new SimpleMeterRegistry());
+        String etagAutor = versiones.etag(Recurso.TWEETS_DE_AUTOR, 10L);
+        String etagRetweetador = versiones.etag(Recurso.TWEETS_DE_AUTOR, 20L);
+        String etagTodos = versiones.etag(Recurso.TODOS_LOS_TWEETS);
+        contador.alModificarLikes(new LikesModificados(1L, 1));
+
+        // Ejercitación
+        contador.volcar();
+
+        // Verificación
+        assertNotEquals(etagAutor, versiones.etag(Recurso.TWEETS_DE_AUTOR, 10L),
+                "El perfil del autor muestra el tweet con sus likes");
+        assertNotEquals(etagRetweetador, versiones.etag(Recurso.TWEETS_DE_AUTOR, 20L),
+                "El perfil de quien lo retweeteó también lo muestra");
+        assertNotEquals(etagTodos, versiones.etag(Recurso.TODOS_LOS_TWEETS),
+                "La lista de todos los tweets muestra los likes");
+        assertEquals(List.of(new PublicacionesModificadas(Set.of(10L, 20L))), eventos,
+                "Los timelines que incluyen a esos autores deben invalidarse");
+    }
+
+    private static ContadorDeLikes contadorSobre(RepositorioEstadisticasTweets estadisticas) {
+        return new ContadorDeLikes(estadisticas, new VersionesDeRecursos(), evento -> {
+        }, new SimpleMeterRegistry());
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class EstadisticasEnMemoria implements RepositorioEstadisticasTweets {
+
+        final Map<Long, Long> guardados = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> autores = new HashMap<>();
+        final AtomicBoolean fallar = new AtomicBoolean();
+
+        @Override
+        public void sumarLikes(Map<Long, Long> deltasPorTweet) {
+            if (fallar.get()) {
+                throw new RuntimeException("Base de datos no disponible");
+            }
+            deltasPorTweet.forEach((idTweet, delta) -> guardados.merge(idTweet, delta, Long::sum));
+        }
+
+        @Override
+        public Map<Long, Long> likesDe(Collection<Long> idsTweets) {
+            Map<Long, Long> likes = new HashMap<>();
+            for (Long idTweet : idsTweets) {
+                likes.put(idTweet, guardados.getOrDefault(idTweet, 0L));
+            }
+            return likes;
+        }
+
+        @Override
+        public Set<Long> autoresDe(Collection<Long> idsTweets) {
+            Set<Long> resultado = new HashSet<>();
+            for (Long idTweet : idsTweets) {
+                resultado.addAll(autores.getOrDefault(idTweet, Set.of()));
+            }
+            return resultado;
+        }
+
+        @Override
+        public int reconciliar() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package unrn.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorDeFollowsTest {
+
+    @Test
+    @DisplayName("Codificar y decodificar un cursor de follows devuelve la misma posición")
+    void codificar_decodificar_devuelveMismaPosicion() {
+        // Setup
+        var cursor = new CursorDeFollows(1234L);
+
+        // Ejercitación
+        var decodificado = CursorDeFollows.decodificar(cursor.codificar());
+
+        // Verificación
+        assertEquals(cursor, decodificado, "El cursor decodificado debe ser igual al original");
+    }
+
+    @Test
+    @DisplayName("Decodificar un cursor de follows mal formado lanza excepción")
+    void decodificar_malFormado_lanzaExcepcion() {
+        // Ejercitación
+        var ex = assertThrows(RuntimeException.class, () -> CursorDeFollows.decodificar("no-es-un-cursor"));
+
+        // Verificación
+        assertEquals(CursorDeFollows.ERROR_CURSOR_INVALIDO, ex.getMessage());
+    }
+}
@@ -0,0 +1,60 @@
+package unrn.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    @DisplayName("Codificar y decodificar un cursor devuelve la misma posición")
+    void codificar_decodificar_devuelveMismaPosicion() {
+        // Setup
+        var cursor = new Cursor(LocalDateTime.of(2025, 3, 10, 18, 30, 15, 123456789), true, 42L);
+
+        // Ejercitación
+        var decodificado = Cursor.decodificar(cursor.codificar());
+
+        // Verificación
+        assertEquals(cursor, decodificado, "El cursor decodificado debe ser igual al original, con su tipo");
+    }
+
+    @Test
+    @DisplayName("Decodificar un cursor vacío devuelve null (primera página)")
+    void decodificar_vacio_devuelveNull() {
+        // Ejercitación
+        var decodificado = Cursor.decodificar("");
+
+        // Verificación
+        assertNull(decodificado, "Sin cursor se pide la primera página");
+    }
+
+    @Test
+    @DisplayName("Decodificar un cursor mal formado lanza excepción")
+    void decodificar_malFormado_lanzaExcepcion() {
+        // Ejercitación
+        var ex = assertThrows(RuntimeException.class, () -> Cursor.decodificar("no-es-un-cursor"));
+
+        // Verificación
+        assertEquals(Cursor.ERROR_CURSOR_INVALIDO, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Decodificar un cursor sin el tipo lanza excepción")
+    void decodificar_sinTipo_lanzaExcepcion() {
+        // Setup: fecha e id, sin el tipo entre medio
+        var sinTipo = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2025-03-10T18:30:15|42".getBytes(StandardCharsets.UTF_8));
+
+        // Ejercitación
+        var ex = assertThrows(RuntimeException.class, () -> Cursor.decodificar(sinTipo));
+
+        // Verificación
+        assertEquals(Cursor.ERROR_CURSOR_INVALIDO, ex.getMessage());
+    }
+}
@@ -0,0 +1,138 @@
+package unrn.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import unrn.persistence.EntradaTimeline;
+import unrn.persistence.RepositorioTweets;
+import unrn.persistence.ResumenTweet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de FeedGlobal: buffer circular de los últimos tweets del
+ * sistema.
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedGlobalTest {
+
+    private static final int CAPACIDAD = 3;
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private RepositorioTweets repositorioTweets;
+
+    private FeedGlobal feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new FeedGlobal(repositorioTweets, CAPACIDAD);
+    }
+
+    @Test
+    @DisplayName("Después de calentar, los tweets nuevos quedan primero y los más viejos se descartan")
+    void recientes_calentadoYConPublicaciones_devuelveLosUltimos() {
+        // Arrange
+        when(repositorioTweets.buscarTodosTweets(CAPACIDAD))
+                .thenReturn(List.of(resumen(2L, AHORA.minusMinutes(1)), resumen(1L, AHORA.minusMinutes(2))));
+        feed.calentar();
+
+        // Act
+        feed.agregar(VistaTweet.de(resumen(3L, AHORA)), AHORA);
+        feed.agregar(VistaTweet.de(resumen(4L, AHORA.plusMinutes(1))), AHORA.plusMinutes(1));
+
+        // Assert
+        assertTrue(feed.cubre(CAPACIDAD), "Calentado, debe poder servir hasta la capacidad");
+        assertEquals(List.of(4L, 3L, 2L), ids(feed.recientes(CAPACIDAD)),
+                "Deben quedar los últimos, del más reciente al más viejo");
+    }
+
+    @Test
+    @DisplayName("Un tweet eliminado deja de aparecer")
+    void alEliminarTweets_tweetEnElBuffer_noSeDevuelve() {
+        // Arrange
+        when(repositorioTweets.buscarTodosTweets(CAPACIDAD))
+                .thenReturn(List.of(resumen(2L, AHORA), resumen(1L, AHORA.minusMinutes(1))));
+        feed.calentar();
+
+        // Act
+        feed.alEliminarTweets(TweetsEliminados.uno(7L, 2L));
+
+        // Assert
+        assertEquals(List.of(1L), ids(feed.recientes(CAPACIDAD)), "El tweet eliminado no debe devolverse");
+    }
+
+    @Test
+    @DisplayName("Si las lápidas dejan menos tweets que los pedidos y hay más en la base, no se sirve desde memoria")
+    void cubre_lapidasConBufferLleno_devuelveFalse() {
+        // Arrange: la base tiene al menos CAPACIDAD tweets
+        when(repositorioTweets.buscarTodosTweets(CAPACIDAD)).thenReturn(List.of(
+                resumen(3L, AHORA), resumen(2L, AHORA.minusMinutes(1)), resumen(1L, AHORA.minusMinutes(2))));
+        feed.calentar();
+
+        // Act
+        feed.alEliminarTweets(TweetsEliminados.uno(7L, 3L));
+
+        // Assert
+        assertTrue(feed.cubre(2), "Quedan 2 vigentes: alcanzan para 2");
+        assertFalse(feed.cubre(3), "Con 2 vigentes no alcanza para 3: el resto está en la base de datos");
+    }
+
+    @Test
+    @DisplayName("Un tweet escrito dos veces (calentamiento y publicación) cuenta una sola vez para cubrir")
+    void cubre_tweetRepetido_cuentaUnaVez() {
+        // Arrange: la base tiene al menos CAPACIDAD tweets
+        when(repositorioTweets.buscarTodosTweets(CAPACIDAD)).thenReturn(List.of(
+                resumen(3L, AHORA), resumen(2L, AHORA.minusMinutes(1)), resumen(1L, AHORA.minusMinutes(2))));
+        feed.calentar();
+
+        // Act: la publicación del tweet 3 llega después del calentamiento y pisa al 1
+        feed.alPublicar(new ItemPublicado(7L, new EntradaTimeline(3L, false, AHORA),
+                TimelineItem.deTweet(VistaTweet.de(resumen(3L, AHORA)))));
+
+        // Assert
+        assertTrue(feed.cubre(2), "Quedan 2 tweets distintos: alcanzan para 2");
+        assertFalse(feed.cubre(3), "Las 3 ranuras tienen 2 tweets distintos: no alcanzan para 3");
+        assertEquals(List.of(3L, 2L), ids(feed.recientes(CAPACIDAD)), "El tweet repetido debe devolverse una vez");
+    }
+
+    @Test
+    @DisplayName("Al publicarse se agregan los tweets pero no los retweets")
+    void alPublicar_tweetYRetweet_soloAgregaElTweet() {
+        // Arrange
+        when(repositorioTweets.buscarTodosTweets(CAPACIDAD)).thenReturn(List.of());
+        feed.calentar();
+
+        // Act
+        feed.alPublicar(new ItemPublicado(7L, new EntradaTimeline(1L, false, AHORA),
+                TimelineItem.deTweet(VistaTweet.de(resumen(1L, AHORA)))));
+        feed.alPublicar(new ItemPublicado(8L, new EntradaTimeline(20L, true, AHORA.plusMinutes(1)),
+                TimelineItem.deRetweet(VistaTweet.de(resumen(2L, AHORA.plusMinutes(1))), "beto")));
+
+        // Assert
+        assertTrue(feed.cubre(CAPACIDAD), "Con todos los tweets en memoria, se sirve aunque haya menos");
+        assertEquals(List.of(1L), ids(feed.recientes(CAPACIDAD)), "Solo debe quedar el tweet original");
+    }
+
+    @Test
+    @DisplayName("Antes de calentar no se sirve desde memoria")
+    void cubre_sinCalentar_devuelveFalse() {
+        // Act / Assert
+        assertFalse(feed.cubre(1), "Sin calentar, el feed debe salir de la base de datos");
+    }
+
+    private static ResumenTweet resumen(Long id, LocalDateTime fecha) {
+        return new ResumenTweet(id, 7L, "ana", "tweet " + id, fecha, false);
+    }
+
+    private static List<Long> ids(List<VistaTweet> vistas) {
+        return vistas.stream().map(VistaTweet::id).toList();
+    }
+}
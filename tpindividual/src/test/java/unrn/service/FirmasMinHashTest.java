@@ -0,0 +1,55 @@
+package unrn.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unrn.service.FirmasMinHash.Similar;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FirmasMinHashTest {
+
+    @Test
+    @DisplayName("Los usuarios con los mismos seguidores son similares y los de seguidores distintos no")
+    void similaresA_seguidoresIgualesYDistintos_soloEncuentraLosIguales() {
+        // Setup
+        var firmas = new FirmasMinHash();
+        firmas.calcular(1L, LongStream.rangeClosed(100, 199).toArray());
+        firmas.calcular(2L, LongStream.rangeClosed(100, 199).toArray());
+        firmas.calcular(3L, LongStream.rangeClosed(500, 599).toArray());
+
+        // Ejercitación
+        var similares = firmas.similaresA(1L, 10);
+
+        // Verificación
+        assertEquals(List.of(new Similar(2L, 1.0)), similares, "Solo el usuario 2 tiene los mismos seguidores");
+    }
+
+    @Test
+    @DisplayName("Actualizar la firma de a un seguidor da lo mismo que calcularla de cero")
+    void agregarYQuitarSeguidor_incremental_igualQueCalcularDeCero() {
+        // Setup: el usuario 1 comparte 80 de 100 seguidores con el 2
+        var incremental = new FirmasMinHash();
+        var deCero = new FirmasMinHash();
+        long[] seguidoresDe2 = LongStream.rangeClosed(20, 119).toArray();
+        incremental.calcular(2L, seguidoresDe2);
+        deCero.calcular(2L, seguidoresDe2);
+
+        // Ejercitación: 1 gana 0..109 de a uno y pierde 0..9
+        for (long seguidor = 0; seguidor < 110; seguidor++) {
+            incremental.agregarSeguidor(1L, seguidor);
+        }
+        for (long seguidor = 0; seguidor < 10; seguidor++) {
+            incremental.quitarSeguidor(1L, seguidor, LongStream.rangeClosed(seguidor + 1, 109).toArray());
+        }
+        deCero.calcular(1L, LongStream.rangeClosed(10, 109).toArray());
+
+        // Verificación
+        var similares = incremental.similaresA(1L, 10);
+        assertEquals(deCero.similaresA(1L, 10), similares, "Las firmas deben coincidir con las calculadas de cero");
+        assertEquals(90 / 110.0, similares.get(0).similitud(), 0.15,
+                "La similitud estimada debe estar cerca del Jaccard real");
+    }
+}
@@ -0,0 +1,68 @@
+package unrn.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import unrn.persistence.RepositorioTweets;
+import unrn.persistence.ResumenTweet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de HidratadorTweets: las vistas se arman una vez por tweet
+ * y se descartan al eliminarlo.
+ */
+@ExtendWith(MockitoExtension.class)
+class HidratadorTweetsTest {
+
+    @Mock
+    private RepositorioTweets repositorioTweets;
+
+    private HidratadorTweets hidratador;
+
+    @BeforeEach
+    void setUp() {
+        hidratador = new HidratadorTweets(repositorioTweets, 10);
+    }
+
+    @Test
+    @DisplayName("Solo se consultan los tweets que no tienen vista guardada")
+    void vistasPorId_vistaGuardada_noVuelveAConsultar() {
+        // Arrange
+        when(repositorioTweets.resumenesPorIds(List.of(1L))).thenReturn(List.of(resumenConId(1L)));
+        hidratador.vistasPorId(List.of(1L));
+
+        // Act
+        Map<Long, VistaTweet> vistas = hidratador.vistasPorId(List.of(1L));
+
+        // Assert
+        assertEquals("hola", vistas.get(1L).contenido(), "Debe devolver la vista guardada");
+        verify(repositorioTweets, times(1)).resumenesPorIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Eliminar un tweet descarta su vista")
+    void alEliminarTweets_tweetGuardado_descartaLaVista() {
+        // Arrange
+        when(repositorioTweets.resumenesPorIds(List.of(1L))).thenReturn(List.of(resumenConId(1L)));
+        hidratador.vistasPorId(List.of(1L));
+
+        // Act
+        hidratador.alEliminarTweets(TweetsEliminados.uno(7L, 1L));
+
+        // Assert
+        assertEquals(0, hidratador.tamanio(), "La vista del tweet eliminado no debe quedar guardada");
+    }
+
+    private static ResumenTweet resumenConId(Long id) {
+        return new ResumenTweet(id, 7L, "ana", "hola", LocalDateTime.of(2025, 1, 1, 12, 0), false);
+    }
+}
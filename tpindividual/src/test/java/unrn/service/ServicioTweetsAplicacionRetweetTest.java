@@ -7,9 +7,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import unrn.model.ReTweet;
 import unrn.model.Tweet;
 import unrn.model.Usuario;
+import unrn.persistence.RepositorioContadores;
+import unrn.persistence.RepositorioFeed;
+import unrn.persistence.RepositorioFollows;
 import unrn.persistence.RepositorioRetweets;
 import unrn.persistence.RepositorioTweets;
 import unrn.persistence.RepositorioUsuarios;
@@ -38,7 +42,31 @@ class ServicioTweetsAplicacionRetweetTest {
     private RepositorioUsuarios repositorioUsuarios;
 
     @Mock
-    private ServicioSocial servicioSocial;
+    private RepositorioFeed repositorioFeed;
+
+    @Mock
+    private RepositorioFollows repositorioFollows;
+
+    @Mock
+    private RepositorioContadores repositorioContadores;
+
+    @Mock
+    private TimelinesMaterializados timelinesMaterializados;
+
+    @Mock
+    private HidratadorTweets hidratadorTweets;
+
+    @Mock
+    private FeedGlobal feedGlobal;
+
+    @Mock
+    private ConsultasParalelas consultasParalelas;
+
+    @Mock
+    private VersionesDeRecursos versiones;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
 
     @InjectMocks
     private ServicioTweetsAplicacion servicio;
@@ -0,0 +1,116 @@
+package unrn.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import unrn.model.Usuario;
+import unrn.persistence.EntradaTimeline;
+import unrn.persistence.RepositorioFeed;
+import unrn.persistence.RepositorioFollows;
+import unrn.persistence.RepositorioTimelinesEnMemoria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del modo híbrido de TimelinesMaterializados: las
+ * celebridades no se difunden y se mezclan al leer.
+ */
+@ExtendWith(MockitoExtension.class)
+class TimelinesMaterializadosTest {
+
+    private static final int CAPACIDAD = 10;
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private RepositorioFollows repositorioFollows;
+
+    @Mock
+    private RepositorioFeed repositorioFeed;
+
+    @Mock
+    private Celebridades celebridades;
+
+    private RepositorioTimelinesEnMemoria repositorioTimelines;
+    private TimelinesMaterializados timelines;
+
+    @BeforeEach
+    void setUp() {
+        repositorioTimelines = new RepositorioTimelinesEnMemoria(CAPACIDAD);
+        timelines = new TimelinesMaterializados(repositorioTimelines, repositorioFollows, repositorioFeed,
+                celebridades, new ConsultasParalelas(1000, 4, new SimpleMeterRegistry()), CAPACIDAD);
+    }
+
+    @Test
+    @DisplayName("Publicar como celebridad no difunde a los seguidores")
+    void alPublicar_autorCelebridad_noHaceFanOut() {
+        // Arrange
+        when(celebridades.esCelebridad(3L)).thenReturn(true);
+
+        // Act
+        timelines.alPublicar(publicado(3L, new EntradaTimeline(30L, false, AHORA)));
+
+        // Assert
+        verify(repositorioFollows, never()).idsOrdenadosDeSeguidoresDe(3L);
+    }
+
+    @Test
+    @DisplayName("Publicar difunde a los timelines materializados de los seguidores")
+    void alPublicar_autorComun_difundeALosSeguidores() {
+        // Arrange
+        var entrada = new EntradaTimeline(40L, true, AHORA);
+        repositorioTimelines.materializar(5L, List.of());
+        when(repositorioFollows.idsOrdenadosDeSeguidoresDe(4L)).thenReturn(new long[] { 5L, 6L });
+
+        // Act
+        timelines.alPublicar(publicado(4L, entrada));
+
+        // Assert
+        assertEquals(List.of(entrada), repositorioTimelines.leer(5L, 10), "El seguidor materializado debe verlo");
+        assertFalse(repositorioTimelines.estaMaterializado(6L), "Un timeline no materializado no se construye");
+    }
+
+    @Test
+    @DisplayName("Leer el timeline mezcla lo publicado por las celebridades seguidas")
+    void entradasDe_sigueACelebridad_mezclaAlLeer() {
+        // Arrange
+        Usuario usuario = usuarioConId(1L);
+        var deSeguido = new EntradaTimeline(20L, false, AHORA.minusMinutes(5));
+        var deCelebridad = new EntradaTimeline(30L, false, AHORA);
+        var viejaDeSeguido = new EntradaTimeline(21L, false, AHORA.minusMinutes(10));
+
+        when(repositorioFollows.idsDeSeguidosDe(usuario)).thenReturn(List.of(2L, 3L));
+        when(celebridades.entre(List.of(2L, 3L))).thenReturn(List.of(3L));
+        when(repositorioFeed.entradasDeAutores(List.of(1L, 2L), CAPACIDAD))
+                .thenReturn(List.of(deSeguido, viejaDeSeguido));
+        when(repositorioFeed.entradasDeAutores(List.of(3L), CAPACIDAD)).thenReturn(List.of(deCelebridad));
+
+        // Act
+        List<EntradaTimeline> entradas = timelines.entradasDe(usuario, null, CAPACIDAD);
+
+        // Assert
+        assertEquals(List.of(deCelebridad, deSeguido, viejaDeSeguido), entradas,
+                "Las entradas de la celebridad deben mezclarse en orden");
+        assertEquals(List.of(deSeguido, viejaDeSeguido), repositorioTimelines.leer(1L, CAPACIDAD),
+                "El timeline materializado no debe incluir a la celebridad");
+    }
+
+    private static Usuario usuarioConId(Long id) {
+        Usuario usuario = mock(Usuario.class);
+        when(usuario.id()).thenReturn(id);
+        return usuario;
+    }
+
+    private static ItemPublicado publicado(Long idAutor, EntradaTimeline entrada) {
+        var vista = new VistaTweet(entrada.id(), idAutor, "autor", "hola", AHORA.toString(), false);
+        return new ItemPublicado(idAutor, entrada,
+                entrada.esRetweet() ? TimelineItem.deRetweet(vista, "alguien") : TimelineItem.deTweet(vista));
+    }
+}
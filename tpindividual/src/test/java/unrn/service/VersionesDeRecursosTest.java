@@ -0,0 +1,42 @@
+package unrn.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unrn.service.VersionesDeRecursos.Recurso;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionesDeRecursosTest {
+
+    @Test
+    @DisplayName("Modificar un recurso cambia su ETag")
+    void modificar_cambiaEtag() {
+        // Setup
+        var versiones = new VersionesDeRecursos();
+        String antes = versiones.etag(Recurso.TWEET, 7L);
+
+        // Ejercitación
+        versiones.modificar(Recurso.TWEET, 7L);
+
+        // Verificación
+        assertNotEquals(antes, versiones.etag(Recurso.TWEET, 7L), "El ETag viejo ya no debe coincidir");
+    }
+
+    @Test
+    @DisplayName("Modificar un recurso no cambia el ETag de otro")
+    void modificar_otroRecurso_mantieneEtag() {
+        // Setup
+        var versiones = new VersionesDeRecursos();
+        String seguidores = versiones.etag(Recurso.SEGUIDORES, 7L);
+
+        // Ejercitación
+        versiones.modificar(Recurso.TWEET, 7L);
+
+        // Verificación
+        assertEquals(seguidores, versiones.etag(Recurso.SEGUIDORES, 7L),
+                "Los seguidores del usuario 7 no cambiaron");
+        assertNotEquals(versiones.etagDeVariante(Recurso.TODOS_LOS_TWEETS, 50),
+                versiones.etagDeVariante(Recurso.TODOS_LOS_TWEETS, 100),
+                "Cada límite es una respuesta distinta");
+    }
+}
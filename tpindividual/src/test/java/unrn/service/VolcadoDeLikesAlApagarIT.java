@@ -0,0 +1,58 @@
+package unrn.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import unrn.model.Usuario;
+import unrn.persistence.RepositorioUsuarios;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VolcadoDeLikesAlApagarIT {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    VolcadoDeLikesAlApagar volcadoAlApagar;
+
+    @Autowired
+    ContadorDeLikes contadorDeLikes;
+
+    @Autowired
+    RepositorioUsuarios repositorioUsuarios;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Al apagar se vuelcan los likes pendientes a través del proxy transaccional")
+    void destroy_likesPendientes_losVuelcaConTransaccion() {
+        // Setup
+        Usuario autor = repositorioUsuarios.guardar(new Usuario(
+                "kc-volcado-autor", "volcado-autor", "volcado-autor@example.com", AHORA, null, null));
+        jdbcTemplate.update("INSERT INTO tweets (id, autor_id, contenido, fecha_creacion, eliminado) "
+                + "VALUES (930001, ?, 'contenido', ?, false)", autor.id(), AHORA);
+        jdbcTemplate.update("INSERT INTO tweet_stats (id_tweet, likes) VALUES (930001, 0)");
+        contadorDeLikes.alModificarLikes(new LikesModificados(930001L, 1));
+
+        // Ejercitación
+        volcadoAlApagar.destroy();
+
+        // Verificación
+        assertTrue(AopUtils.isAopProxy(contadorDeLikes), "El contador debe estar detrás del proxy de @Transactional");
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT likes FROM tweet_stats WHERE id_tweet = 930001", Long.class),
+                "El like pendiente debe quedar guardado");
+    }
+}